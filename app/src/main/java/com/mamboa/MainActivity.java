@@ -8,15 +8,17 @@ import androidx.viewpager2.widget.ViewPager2;
 import com.google.android.material.tabs.TabLayout;
 import com.google.android.material.tabs.TabLayoutMediator;
 
+import com.mamboa.yearview.legacy.YearPagerAdapter;
+
 import org.joda.time.DateTime;
 
-import java.util.ArrayList;
+import kotlin.ranges.IntRange;
 
 /**
  * Created by mamboa on 9/4/2018.
  */
 public class MainActivity extends AppCompatActivity {
-    private YearFragmentAdapter yearFragmentAdapter;
+    private YearPagerAdapter yearPagerAdapter;
     private TabLayout tabLayout;
     private ViewPager2 viewPager;
     private final static int MIN_YEAR = 1945;
@@ -29,30 +31,27 @@ public class MainActivity extends AppCompatActivity {
         setContentView(R.layout.activity_main);
         tabLayout = findViewById(R.id.tabLayout);
         viewPager = findViewById(R.id.viewPager);
-        yearFragmentAdapter = new YearFragmentAdapter(this, buildListOfYears());
-        viewPager.setAdapter(yearFragmentAdapter);
+        yearPagerAdapter = new YearPagerAdapter(
+                new IntRange(MIN_YEAR, MAX_YEAR),
+                R.layout.year_fragment,
+                R.id.yearView,
+                new YearPageBinder(this)
+        );
+        viewPager.setAdapter(yearPagerAdapter);
         new TabLayoutMediator(tabLayout, viewPager,
-                (tab, position) -> tab.setText(String.valueOf(buildListOfYears().get(position)))
+                (tab, position) -> tab.setText(String.valueOf(yearPagerAdapter.getYear(position)))
         ).attach();
 
         selectFirstDisplayedYear();
     }
 
-    private ArrayList<Integer> buildListOfYears() {
-        ArrayList<Integer> listYears = new ArrayList<>();
-        for (int i = MIN_YEAR; i <= MAX_YEAR; i++) {
-            listYears.add(i);
-        }
-        return listYears;
-    }
-
     /**
      * The default displayed year is the current one
      */
     private void selectFirstDisplayedYear() {
-        if (yearFragmentAdapter != null) {
+        if (yearPagerAdapter != null) {
             int defaultYear = new DateTime().getYear();
-            int desiredYearPosition = yearFragmentAdapter.getYearPosition(defaultYear);
+            int desiredYearPosition = yearPagerAdapter.getYearPosition(defaultYear);
             if (desiredYearPosition > -1)
                 viewPager.setCurrentItem(desiredYearPosition);
         }
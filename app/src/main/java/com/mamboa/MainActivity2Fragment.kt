@@ -11,19 +11,10 @@ import androidx.compose.foundation.layout.Column
 import androidx.compose.foundation.layout.fillMaxHeight
 import androidx.compose.foundation.layout.fillMaxSize
 import androidx.compose.foundation.layout.padding
-import androidx.compose.foundation.pager.HorizontalPager
-import androidx.compose.foundation.pager.rememberPagerState
 import androidx.compose.material3.MaterialTheme
-import androidx.compose.material3.ScrollableTabRow
 import androidx.compose.material3.Surface
-import androidx.compose.material3.Tab
-import androidx.compose.material3.Text
 import androidx.compose.runtime.Composable
-import androidx.compose.runtime.LaunchedEffect
-import androidx.compose.runtime.derivedStateOf
-import androidx.compose.runtime.getValue
 import androidx.compose.runtime.remember
-import androidx.compose.runtime.rememberCoroutineScope
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.graphics.Path
@@ -44,17 +35,16 @@ import com.mamboa.yearview.core.MergeType
 import com.mamboa.yearview.core.TitleGravity
 import com.mamboa.yearview.compose.DayConfig
 import com.mamboa.yearview.compose.MonthConfig
+import com.mamboa.yearview.compose.YearPager
+import com.mamboa.yearview.compose.YearTabStrip
 import com.mamboa.yearview.compose.YearView
-import kotlinx.coroutines.launch
+import com.mamboa.yearview.compose.rememberYearPagerState
 import org.joda.time.DateTime
 import java.time.DayOfWeek
 import java.util.Random
 import kotlin.system.measureTimeMillis
 
 class MainActivity2Fragment : Fragment() {
-    private val MIN_YEAR = 1945
-    private val MAX_YEAR = 2045
-
     // Optimization: Instantiate Random once
     private val random = Random()
 
@@ -95,50 +85,18 @@ class MainActivity2Fragment : Fragment() {
     ): View {
         return ComposeView(requireContext()).apply {
             setContent {
-                val currentYear = remember { DateTime().year().get() } // Remember to avoid recalculation
-
                 MaterialTheme { // Ensure MaterialTheme is correctly set up if using its components
                     Surface(
                         modifier = Modifier.fillMaxSize(),
                         color = Color(0xFFFFFFFF) // Consider defining colors in your theme
                     ) {
-                        val years = remember { (MIN_YEAR..MAX_YEAR).toList() } // Remember the list
-                        val pagerState = rememberPagerState(pageCount = { years.size })
-
-                        // Scroll to the current year when the pager is first launched or if relevant keys change
-                        LaunchedEffect(key1 = pagerState, key2 = currentYear) {
-                            val initialPage = currentYear - MIN_YEAR
-                            if (initialPage >= 0 && initialPage < pagerState.pageCount) {
-                                pagerState.scrollToPage(initialPage)
-                            }
-                        }
-
-                        val coroutineScope = rememberCoroutineScope()
+                        // Starts on the current year, any year before or after can be paged to
+                        val yearPagerState = rememberYearPagerState()
 
                         Column(modifier = Modifier.fillMaxSize()) {
-                            ScrollableTabRow(
-                                selectedTabIndex = pagerState.currentPage,
-                                edgePadding = 0.dp
-                            ) {
-                                years.forEachIndexed { index, year ->
-                                    Tab(
-                                        selected = pagerState.currentPage == index,
-                                        onClick = {
-                                            coroutineScope.launch {
-                                                pagerState.animateScrollToPage(index)
-                                            }
-                                        },
-                                        text = { Text(text = year.toString()) }
-                                    )
-                                }
-                            }
-
-                            HorizontalPager(
-                                state = pagerState,
-                                // key = { page -> years[page] } // Add a stable key if page content identity relies on the year
-                            ) { page ->
-                                val year = years[page] // More direct access
+                            YearTabStrip(state = yearPagerState)
 
+                            YearPager(state = yearPagerState) { year ->
                                 val compositionTime = measureTimeMillis {
                                     YearViewPage(
                                         year = year,
@@ -12,17 +12,19 @@ import androidx.viewpager2.widget.ViewPager2;
 import com.google.android.material.tabs.TabLayout;
 import com.google.android.material.tabs.TabLayoutMediator;
 
+import com.mamboa.yearview.legacy.YearPagerAdapter;
+
 import org.joda.time.DateTime;
 
-import java.util.ArrayList;
-import java.util.List;
+import kotlin.ranges.IntRange;
 
 public class MainActivityFragment extends Fragment {
+    private final static int MIN_YEAR = 1945;
+    private final static int MAX_YEAR = 2045;
     private ViewPager2 viewPager;
-    private YearFragmentAdapter adapter;
+    private YearPagerAdapter adapter;
     private TabLayout tabLayout;
     private int currentPosition = -1;
-    private List<Integer> listOfYears = new ArrayList<>();
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
@@ -37,32 +39,22 @@ public class MainActivityFragment extends Fragment {
         /*tabLayout.addTab(tabLayout.newTab().setText("Tab 1"));
         tabLayout.addTab(tabLayout.newTab().setText("Tab 2"));
         tabLayout.addTab(tabLayout.newTab().setText("Tab 3"));*/
-        adapter = new YearFragmentAdapter(requireActivity(), buildListOfYears());
+        // Pages rebind a few recycled YearViews instead of keeping a Fragment per visited year
+        adapter = new YearPagerAdapter(
+                new IntRange(MIN_YEAR, MAX_YEAR),
+                R.layout.year_fragment,
+                R.id.yearView,
+                new YearPageBinder(requireContext())
+        );
         viewPager.setAdapter(adapter);
         if (currentPosition == -1) {
             selectFirstDisplayedYear();
         } else {
             viewPager.setCurrentItem(currentPosition);
         }
-        /*
-        if (adapter == null) {
-            adapter = new YearFragmentAdapter(requireActivity(), buildListOfYears());
-            viewPager.setAdapter(adapter);
-            if (currentPosition == -1) {
-                selectFirstDisplayedYear();
-            } else {
-                viewPager.setCurrentItem(currentPosition);
-            }
-        } else {
-            viewPager.setAdapter(adapter);
-            viewPager.setCurrentItem(currentPosition);
-        }*/
 
         new TabLayoutMediator(tabLayout, viewPager,
-                (tab, position) -> {
-                    String test = String.valueOf(buildListOfYears().get(position));
-                    tab.setText(String.valueOf(buildListOfYears().get(position)));
-                }
+                (tab, position) -> tab.setText(String.valueOf(adapter.getYear(position)))
         ).attach();
 
         viewPager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
@@ -74,6 +66,13 @@ public class MainActivityFragment extends Fragment {
         });
     }
 
+    @Override
+    public void onDestroyView() {
+        // Detaches the recycled YearViews along with their listener
+        viewPager.setAdapter(null);
+        super.onDestroyView();
+    }
+
     @Override
     public void onSaveInstanceState(@NonNull Bundle outState) {
         super.onSaveInstanceState(outState);
@@ -88,15 +87,6 @@ public class MainActivityFragment extends Fragment {
         }
     }
 
-    private ArrayList<Integer> buildListOfYears() {
-        if (listOfYears.isEmpty()) {
-            for (int i = 1945; i <= 2045; i++) {
-                listOfYears.add(i);
-            }
-        }
-        return (ArrayList<Integer>) listOfYears;
-    }
-
     private void selectFirstDisplayedYear() {
         int defaultYear = new DateTime().getYear();
         int desiredYearPosition = adapter.getYearPosition(defaultYear);
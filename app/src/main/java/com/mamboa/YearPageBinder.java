@@ -0,0 +1,65 @@
+package com.mamboa;
+
+import android.content.Context;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+
+import com.mamboa.yearview.core.utils.Utils;
+import com.mamboa.yearview.legacy.YearPagerAdapter;
+import com.mamboa.yearview.legacy.YearView;
+
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * Styles the recycled YearView of a page whenever it is bound to a year, and reacts to its
+ * gestures.
+ */
+public class YearPageBinder implements YearPagerAdapter.OnBindYearListener, YearView.MonthGestureListener {
+    private final Context context;
+
+    public YearPageBinder(Context context) {
+        this.context = context;
+    }
+
+    @Override
+    public void onBindYear(@NonNull YearView yearView, int year) {
+        yearView.setMonthGestureListener(this);
+        yearView.setDayNameTextColor(Utils.getRandomColor());
+        yearView.setMonthNameTextColor(Utils.getRandomColor());
+        yearView.setWeekendTextColor(Utils.getRandomColor());
+
+        if (year % 2 == 0)
+            yearView.setMonthTitleGravity(Utils.getRandomTitleGravity());
+    }
+
+    @Override
+    public void onMonthClick(long timeInMillis) {
+        DateTime dateTime = new DateTime(timeInMillis);
+        DateTimeFormatter formatter = DateTimeFormat.forPattern("yyyy-MM");
+        Toast.makeText(context, formatter.print(dateTime), Toast.LENGTH_SHORT).show();
+    }
+
+    @Override
+    public void onMonthLongClick(long timeInMillis) {
+        DateTime dateTime = new DateTime(timeInMillis);
+        DateTimeFormatter formatter = DateTimeFormat.forPattern("yyyy-MM");
+        Toast.makeText(context, formatter.print(dateTime), Toast.LENGTH_SHORT).show();
+    }
+
+    @Override
+    public void onDayClick(long timeInMillis) {
+        DateTime dateTime = new DateTime(timeInMillis);
+        DateTimeFormatter formatter = DateTimeFormat.forPattern("yyyy-MM-dd");
+        Toast.makeText(context, "Clicked day: " + formatter.print(dateTime), Toast.LENGTH_LONG).show();
+    }
+
+    @Override
+    public void onDayLongClick(long timeInMillis) {
+        DateTime dateTime = new DateTime(timeInMillis);
+        DateTimeFormatter formatter = DateTimeFormat.forPattern("yyyy-MM-dd");
+        Toast.makeText(context, "Long clicked day: " + formatter.print(dateTime), Toast.LENGTH_LONG).show();
+    }
+}
@@ -0,0 +1,41 @@
+plugins {
+    alias(libs.plugins.org.jetbrains.kotlin.jvm)
+    alias(libs.plugins.me.champeau.jmh)
+}
+
+// The pure Kotlin parts of :core, compiled for a plain JVM: the calendar math and the layout and
+// drawing engines. The rest of :core depends on Android and is left out.
+sourceSets {
+    main {
+        kotlin {
+            srcDir("../core/src/main/java")
+            include(
+                "com/mamboa/yearview/core/CalendarMath.kt",
+                "com/mamboa/yearview/core/TitleGravity.kt",
+                "com/mamboa/yearview/core/layout/**",
+                "com/mamboa/yearview/core/draw/**"
+            )
+        }
+    }
+}
+
+kotlin {
+    jvmToolchain(17)
+}
+
+dependencies {
+    // The string keys of the days are still parsed and formatted with Joda-Time
+    jmh(libs.joda.time)
+}
+
+// ./gradlew -p benchmark jmh, results in build/results/jmh/results.json
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+}
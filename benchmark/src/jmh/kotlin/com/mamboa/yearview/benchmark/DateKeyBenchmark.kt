@@ -0,0 +1,70 @@
+package com.mamboa.yearview.benchmark
+
+import com.mamboa.yearview.core.CalendarMath
+import org.joda.time.LocalDate
+import org.joda.time.format.DateTimeFormat
+import org.joda.time.format.DateTimeFormatter
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Keying every day of a year: as epoch days and packed dates with [CalendarMath], and as the
+ * strings of the day format the views expose, formatted and parsed with Joda-Time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class DateKeyBenchmark {
+    private lateinit var formatter: DateTimeFormatter
+    private lateinit var dayStrings: Array<String>
+    private var firstEpochDay = 0
+
+    @Setup
+    fun setUp() {
+        formatter = DateTimeFormat.forPattern("yyyy-MM-dd")
+        firstEpochDay = CalendarMath.epochDay(YEAR, 1, 1)
+        dayStrings = Array(CalendarMath.daysInYear(YEAR)) {
+            formatter.print(LocalDate(YEAR, 1, 1).plusDays(it))
+        }
+    }
+
+    @Benchmark
+    fun epochDays(blackhole: Blackhole) {
+        for (month in 1..12) {
+            for (day in 1..CalendarMath.daysInMonth(YEAR, month)) {
+                blackhole.consume(CalendarMath.epochDay(YEAR, month, day))
+            }
+        }
+    }
+
+    @Benchmark
+    fun packedDates(blackhole: Blackhole) {
+        for (dayOfYear in dayStrings.indices) {
+            blackhole.consume(CalendarMath.toDate(firstEpochDay + dayOfYear))
+        }
+    }
+
+    @Benchmark
+    fun formattedDays(blackhole: Blackhole) {
+        for (month in 1..12) {
+            for (day in 1..CalendarMath.daysInMonth(YEAR, month)) {
+                blackhole.consume(formatter.print(LocalDate(YEAR, month, day)))
+            }
+        }
+    }
+
+    @Benchmark
+    fun parsedDays(blackhole: Blackhole) {
+        for (day in dayStrings) {
+            val date = formatter.parseLocalDate(day)
+            blackhole.consume(CalendarMath.epochDay(date.year, date.monthOfYear, date.dayOfMonth))
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mamboa.yearview.benchmark
+
+import com.mamboa.yearview.core.TitleGravity
+import com.mamboa.yearview.core.draw.YearDrawSpec
+import com.mamboa.yearview.core.layout.TextMetrics
+import com.mamboa.yearview.core.layout.YearLayoutSpec
+
+// A phone in portrait, in pixels
+internal const val WIDTH = 1080f
+internal const val HEIGHT = 1920f
+
+internal const val YEAR = 2024
+
+internal val SPEC = YearLayoutSpec(
+    horizontalSpacing = 24f,
+    verticalSpacing = 24f,
+    marginBelowMonthName = 8f,
+    monthSelectionMargin = 6f,
+    titleGravity = TitleGravity.START,
+    firstDayOfWeek = 1,
+    dayTouchPadding = 6f
+)
+
+internal val DRAW_SPEC = YearDrawSpec(
+    monthBackgroundShape = 0,
+    todayShape = 1,
+    selectedDayShape = 2,
+    rangeShape = 3,
+    todayRadius = 20f,
+    selectedDayRadius = 20f,
+    rangeRadius = 20f,
+    weekendDays = YearDrawSpec.weekendMask(listOf(6, 7)),
+    weekendDayNames = true
+)
+
+/**
+ * Text sizes of a monospace font, standing for the measurements of a renderer, which need a
+ * platform text engine.
+ */
+internal object FixedTextMetrics : TextMetrics {
+    private const val CHAR_WIDTH = 18f
+    private const val LINE_HEIGHT = 36f
+
+    // Lengths of the month names in English
+    private val monthNameLengths = intArrayOf(7, 8, 5, 5, 3, 4, 4, 6, 9, 7, 8, 8)
+
+    override val dayNumberHeight: Float = LINE_HEIGHT
+
+    override fun monthNameWidth(month: Int, isCurrentMonth: Boolean): Float =
+        monthNameLengths[month - 1] * CHAR_WIDTH * if (isCurrentMonth) 1.25f else 1f
+
+    override fun monthNameHeight(month: Int, isCurrentMonth: Boolean): Float =
+        LINE_HEIGHT * if (isCurrentMonth) 1.25f else 1f
+
+    override fun dayNumberWidth(day: Int): Float = if (day < 10) CHAR_WIDTH else CHAR_WIDTH * 2
+}
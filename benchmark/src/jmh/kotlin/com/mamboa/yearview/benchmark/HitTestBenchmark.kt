@@ -0,0 +1,57 @@
+package com.mamboa.yearview.benchmark
+
+import com.mamboa.yearview.core.layout.YearLayout
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Finding the month and the day under touches spread over a laid out year.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class HitTestBenchmark {
+    private lateinit var layout: YearLayout
+    private val xs = FloatArray(POINT_COUNT)
+    private val ys = FloatArray(POINT_COUNT)
+
+    @Setup
+    fun setUp() {
+        layout = YearLayout()
+        layout.layout(YEAR, WIDTH, HEIGHT, SPEC, FixedTextMetrics)
+        // The same points on every run, for results to compare between releases
+        val random = Random(SEED)
+        for (i in 0 until POINT_COUNT) {
+            xs[i] = random.nextFloat() * WIDTH
+            ys[i] = random.nextFloat() * HEIGHT
+        }
+    }
+
+    @Benchmark
+    fun monthAt(blackhole: Blackhole) {
+        for (i in 0 until POINT_COUNT) blackhole.consume(layout.monthAt(xs[i], ys[i]))
+    }
+
+    @Benchmark
+    fun dayCellAt(blackhole: Blackhole) {
+        for (i in 0 until POINT_COUNT) blackhole.consume(layout.dayAt(xs[i], ys[i]))
+    }
+
+    @Benchmark
+    fun dayTouchedAt(blackhole: Blackhole) {
+        for (i in 0 until POINT_COUNT) blackhole.consume(layout.dayTouchedAt(xs[i], ys[i]))
+    }
+
+    private companion object {
+        const val POINT_COUNT = 256
+        const val SEED = 2024
+    }
+}
@@ -0,0 +1,58 @@
+package com.mamboa.yearview.benchmark
+
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.draw.YearDrawCommands
+import com.mamboa.yearview.core.draw.YearDrawRecorder
+import com.mamboa.yearview.core.layout.YearLayout
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Laying out a whole year, its days included, and recording its drawing, reusing the buffers as
+ * the views do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class LayoutBenchmark {
+    private lateinit var layout: YearLayout
+    private lateinit var commands: YearDrawCommands
+    private var year = YEAR
+    private var todayEpochDay = 0
+    private var selectedEpochDay = 0
+    private var rangeStart = 0
+    private var rangeEnd = 0
+
+    @Setup
+    fun setUp() {
+        layout = YearLayout()
+        layout.layout(YEAR, WIDTH, HEIGHT, SPEC, FixedTextMetrics)
+        commands = YearDrawCommands()
+        todayEpochDay = CalendarMath.epochDay(YEAR, 6, 14)
+        selectedEpochDay = CalendarMath.epochDay(YEAR, 3, 2)
+        rangeStart = CalendarMath.epochDay(YEAR, 8, 10)
+        rangeEnd = CalendarMath.epochDay(YEAR, 9, 20)
+    }
+
+    @Benchmark
+    fun layoutYear(): Int {
+        // Alternating years, as paging does, for the grid to be computed again too
+        year = if (year == YEAR) YEAR + 1 else YEAR
+        layout.layout(year, WIDTH, HEIGHT, SPEC, FixedTextMetrics, currentMonth = 5)
+        return layout.dayCount
+    }
+
+    @Benchmark
+    fun recordYear(): Int {
+        YearDrawRecorder.record(
+            layout, FixedTextMetrics, DRAW_SPEC, todayEpochDay, selectedEpochDay, rangeStart, rangeEnd, commands
+        )
+        return commands.size
+    }
+}
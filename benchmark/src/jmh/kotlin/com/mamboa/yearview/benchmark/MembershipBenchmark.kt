@@ -0,0 +1,71 @@
+package com.mamboa.yearview.benchmark
+
+import com.mamboa.yearview.core.CalendarMath
+import org.joda.time.LocalDate
+import org.joda.time.format.DateTimeFormat
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Whether each day of a year is today, the selected day or in the selected range, as a frame
+ * asks it: by epoch day, and by the string keys of the day format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class MembershipBenchmark {
+    private var firstEpochDay = 0
+    private var dayCount = 0
+    private var todayEpochDay = 0
+    private var selectedEpochDay = 0
+    private lateinit var selectedRange: IntRange
+
+    private lateinit var dayStrings: Array<String>
+    private lateinit var selectedDay: String
+    private lateinit var rangeStart: String
+    private lateinit var rangeEnd: String
+
+    @Setup
+    fun setUp() {
+        firstEpochDay = CalendarMath.epochDay(YEAR, 1, 1)
+        dayCount = CalendarMath.daysInYear(YEAR)
+        todayEpochDay = CalendarMath.epochDay(YEAR, 6, 14)
+        selectedEpochDay = CalendarMath.epochDay(YEAR, 3, 2)
+        selectedRange = CalendarMath.epochDay(YEAR, 8, 10)..CalendarMath.epochDay(YEAR, 9, 20)
+
+        val formatter = DateTimeFormat.forPattern("yyyy-MM-dd")
+        dayStrings = Array(dayCount) { formatter.print(LocalDate(YEAR, 1, 1).plusDays(it)) }
+        selectedDay = formatter.print(LocalDate(YEAR, 3, 2))
+        rangeStart = formatter.print(LocalDate(YEAR, 8, 10))
+        rangeEnd = formatter.print(LocalDate(YEAR, 9, 20))
+    }
+
+    @Benchmark
+    fun byEpochDay(): Int {
+        var highlighted = 0
+        for (epochDay in firstEpochDay until firstEpochDay + dayCount) {
+            if (epochDay == todayEpochDay || epochDay == selectedEpochDay || epochDay in selectedRange) {
+                highlighted++
+            }
+        }
+        return highlighted
+    }
+
+    @Benchmark
+    fun byDayString(): Int {
+        // The day format sorts as the days do, so the range is a comparison of strings
+        var highlighted = 0
+        for (day in dayStrings) {
+            if (day == selectedDay || (day >= rangeStart && day <= rangeEnd)) {
+                highlighted++
+            }
+        }
+        return highlighted
+    }
+}
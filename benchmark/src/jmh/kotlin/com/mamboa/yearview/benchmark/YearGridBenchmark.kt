@@ -0,0 +1,48 @@
+package com.mamboa.yearview.benchmark
+
+import com.mamboa.yearview.core.layout.YearLayout
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * The grid of a year: where each month starts, how long it is and which weekday it starts on,
+ * then the blocks of the months.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class YearGridBenchmark {
+    private lateinit var layout: YearLayout
+    private val blocks = FloatArray(YearLayout.MONTH_COUNT * 4)
+    private var year = YEAR
+
+    @Setup
+    fun setUp() {
+        layout = YearLayout()
+    }
+
+    @Benchmark
+    fun monthGrid(): Int {
+        // Alternating years, setting the same year again returns right away
+        year = if (year == YEAR) YEAR + 1 else YEAR
+        layout.setYear(year, SPEC.firstDayOfWeek)
+        return layout.firstDayOffset(YearLayout.MONTH_COUNT - 1)
+    }
+
+    @Benchmark
+    fun monthBlocks(): FloatArray {
+        for (month in 0 until YearLayout.MONTH_COUNT) {
+            YearLayout.blockBounds(
+                month, WIDTH, HEIGHT, SPEC.columns, SPEC.rows,
+                SPEC.horizontalSpacing, SPEC.verticalSpacing, blocks, month * 4
+            )
+        }
+        return blocks
+    }
+}
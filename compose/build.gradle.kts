@@ -40,6 +40,11 @@ android {
         compose = true
     }
 
+    testOptions {
+        // The Robolectric tests resolve the resources of the module
+        unitTests.isIncludeAndroidResources = true
+    }
+
     kotlinOptions {
         jvmTarget = "17"
     }
@@ -53,6 +58,8 @@ dependencies {
     implementation(libs.foundation.android)
     implementation(libs.androidx.ui.tooling.preview.android)
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.androidx.test.core)
     androidTestImplementation(libs.androidx.junit)
     androidTestImplementation(libs.androidx.espresso.core)
 }
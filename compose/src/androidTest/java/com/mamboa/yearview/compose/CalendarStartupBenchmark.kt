@@ -0,0 +1,102 @@
+package com.mamboa.yearview.compose
+
+import android.graphics.Bitmap
+import android.os.Bundle
+import android.os.SystemClock
+import android.util.Log
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.mamboa.yearview.core.CalendarMath
+import org.joda.time.DateTime
+import org.junit.Assert.assertArrayEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Compares the time to the first rendered frame of a year on a cold process when the calendar of
+ * the year is computed with Joda-Time, as the views did before, and with [CalendarMath].
+ *
+ * A frame is timed from the calendar of every day of the year, the work the views did while
+ * drawing, to the year rendered into a bitmap by the renderer of [YearView]. Only the first run
+ * of a fresh instrumentation process is meaningful, so the calendar is picked by the `calendar`
+ * argument, `joda` or `engine`, one process each:
+ *
+ * ```
+ * ./gradlew :compose:connectedAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.mamboa.yearview.compose.CalendarStartupBenchmark \
+ *     -Pandroid.testInstrumentationRunnerArguments.calendar=joda
+ * ./gradlew :compose:connectedAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.mamboa.yearview.compose.CalendarStartupBenchmark \
+ *     -Pandroid.testInstrumentationRunnerArguments.calendar=engine
+ * adb logcat -s CalendarStartupBenchmark
+ * ```
+ *
+ * The times are logged under [TAG] and reported in the status of the instrumentation, as
+ * `calendar`, `yearCalendarNanos` and `timeToFirstFrameNanos`.
+ */
+@RunWith(AndroidJUnit4::class)
+class CalendarStartupBenchmark {
+
+    @Test
+    fun coldStartToFirstFrame() {
+        val instrumentation = InstrumentationRegistry.getInstrumentation()
+        val calendar = InstrumentationRegistry.getArguments().getString(ARGUMENT_CALENDAR, CALENDAR_ENGINE)
+        val isJoda = calendar == CALENDAR_JODA
+        val context = instrumentation.targetContext
+        val bitmap = Bitmap.createBitmap(1080, 1920, Bitmap.Config.ARGB_8888)
+
+        val start = SystemClock.elapsedRealtimeNanos()
+        val days = if (isJoda) jodaYearDays(YEAR) else engineYearDays(YEAR)
+        val calendarNanos = SystemClock.elapsedRealtimeNanos() - start
+        YearBitmapRenderer(context).renderInto(bitmap, YEAR, YearRenderConfig())
+        val firstFrameNanos = SystemClock.elapsedRealtimeNanos() - start
+
+        Log.i(TAG, "Cold year calendar, $calendar: ${calendarNanos / 1000} us")
+        Log.i(TAG, "Cold start to first frame, $calendar: ${firstFrameNanos / 1000} us")
+        instrumentation.sendStatus(0, Bundle().apply {
+            putString(ARGUMENT_CALENDAR, calendar)
+            putLong("yearCalendarNanos", calendarNanos)
+            putLong("timeToFirstFrameNanos", firstFrameNanos)
+        })
+
+        // Checked once timed, so that the other calendar is not loaded before the frame
+        assertArrayEquals(if (isJoda) engineYearDays(YEAR) else jodaYearDays(YEAR), days)
+    }
+
+    /**
+     * The month, day of the month and day of the week of every day of a year, as computed while
+     * drawing it.
+     */
+    private fun engineYearDays(year: Int): IntArray {
+        val firstEpochDay = CalendarMath.epochDay(year, 1, 1)
+        val days = IntArray(CalendarMath.daysInYear(year) * 3)
+        for (dayOfYear in 0 until days.size / 3) {
+            val epochDay = firstEpochDay + dayOfYear
+            val date = CalendarMath.toDate(epochDay)
+            days[dayOfYear * 3] = CalendarMath.unpackMonth(date)
+            days[dayOfYear * 3 + 1] = CalendarMath.unpackDay(date)
+            days[dayOfYear * 3 + 2] = CalendarMath.dayOfWeek(epochDay)
+        }
+        return days
+    }
+
+    private fun jodaYearDays(year: Int): IntArray {
+        var day = DateTime().withDate(year, 1, 1).withTimeAtStartOfDay()
+        val days = IntArray(day.dayOfYear().maximumValue * 3)
+        for (dayOfYear in 0 until days.size / 3) {
+            days[dayOfYear * 3] = day.monthOfYear
+            days[dayOfYear * 3 + 1] = day.dayOfMonth
+            days[dayOfYear * 3 + 2] = day.dayOfWeek
+            day = day.plusDays(1)
+        }
+        return days
+    }
+
+    private companion object {
+        const val TAG = "CalendarStartupBenchmark"
+        const val YEAR = 2025
+        const val ARGUMENT_CALENDAR = "calendar"
+        const val CALENDAR_JODA = "joda"
+        const val CALENDAR_ENGINE = "engine"
+    }
+}
@@ -0,0 +1,105 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.ui.geometry.Rect
+import androidx.compose.ui.graphics.Path
+import androidx.compose.ui.graphics.drawscope.DrawScope
+import androidx.compose.ui.graphics.drawscope.Fill
+import androidx.compose.ui.graphics.painter.Painter
+import com.mamboa.yearview.core.BackgroundItemStyle
+import com.mamboa.yearview.core.MergeType
+
+/**
+ * Counts the draw calls issued while drawing a frame of the YearView.
+ */
+internal class DrawCallCounter {
+    var count = 0
+        private set
+
+    fun reset() {
+        count = 0
+    }
+
+    fun record(calls: Int = 1) {
+        count += calls
+    }
+}
+
+/**
+ * Groups the backgrounds drawn during a frame by [BackgroundItemStyle.ComposeStyle] so that every
+ * cell sharing a style is filled with a single `drawPath` call when [flush] is invoked.
+ *
+ * Backgrounds which can't be merged into a path (an image to draw or a [MergeType.CLIP] merge)
+ * are drawn right away, after the pending batches are flushed to keep the painting order.
+ *
+ * @param counter The counter recording the draw calls issued by this batch.
+ */
+internal class BackgroundBatch(private val counter: DrawCallCounter) {
+    // Paths are kept from a frame to another, the order they are painted in is the order their
+    // style is first added in since the last flush
+    private val paths = HashMap<BackgroundItemStyle.ComposeStyle, Path>()
+    private val pending = ArrayList<BackgroundItemStyle.ComposeStyle>()
+
+    /**
+     * Prepares the batch for a new frame.
+     */
+    fun begin() {
+        for (style in pending) {
+            paths[style]?.reset()
+        }
+        pending.clear()
+        // Styles usually don't change from a frame to another, keep their paths around unless
+        // the map grows because of frequently changing styles.
+        if (paths.size > MAX_CACHED_STYLES) {
+            paths.clear()
+        }
+    }
+
+    /**
+     * Adds a background to the batch.
+     *
+     * @param scope The scope in which the background is drawn.
+     * @param bounds The bounds within which the background should be drawn.
+     * @param style The style configuration for the background item.
+     * @param painter The painter used to draw the background image, if any.
+     */
+    fun add(
+        scope: DrawScope,
+        bounds: Rect,
+        style: BackgroundItemStyle.ComposeStyle,
+        painter: Painter?
+    ) {
+        if (painter != null || style.mergeType == MergeType.CLIP) {
+            flush(scope)
+            scope.drawStyledBackground(bounds, style, painter)
+            counter.record(if (painter != null) 2 else 1)
+            return
+        }
+        val path = paths.getOrPut(style) { Path() }
+        if (path.isEmpty) pending.add(style)
+        path.createShapePath(bounds, style.shape)
+    }
+
+    /**
+     * Draws every pending background, issuing one draw call per style.
+     *
+     * @param scope The scope in which the backgrounds are drawn.
+     */
+    fun flush(scope: DrawScope) {
+        for (style in pending) {
+            val path = paths[style] ?: continue
+            if (path.isEmpty) continue
+            scope.drawPath(
+                path = path,
+                color = style.color.copy(alpha = style.opacity.toFloat() / 100f),
+                style = Fill
+            )
+            path.reset()
+            counter.record()
+        }
+        pending.clear()
+    }
+
+    private companion object {
+        const val MAX_CACHED_STYLES = 16
+    }
+}
@@ -0,0 +1,46 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.ui.text.TextMeasurer
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.unit.IntSize
+import com.mamboa.yearview.core.CalendarNames
+import com.mamboa.yearview.core.layout.TextMetrics
+
+/**
+ * The sizes of the texts of a year as measured by Compose, for the shared
+ * [com.mamboa.yearview.core.layout.YearLayout]. Each text is measured on first use only.
+ */
+internal class ComposeTextMetrics(
+    private val textMeasurer: TextMeasurer,
+    private val names: CalendarNames,
+    private val monthConfig: MonthConfig,
+    private val dayStyle: TextStyle
+) : TextMetrics {
+    private val monthNameSizes = arrayOfNulls<IntSize>(NUM_MONTHS * 2)
+    private val dayWidths = FloatArray(31) { -1f }
+
+    override val dayNumberHeight: Float by lazy(LazyThreadSafetyMode.NONE) {
+        textMeasurer.measure(text = "0", style = dayStyle).size.height.toFloat()
+    }
+
+    override fun monthNameWidth(month: Int, isCurrentMonth: Boolean): Float =
+        monthNameSize(month, isCurrentMonth).width.toFloat()
+
+    override fun monthNameHeight(month: Int, isCurrentMonth: Boolean): Float =
+        monthNameSize(month, isCurrentMonth).height.toFloat()
+
+    override fun dayNumberWidth(day: Int): Float {
+        val width = dayWidths[day - 1]
+        if (width >= 0f) return width
+        return textMeasurer.measure(text = day.toString(), style = dayStyle).size.width.toFloat()
+            .also { dayWidths[day - 1] = it }
+    }
+
+    private fun monthNameSize(month: Int, isCurrentMonth: Boolean): IntSize {
+        val index = (month - 1) * 2 + if (isCurrentMonth) 1 else 0
+        return monthNameSizes[index] ?: textMeasurer.measure(
+            text = names.monthName(month),
+            style = if (isCurrentMonth) monthConfig.todayNameStyle else monthConfig.nameStyle
+        ).size.also { monthNameSizes[index] = it }
+    }
+}
@@ -0,0 +1,106 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.runtime.mutableIntStateOf
+import androidx.compose.runtime.withFrameNanos
+import androidx.compose.ui.input.key.Key
+import androidx.compose.ui.input.key.KeyEvent
+import androidx.compose.ui.input.key.isCtrlPressed
+import androidx.compose.ui.input.key.isShiftPressed
+import androidx.compose.ui.input.key.key
+import com.mamboa.yearview.core.CalendarMath
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+
+/**
+ * Moves of the focused day with a keyboard or a D-pad:
+ * - arrows move by a day horizontally and by a week vertically,
+ * - page up and page down move by a month, or by a year with shift,
+ * - home and end move to the first and last day of the month, or of the year with ctrl.
+ */
+internal object DayFocusNavigation {
+
+    /**
+     * Whether the key activates the focused day.
+     */
+    fun isActivation(event: KeyEvent): Boolean = when (event.key) {
+        Key.Enter, Key.NumPadEnter, Key.DirectionCenter -> true
+        else -> false
+    }
+
+    /**
+     * The epoch day the focus moves to from [epochDay] with the key, or null if the key does not
+     * move the focus.
+     */
+    fun move(epochDay: Int, event: KeyEvent): Int? {
+        val date = CalendarMath.toDate(epochDay)
+        val year = CalendarMath.unpackYear(date)
+        val month = CalendarMath.unpackMonth(date)
+        return when (event.key) {
+            Key.DirectionLeft -> epochDay - 1
+            Key.DirectionRight -> epochDay + 1
+            Key.DirectionUp -> epochDay - DAYS_IN_WEEK
+            Key.DirectionDown -> epochDay + DAYS_IN_WEEK
+            Key.PageUp -> addMonths(date, if (event.isShiftPressed) -NUM_MONTHS else -1)
+            Key.PageDown -> addMonths(date, if (event.isShiftPressed) NUM_MONTHS else 1)
+            Key.MoveHome -> CalendarMath.epochDay(year, if (event.isCtrlPressed) 1 else month, 1)
+            Key.MoveEnd -> if (event.isCtrlPressed) {
+                CalendarMath.epochDay(year, NUM_MONTHS, 31)
+            } else {
+                CalendarMath.epochDay(year, month, CalendarMath.daysInMonth(year, month))
+            }
+
+            else -> null
+        }
+    }
+
+    /**
+     * Moves a date by a number of months, keeping its day within the target month.
+     */
+    private fun addMonths(date: Long, months: Int): Int {
+        val monthIndex =
+            CalendarMath.unpackYear(date) * NUM_MONTHS + CalendarMath.unpackMonth(date) - 1 + months
+        val year = Math.floorDiv(monthIndex, NUM_MONTHS)
+        val month = Math.floorMod(monthIndex, NUM_MONTHS) + 1
+        val day = minOf(CalendarMath.unpackDay(date), CalendarMath.daysInMonth(year, month))
+        return CalendarMath.epochDay(year, month, day)
+    }
+}
+
+/**
+ * The day focused with a keyboard or a D-pad.
+ *
+ * Moves are applied to [pendingEpochDay] right away and published to [epochDay] once per frame,
+ * so that a burst of key repeats only redraws the focus once per frame.
+ */
+internal class DayFocusCursor {
+    /**
+     * The focused day as drawn, an epoch day or [NO_FOCUS].
+     */
+    val epochDay = mutableIntStateOf(NO_FOCUS)
+
+    /**
+     * The focused day including the moves not drawn yet, an epoch day or [NO_FOCUS].
+     */
+    var pendingEpochDay = NO_FOCUS
+        private set
+
+    private var isUpdateScheduled = false
+
+    /**
+     * Moves the focus, the drawn day being updated on the next frame.
+     */
+    fun moveTo(epochDay: Int, scope: CoroutineScope) {
+        pendingEpochDay = epochDay
+        if (isUpdateScheduled) return
+        isUpdateScheduled = true
+        scope.launch {
+            withFrameNanos { }
+            isUpdateScheduled = false
+            this@DayFocusCursor.epochDay.intValue = pendingEpochDay
+        }
+    }
+
+    companion object {
+        const val NO_FOCUS = Int.MIN_VALUE
+    }
+}
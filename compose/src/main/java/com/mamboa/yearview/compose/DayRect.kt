@@ -2,6 +2,7 @@ package com.mamboa.yearview.compose
 
 import androidx.compose.ui.geometry.Rect
 
+@Deprecated("The touch areas of the days are kept in the flat buffers of YearLayout")
 data class DayRect(
     val rect: Rect,
     val date: String
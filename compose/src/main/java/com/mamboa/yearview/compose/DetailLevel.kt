@@ -0,0 +1,101 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.graphics.drawscope.DrawScope
+import androidx.compose.ui.text.TextLayoutResult
+import androidx.compose.ui.text.TextMeasurer
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.drawText
+
+/**
+ * Level of detail used to draw the days of the YearView.
+ */
+enum class DetailLevel {
+    /**
+     * Day names and day numbers are drawn as fully shaped texts.
+     */
+    FULL,
+
+    /**
+     * Day numbers are assembled from pre-measured digits and the day names row is skipped.
+     */
+    SIMPLIFIED,
+
+    /**
+     * Every day is drawn as a dot colored after its state, only the month names remain as texts.
+     */
+    DOTS;
+
+    companion object {
+        /**
+         * Selects the level of detail matching the size of a day cell.
+         *
+         * @param cellSize The smallest dimension of a day cell, in pixels.
+         * @param textHeight The height of the text of a day number, in pixels.
+         * @param isInMotion Whether the view is moving, e.g. during a fling, in which case a lower
+         * level of detail is selected.
+         */
+        fun select(cellSize: Float, textHeight: Float, isInMotion: Boolean): DetailLevel {
+            val level = when {
+                cellSize >= textHeight -> FULL
+                cellSize >= textHeight / 2 -> SIMPLIFIED
+                else -> DOTS
+            }
+            return if (isInMotion && level != DOTS) entries[level.ordinal + 1] else level
+        }
+    }
+}
+
+/**
+ * Draws numbers from the ten pre-measured digits of a [style], so that drawing a day number
+ * never needs to measure or shape a text.
+ */
+internal class DigitAtlas(textMeasurer: TextMeasurer, style: TextStyle) {
+    private val digits: Array<TextLayoutResult> by lazy {
+        Array(10) { textMeasurer.measure(text = it.toString(), style = style) }
+    }
+
+    /**
+     * The height of a digit.
+     */
+    val height: Float
+        get() = digits[0].size.height.toFloat()
+
+    /**
+     * Draws a positive number centered on the given position.
+     *
+     * @return The number of draw calls issued.
+     */
+    fun drawNumber(
+        scope: DrawScope,
+        number: Int,
+        centerX: Float,
+        centerY: Float,
+        color: Color
+    ): Int {
+        var width = 0f
+        var remaining = number
+        do {
+            width += digits[remaining % 10].size.width
+            remaining /= 10
+        } while (remaining > 0)
+
+        // Digits are drawn from the right to the left
+        var x = centerX + width / 2
+        var drawCalls = 0
+        remaining = number
+        do {
+            val digit = digits[remaining % 10]
+            x -= digit.size.width
+            scope.drawText(
+                textLayoutResult = digit,
+                color = color,
+                topLeft = Offset(x, centerY - height / 2)
+            )
+            drawCalls++
+            remaining /= 10
+        } while (remaining > 0)
+        return drawCalls
+    }
+}
@@ -0,0 +1,153 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.geometry.Size
+import androidx.compose.ui.graphics.GraphicsContext
+import androidx.compose.ui.graphics.drawscope.DrawScope
+import androidx.compose.ui.graphics.layer.GraphicsLayer
+import androidx.compose.ui.graphics.layer.drawLayer
+import androidx.compose.ui.unit.IntSize
+import com.mamboa.yearview.core.CalendarMath
+import java.util.Locale
+
+/**
+ * Keeps the drawing of each month in its own graphics layer, so that a frame only records again
+ * the months whose content changed, e.g. the previous and the new month of today on a day
+ * change. The other months are drawn by replaying their layer.
+ *
+ * A month is recorded again whenever the key it is drawn with changes. The key must hold
+ * everything the drawing of the month depends on.
+ *
+ * @param graphicsContext The context the layers are created from and released to.
+ */
+internal class MonthLayers(private val graphicsContext: GraphicsContext) {
+    private val layers = arrayOfNulls<GraphicsLayer>(NUM_MONTHS)
+    private val keys = arrayOfNulls<Any>(NUM_MONTHS)
+
+    /**
+     * Draws a month from its layer, recording the layer first if the key of the month changed.
+     *
+     * @param month The index of the month.
+     * @param key Everything the drawing of the month depends on.
+     * @param record Draws the month, returning the number of draw calls it issued.
+     * @param alpha The opacity the layer is drawn with.
+     * @param scale The scale the layer is drawn with, around its top left corner.
+     * @param translation The translation the layer is drawn with, applied after the scale.
+     * @return The number of draw calls issued, the recorded ones included.
+     */
+    fun draw(
+        scope: DrawScope,
+        month: Int,
+        key: Any,
+        alpha: Float = 1f,
+        scale: Float = 1f,
+        translation: Offset = Offset.Zero,
+        record: DrawScope.() -> Int
+    ): Int {
+        val drawCalls = this.record(scope, month, key, record)
+        val layer = layers[month]!!
+        // Transforming a layer only changes its properties, its content is replayed as recorded
+        layer.alpha = alpha
+        layer.pivotOffset = Offset.Zero
+        layer.scaleX = scale
+        layer.scaleY = scale
+        layer.translationX = translation.x
+        layer.translationY = translation.y
+        scope.drawLayer(layer)
+        return drawCalls + 1
+    }
+
+    /**
+     * Records a month into its layer without drawing it, e.g. behind a placeholder, unless the
+     * key of the month is unchanged.
+     *
+     * @return The number of draw calls recorded.
+     */
+    fun record(scope: DrawScope, month: Int, key: Any, record: DrawScope.() -> Int): Int {
+        val layer = layers[month] ?: graphicsContext.createGraphicsLayer().also { layers[month] = it }
+        if (keys[month] == key) return 0
+        keys[month] = key
+        var drawCalls = 0
+        layer.record(
+            density = scope,
+            layoutDirection = scope.layoutDirection,
+            size = IntSize(scope.size.width.toInt(), scope.size.height.toInt())
+        ) {
+            drawCalls = record()
+        }
+        return drawCalls
+    }
+
+    /**
+     * Forces every month to be recorded again on the next frame.
+     */
+    fun invalidate() {
+        keys.fill(null)
+    }
+
+    /**
+     * Releases the layers, they are created again if the months are drawn afterwards.
+     */
+    fun release() {
+        for (month in layers.indices) {
+            layers[month]?.let { graphicsContext.releaseGraphicsLayer(it) }
+            layers[month] = null
+            keys[month] = null
+        }
+    }
+}
+
+/**
+ * What the drawing of a month depends on. The days of today, of the selection and of the range
+ * are only kept when they fall in the month, so that changing them records only the months they
+ * leave and enter.
+ */
+internal data class MonthLayerKey(
+    val monthRect: MonthRect,
+    val canvasSize: Size,
+    val year: Int,
+    val config: YearRenderConfig,
+    val locale: Locale,
+    val painters: BackgroundPainters,
+    val isInMotion: Boolean,
+    val today: Int?,
+    val selectedDay: Int?,
+    val selectedRange: IntRange?
+) {
+    companion object {
+        /**
+         * Builds the key of a month, the days being epoch days.
+         */
+        fun of(
+            month: Int,
+            monthRects: List<MonthRect>,
+            canvasSize: Size,
+            year: Int,
+            config: YearRenderConfig,
+            locale: Locale,
+            painters: BackgroundPainters,
+            isInMotion: Boolean,
+            todayEpochDay: Int,
+            selectedEpochDay: Int?,
+            selectedRange: IntRange?
+        ): MonthLayerKey {
+            val firstDay = CalendarMath.epochDay(year, month + 1, 1)
+            val monthDays = firstDay until firstDay + CalendarMath.daysInMonth(year, month + 1)
+            val rangeInMonth = selectedRange?.let {
+                maxOf(it.first, monthDays.first)..minOf(it.last, monthDays.last)
+            }
+            return MonthLayerKey(
+                monthRect = monthRects[month],
+                canvasSize = canvasSize,
+                year = year,
+                config = config,
+                locale = locale,
+                painters = painters,
+                isInMotion = isInMotion,
+                today = todayEpochDay.takeIf { it in monthDays },
+                selectedDay = selectedEpochDay?.takeIf { it in monthDays },
+                selectedRange = rangeInMonth?.takeUnless { it.isEmpty() }
+            )
+        }
+    }
+}
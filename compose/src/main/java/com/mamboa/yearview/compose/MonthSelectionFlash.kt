@@ -0,0 +1,37 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.animation.core.Animatable
+import androidx.compose.animation.core.tween
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+
+private const val FADE_IN_MILLIS = 100
+private const val FADE_OUT_MILLIS = 200
+
+/**
+ * Highlight flashed over a month when it is clicked, fading in and out.
+ *
+ * Every month has its own animation, so that clicking a month while another one still flashes
+ * lets both of them fade independently, and clicking the same month again restarts its flash.
+ * The opacities are meant to be read while drawing only, the flash never recomposes.
+ */
+internal class MonthSelectionFlash {
+    private val alphas = Array(NUM_MONTHS) { Animatable(0f) }
+
+    /**
+     * The current opacity of the highlight of a month, 0 when it is not flashing.
+     */
+    fun alpha(month: Int): Float = alphas[month].value
+
+    /**
+     * Flashes the highlight of a month, restarting it from its current opacity if it flashes.
+     */
+    fun flash(month: Int, scope: CoroutineScope) {
+        val alpha = alphas[month]
+        scope.launch {
+            // A new flash of the month cancels this one, the other months are left running
+            alpha.animateTo(1f, tween(FADE_IN_MILLIS))
+            alpha.animateTo(0f, tween(FADE_OUT_MILLIS))
+        }
+    }
+}
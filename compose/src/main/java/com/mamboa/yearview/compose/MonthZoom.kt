@@ -0,0 +1,65 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.animation.core.Animatable
+import androidx.compose.animation.core.FastOutSlowInEasing
+import androidx.compose.animation.core.tween
+import androidx.compose.runtime.mutableIntStateOf
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.geometry.Rect
+
+private const val ZOOM_DURATION_MILLIS = 350
+
+/**
+ * Zoom of a [YearView] from the whole year into a single month and back.
+ *
+ * Both values are meant to be read while drawing only: during the transition the month layers
+ * are replayed with a transform, without recording or recomposing anything.
+ */
+internal class MonthZoom {
+    /**
+     * The index of the zoomed month, -1 when the whole year is shown.
+     */
+    val month = mutableIntStateOf(-1)
+
+    /**
+     * Progress of the zoom, from 0 for the year to 1 for the month.
+     */
+    val progress = Animatable(0f)
+
+    val isZoomed: Boolean get() = month.intValue >= 0
+
+    suspend fun zoomIn(month: Int) {
+        this.month.intValue = month
+        progress.animateTo(1f, tween(ZOOM_DURATION_MILLIS, easing = FastOutSlowInEasing))
+    }
+
+    suspend fun zoomOut() {
+        progress.animateTo(0f, tween(ZOOM_DURATION_MILLIS, easing = FastOutSlowInEasing))
+        month.intValue = -1
+    }
+
+    /**
+     * The scale bringing a month block to fill the target while keeping its aspect ratio, at the
+     * given progress of the zoom.
+     */
+    fun scale(monthBlock: Rect, target: Rect, progress: Float): Float {
+        val fullScale = minOf(target.width / monthBlock.width, target.height / monthBlock.height)
+        return 1f + (fullScale - 1f) * progress
+    }
+
+    /**
+     * The translation matching [scale], which moves the month block along a straight line until
+     * it is centered in the target at the end of the zoom.
+     */
+    fun translation(monthBlock: Rect, target: Rect, progress: Float): Offset {
+        val fullScale = scale(monthBlock, target, 1f)
+        val endLeft = target.left + (target.width - monthBlock.width * fullScale) / 2
+        val endTop = target.top + (target.height - monthBlock.height * fullScale) / 2
+        val left = monthBlock.left + (endLeft - monthBlock.left) * progress
+        val top = monthBlock.top + (endTop - monthBlock.top) * progress
+
+        // The layer is scaled around its origin, which moves the block away from its corner
+        val currentScale = scale(monthBlock, target, progress)
+        return Offset(left - monthBlock.left * currentScale, top - monthBlock.top * currentScale)
+    }
+}
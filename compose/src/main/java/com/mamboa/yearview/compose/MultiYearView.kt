@@ -0,0 +1,435 @@
+package com.mamboa.yearview.compose
+
+import android.graphics.Bitmap
+import androidx.compose.foundation.Canvas
+import androidx.compose.foundation.gestures.detectTapGestures
+import androidx.compose.foundation.gestures.detectTransformGestures
+import androidx.compose.foundation.layout.fillMaxSize
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.mutableFloatStateOf
+import androidx.compose.runtime.mutableIntStateOf
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberCoroutineScope
+import androidx.compose.runtime.setValue
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.geometry.Rect
+import androidx.compose.ui.geometry.Size
+import androidx.compose.ui.graphics.FilterQuality
+import androidx.compose.ui.graphics.ImageBitmap
+import androidx.compose.ui.graphics.asImageBitmap
+import androidx.compose.ui.graphics.drawscope.withTransform
+import androidx.compose.ui.input.pointer.pointerInput
+import androidx.compose.ui.layout.onSizeChanged
+import androidx.compose.ui.platform.LocalConfiguration
+import androidx.compose.ui.platform.LocalContext
+import androidx.compose.ui.platform.LocalDensity
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.drawText
+import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.text.rememberTextMeasurer
+import androidx.compose.ui.unit.Dp
+import androidx.compose.ui.unit.IntOffset
+import androidx.compose.ui.unit.IntSize
+import androidx.compose.ui.unit.dp
+import androidx.compose.ui.unit.sp
+import com.mamboa.yearview.core.CalendarClock
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.DayChangeMonitor
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+import org.joda.time.DateTime
+import kotlin.math.ceil
+import kotlin.math.log2
+import kotlin.math.roundToInt
+
+/**
+ * Bounds of the scale tiles are rendered at, as powers of two of the zoom of 1.
+ */
+private const val MIN_TILE_SCALE_EXPONENT = -3
+private const val MAX_TILE_SCALE_EXPONENT = 2
+
+/**
+ * Default budget of the month tiles kept in memory, in bytes.
+ */
+private const val DEFAULT_TILE_CACHE_BYTES = 48L * 1024 * 1024
+
+/**
+ * Geometry of the years of a [MultiYearView] at a zoom of 1, in pixels. The years are laid out
+ * row by row, each of them under its title, and every year shares the same month blocks.
+ */
+internal class MultiYearLayout(
+    private val yearCount: Int,
+    width: Float,
+    private val yearColumns: Int,
+    private val yearSpacing: Float,
+    private val titleHeight: Float,
+    config: YearRenderConfig,
+    horizontalSpacing: Float,
+    verticalSpacing: Float,
+    selectionMargin: Float
+) {
+    val yearWidth = ((width - yearSpacing * (yearColumns + 1)) / yearColumns).coerceAtLeast(1f)
+
+    // A month holds a row of day names and up to six weeks under its title
+    val yearHeight = yearWidth * config.rows / config.columns * (DAYS_IN_WEEK + 1) / DAYS_IN_WEEK
+
+    private val monthBlocks = calculateMonthBlocks(
+        yearWidth,
+        yearHeight,
+        config.columns,
+        config.rows,
+        NUM_MONTHS,
+        horizontalSpacing,
+        verticalSpacing,
+        selectionMargin
+    )
+
+    /**
+     * The space a tile leaves around its month block, half of the spacing between the months.
+     */
+    val tilePadding = Offset(horizontalSpacing / 2, verticalSpacing / 2)
+
+    private val rowHeight = titleHeight + yearHeight + yearSpacing
+
+    val contentSize = Size(
+        width,
+        yearSpacing + (yearCount + yearColumns - 1) / yearColumns * rowHeight
+    )
+
+    /**
+     * The bounds of a year, its title included.
+     */
+    fun yearRect(index: Int): Rect {
+        val left = yearSpacing + index % yearColumns * (yearWidth + yearSpacing)
+        val top = yearSpacing + index / yearColumns * rowHeight
+        return Rect(left, top, left + yearWidth, top + titleHeight + yearHeight)
+    }
+
+    /**
+     * The bounds of the title of a year.
+     */
+    fun titleRect(index: Int): Rect = yearRect(index).let {
+        Rect(it.left, it.top, it.right, it.top + titleHeight)
+    }
+
+    /**
+     * The bounds of the tile of a month, its block and the padding around it.
+     */
+    fun tileRect(index: Int, month: Int): Rect {
+        val year = yearRect(index)
+        val block = monthBlocks[month].rect
+        return Rect(
+            left = year.left + block.left - tilePadding.x,
+            top = year.top + titleHeight + block.top - tilePadding.y,
+            right = year.left + block.right + tilePadding.x,
+            bottom = year.top + titleHeight + block.bottom + tilePadding.y
+        )
+    }
+
+    /**
+     * The index of the year and of the month whose block holds the point, or null if none does.
+     */
+    fun monthAt(point: Offset): Pair<Int, Int>? {
+        for (index in 0 until yearCount) {
+            val year = yearRect(index)
+            if (!year.contains(point)) continue
+            val yearPoint = point - Offset(year.left, year.top + titleHeight)
+            val month = monthBlocks.indexOfFirst { it.rect.contains(yearPoint) }
+            return if (month >= 0) index to month else null
+        }
+        return null
+    }
+
+    /**
+     * Keeps the content within the view: it is centered along the axes it does not fill and can
+     * not be panned past its edges along the others.
+     */
+    fun clampOffset(offset: Offset, scale: Float, viewSize: Size): Offset {
+        fun clamp(value: Float, content: Float, view: Float): Float {
+            val min = view - content * scale
+            return if (min >= 0f) min / 2 else value.coerceIn(min, 0f)
+        }
+        return Offset(
+            clamp(offset.x, contentSize.width, viewSize.width),
+            clamp(offset.y, contentSize.height, viewSize.height)
+        )
+    }
+}
+
+/**
+ * A month tile, rendered at a scale of 2^[scaleExponent]. Today is only part of the key when it
+ * falls in the month, so that a day change renders again only the months it leaves and enters.
+ */
+internal data class MonthTileKey(
+    val year: Int,
+    val month: Int,
+    val scaleExponent: Int,
+    val today: Int?
+)
+
+/**
+ * The month tiles of a [MultiYearView], the least recently drawn being evicted once the tiles go
+ * over a budget of bytes. The tiles drawn by the current frame are never evicted.
+ *
+ * Missing tiles are rendered in the background, each of them once; a tile panned out of view
+ * before its rendering started is not rendered at all.
+ */
+internal class MonthTileCache(private val maxBytes: Long) {
+    private val tiles = LinkedHashMap<MonthTileKey, ImageBitmap>(64, 0.75f, true)
+    private val pending = HashSet<MonthTileKey>()
+    private val wanted = HashSet<MonthTileKey>()
+    private var bytes = 0L
+
+    /**
+     * Incremented whenever a tile is added, read while drawing so that new tiles get drawn.
+     */
+    val version = mutableIntStateOf(0)
+
+    /**
+     * Starts a frame, forgetting which tiles the previous one wanted.
+     */
+    fun beginFrame() {
+        wanted.clear()
+    }
+
+    /**
+     * The tile of the key, marked as wanted by the frame, or null if it is not rendered yet.
+     */
+    fun get(key: MonthTileKey): ImageBitmap? {
+        wanted.add(key)
+        return tiles[key]
+    }
+
+    /**
+     * A tile of the same month at the closest scale, to be drawn until the wanted one is rendered.
+     */
+    fun closest(key: MonthTileKey): ImageBitmap? {
+        for (distance in 1..MAX_TILE_SCALE_EXPONENT - MIN_TILE_SCALE_EXPONENT) {
+            tiles[key.copy(scaleExponent = key.scaleExponent - distance)]?.let { return it }
+            tiles[key.copy(scaleExponent = key.scaleExponent + distance)]?.let { return it }
+        }
+        return null
+    }
+
+    /**
+     * Renders a missing tile in the background, unless it is already being rendered.
+     */
+    fun request(key: MonthTileKey, scope: CoroutineScope, render: suspend () -> Bitmap) {
+        if (key in tiles || !pending.add(key)) return
+        scope.launch {
+            try {
+                if (key !in wanted) return@launch
+                val tile = render().asImageBitmap()
+                tiles[key] = tile
+                bytes += tile.byteCount
+                trim()
+                version.intValue++
+            } finally {
+                pending.remove(key)
+            }
+        }
+    }
+
+    private fun trim() {
+        val iterator = tiles.entries.iterator()
+        while (bytes > maxBytes && iterator.hasNext()) {
+            val (key, tile) = iterator.next()
+            if (key in wanted) continue
+            iterator.remove()
+            bytes -= tile.byteCount
+        }
+    }
+
+    // Tiles are rendered with 4 bytes per pixel
+    private val ImageBitmap.byteCount: Long
+        get() = width * height * 4L
+}
+
+/**
+ * Shows several years at once, e.g. a decade on a tablet, as a surface of month tiles which can
+ * be panned and pinched.
+ *
+ * Each month is rendered once into a bitmap tile, off the main thread, and kept in a bounded
+ * cache: panning only draws the cached tiles at new positions. Tiles are rendered at the power of
+ * two above the zoom, so that a pinch only renders new tiles when it crosses one. The smaller
+ * tiles of a zoomed out surface are rendered with the lower level of detail matching their size.
+ */
+@Composable
+fun MultiYearView(
+    modifier: Modifier = Modifier,
+    /**
+     * The years to show.
+     */
+    years: IntRange,
+    /**
+     * The number of years per row at a zoom of 1.
+     */
+    yearColumns: Int = 3,
+    /**
+     * The styling of each year.
+     */
+    config: YearRenderConfig = YearRenderConfig(),
+    /**
+     * The space around the years.
+     */
+    yearSpacing: Dp = 16.dp,
+    /**
+     * The style of the titles of the years.
+     */
+    yearTitleStyle: TextStyle = TextStyle(fontSize = 20.sp, fontWeight = FontWeight.Bold),
+    /**
+     * The bounds of the zoom, 1 fitting [yearColumns] years in the width of the view.
+     */
+    minScale: Float = 0.25f,
+    maxScale: Float = 4f,
+    /**
+     * The budget of the month tiles kept in memory, in bytes.
+     */
+    tileCacheBytes: Long = DEFAULT_TILE_CACHE_BYTES,
+    /**
+     * The clock deciding which day is today.
+     */
+    clock: CalendarClock = CalendarClock.System,
+    /**
+     * Called with the first day of a month when it is clicked.
+     */
+    onMonthClick: (Long) -> Unit = {}
+) {
+    val context = LocalContext.current
+    val density = LocalDensity.current
+    val locale = LocalConfiguration.current.locales[0]
+    val textMeasurer = rememberTextMeasurer()
+    val coroutineScope = rememberCoroutineScope()
+
+    val renderer = remember(context, clock) { YearBitmapRenderer(context, clock = clock) }
+    val todayEpochDay = remember(renderer) { mutableIntStateOf(renderer.today.epochDay) }
+    DisposableEffect(renderer) {
+        val monitor = DayChangeMonitor(context, renderer.today) { _, epochDay ->
+            todayEpochDay.intValue = epochDay
+        }
+        monitor.start()
+        onDispose { monitor.stop() }
+    }
+
+    var viewSize by remember { mutableStateOf(Size.Zero) }
+    val layout = remember(years, viewSize.width, yearColumns, yearSpacing, yearTitleStyle, config) {
+        if (viewSize.width <= 0f) return@remember null
+        with(density) {
+            MultiYearLayout(
+                yearCount = years.count(),
+                width = viewSize.width,
+                yearColumns = yearColumns,
+                yearSpacing = yearSpacing.toPx(),
+                titleHeight = textMeasurer.measure(years.first.toString(), yearTitleStyle)
+                    .size.height + yearSpacing.toPx() / 2,
+                config = config,
+                horizontalSpacing = config.horizontalSpacing.toPx(),
+                verticalSpacing = config.verticalSpacing.toPx(),
+                selectionMargin = config.monthConfig.selectionBackgroundItemStyle.selectionMargin.dp.toPx()
+            )
+        }
+    }
+    val tileCache = remember(layout, config, locale, tileCacheBytes) { MonthTileCache(tileCacheBytes) }
+
+    // Zoom and pan, only read while drawing so that gestures never recompose
+    val zoom = remember { mutableFloatStateOf(1f) }
+    val pan = remember { mutableStateOf(Offset.Zero) }
+
+    Canvas(
+        modifier = modifier
+            .fillMaxSize()
+            .onSizeChanged { viewSize = Size(it.width.toFloat(), it.height.toFloat()) }
+            .pointerInput(layout) {
+                val currentLayout = layout ?: return@pointerInput
+                detectTransformGestures { centroid, panChange, zoomChange, _ ->
+                    val scale = zoom.floatValue
+                    val newScale = (scale * zoomChange).coerceIn(minScale, maxScale)
+                    // The point under the fingers stays under them
+                    val offset = centroid - (centroid - pan.value) * (newScale / scale) + panChange
+                    zoom.floatValue = newScale
+                    pan.value = currentLayout.clampOffset(offset, newScale, viewSize)
+                }
+            }
+            .pointerInput(layout, years) {
+                val currentLayout = layout ?: return@pointerInput
+                detectTapGestures { point ->
+                    val worldPoint = (point - pan.value) / zoom.floatValue
+                    val (index, month) = currentLayout.monthAt(worldPoint) ?: return@detectTapGestures
+                    onMonthClick(DateTime(years.first + index, month + 1, 1, 1, 0).millis)
+                }
+            }
+    ) {
+        val currentLayout = layout ?: return@Canvas
+        tileCache.version.intValue
+        val today = todayEpochDay.intValue
+        val scale = zoom.floatValue
+        val offset = currentLayout.clampOffset(pan.value, scale, size)
+        val area = Rect(
+            -offset.x / scale,
+            -offset.y / scale,
+            (size.width - offset.x) / scale,
+            (size.height - offset.y) / scale
+        )
+        val scaleExponent = ceil(log2(scale)).toInt()
+            .coerceIn(MIN_TILE_SCALE_EXPONENT, MAX_TILE_SCALE_EXPONENT)
+        val tileScale = Math.scalb(1f, scaleExponent)
+
+        tileCache.beginFrame()
+        for (index in 0 until years.count()) {
+            if (!currentLayout.yearRect(index).overlaps(area)) continue
+            val year = years.first + index
+
+            val titleRect = currentLayout.titleRect(index)
+            withTransform({
+                translate(offset.x, offset.y)
+                scale(scale, scale, Offset.Zero)
+            }) {
+                drawText(
+                    textMeasurer = textMeasurer,
+                    text = year.toString(),
+                    topLeft = titleRect.topLeft,
+                    style = yearTitleStyle
+                )
+            }
+
+            for (month in 0 until NUM_MONTHS) {
+                val tileRect = currentLayout.tileRect(index, month)
+                if (!tileRect.overlaps(area)) continue
+
+                val firstDay = CalendarMath.epochDay(year, month + 1, 1)
+                val monthDays = firstDay until firstDay + CalendarMath.daysInMonth(year, month + 1)
+                val key = MonthTileKey(year, month, scaleExponent, today.takeIf { it in monthDays })
+                val tile = tileCache.get(key) ?: run {
+                    tileCache.request(key, coroutineScope) {
+                        renderer.renderMonthTile(
+                            year = year,
+                            month = month,
+                            width = ceil(tileRect.width * tileScale).toInt().coerceAtLeast(1),
+                            height = ceil(tileRect.height * tileScale).toInt().coerceAtLeast(1),
+                            config = config,
+                            padding = currentLayout.tilePadding * tileScale,
+                            todayEpochDay = today
+                        )
+                    }
+                    tileCache.closest(key)
+                } ?: continue
+
+                // Snapped to pixels, so that neighbouring tiles neither overlap nor leave a gap
+                val left = (tileRect.left * scale + offset.x).roundToInt()
+                val top = (tileRect.top * scale + offset.y).roundToInt()
+                val right = (tileRect.right * scale + offset.x).roundToInt()
+                val bottom = (tileRect.bottom * scale + offset.y).roundToInt()
+                drawImage(
+                    image = tile,
+                    dstOffset = IntOffset(left, top),
+                    dstSize = IntSize(right - left, bottom - top),
+                    filterQuality = FilterQuality.Low
+                )
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.mamboa.yearview.compose
+
+import android.graphics.RectF
+import androidx.compose.ui.graphics.asAndroidBitmap
+import androidx.compose.ui.text.TextStyle
+import com.mamboa.yearview.core.BackgroundItemStyle
+import com.mamboa.yearview.core.BackgroundShape
+import com.mamboa.yearview.core.ImageSource
+
+/**
+ * A hash of the styling which is the same from a process to another, to key what is persisted
+ * across process deaths, e.g. by [YearRenderCache] and the widget renderer.
+ *
+ * [YearRenderConfig.hashCode] can't be used for that: the styling holds objects hashed by
+ * identity, such as enums, paths, images and font families. Here enums are hashed by ordinal,
+ * paths by their bounds and bitmaps by their pixels. Drawables and fonts loaded at runtime have
+ * nothing stable to hash, so a styling holding one only matches within the process.
+ */
+internal fun YearRenderConfig.stableHash(): Int = StableHasher().apply {
+    add(rows)
+    add(columns)
+    add(verticalSpacing.value)
+    add(horizontalSpacing.value)
+    add(monthConfig.titleGravity.ordinal)
+    add(monthConfig.marginBelowMonthName.value)
+    add(monthConfig.selectionBackgroundItemStyle)
+    add(monthConfig.backgroundItemStyle)
+    add(monthConfig.nameStyle)
+    add(monthConfig.todayNameStyle)
+    add(monthConfig.nameFormat)
+    add(firstDayOfWeek)
+    add(todayConfig.backgroundItemStyle)
+    add(todayConfig.textStyle)
+    add(selectedDayConfig.backgroundItemStyle)
+    add(selectedDayConfig.textStyle)
+    add(dayNameTranscendsWeekend)
+    add(simpleDayStyle)
+    add(weekendDayStyle)
+    add(dayNameStyle)
+    add(dayFormat)
+    add(weekendDays.sorted())
+    add(multiSelectionBackgroundItemStyle)
+    add(detailLevel?.ordinal ?: -1)
+}.hash
+
+private class StableHasher {
+    var hash = 17
+        private set
+
+    fun add(value: Any?) {
+        hash = 31 * hash + value.hashCode()
+    }
+
+    fun add(style: TextStyle) {
+        add(style.color)
+        add(style.fontSize)
+        add(style.fontWeight?.weight)
+        add(style.fontStyle)
+        add(style.fontSynthesis)
+        // Generic and resource font families print their names and resources, families of
+        // loaded typefaces their identity
+        add(style.fontFamily?.toString())
+        add(style.letterSpacing)
+        add(style.background)
+        add(style.textDecoration)
+        add(style.textAlign)
+        add(style.lineHeight)
+    }
+
+    fun add(style: BackgroundItemStyle.ComposeStyle) {
+        add(style.color)
+        add(style.shape)
+        add(style.selectionMargin)
+        add(style.image)
+        add(style.opacity)
+        add(style.mergeType.ordinal)
+    }
+
+    private fun add(shape: BackgroundShape) {
+        when (shape) {
+            is BackgroundShape.ComposeCustom -> {
+                add(CUSTOM_SHAPE)
+                add(shape.composePath.getBounds())
+                add(shape.innerPadding)
+            }
+
+            is BackgroundShape.xmlCustom -> {
+                add(XML_CUSTOM_SHAPE)
+                add(RectF().also { shape.xmlPath.computeBounds(it, true) }.toShortString())
+                add(shape.innerPadding)
+            }
+
+            // Data classes and objects of value fields only
+            else -> add(shape as Any)
+        }
+    }
+
+    private fun add(image: ImageSource) {
+        when (image) {
+            ImageSource.None -> add(0)
+            is ImageSource.DrawableRes -> add(image.resId)
+            is ImageSource.Bitmap -> addPixels(image.bitmap)
+            is ImageSource.BitmapCompose -> addPixels(image.bitmapCompose.asAndroidBitmap())
+            is ImageSource.ReceivedDrawable -> add(System.identityHashCode(image.drawable))
+        }
+    }
+
+    private fun addPixels(bitmap: android.graphics.Bitmap) {
+        if (bitmap.config == android.graphics.Bitmap.Config.HARDWARE) {
+            // Pixels of hardware bitmaps can't be read back
+            add(System.identityHashCode(bitmap))
+            return
+        }
+        val pixels = IntArray(bitmap.width * bitmap.height)
+        bitmap.getPixels(pixels, 0, bitmap.width, 0, 0, bitmap.width, bitmap.height)
+        add(bitmap.width)
+        add(bitmap.height)
+        add(pixels.contentHashCode())
+    }
+
+    private companion object {
+        const val CUSTOM_SHAPE = 1
+        const val XML_CUSTOM_SHAPE = 2
+    }
+}
@@ -0,0 +1,144 @@
+package com.mamboa.yearview.compose
+
+import android.content.Context
+import android.view.accessibility.AccessibilityManager
+import androidx.compose.foundation.layout.Spacer
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.key
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.setValue
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.geometry.Rect
+import androidx.compose.ui.layout.layout
+import androidx.compose.ui.platform.LocalContext
+import androidx.compose.ui.semantics.contentDescription
+import androidx.compose.ui.semantics.heading
+import androidx.compose.ui.semantics.onClick
+import androidx.compose.ui.semantics.onLongClick
+import androidx.compose.ui.semantics.selected
+import androidx.compose.ui.semantics.semantics
+import androidx.compose.ui.semantics.stateDescription
+import androidx.compose.ui.unit.Constraints
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.YearAccessibilityLabels
+import com.mamboa.yearview.core.layout.YearLayout
+import java.util.Locale
+import kotlin.math.roundToInt
+
+/**
+ * Whether a service exploring the screen by touch, such as TalkBack, is running. The value
+ * follows the service being turned on and off.
+ */
+@Composable
+internal fun rememberIsTouchExplorationEnabled(): Boolean {
+    val context = LocalContext.current
+    val accessibilityManager = remember(context) {
+        context.getSystemService(Context.ACCESSIBILITY_SERVICE) as AccessibilityManager
+    }
+    var isEnabled by remember(accessibilityManager) {
+        mutableStateOf(accessibilityManager.isTouchExplorationEnabled)
+    }
+    DisposableEffect(accessibilityManager) {
+        val listener = AccessibilityManager.TouchExplorationStateChangeListener { isEnabled = it }
+        accessibilityManager.addTouchExplorationStateChangeListener(listener)
+        onDispose { accessibilityManager.removeTouchExplorationStateChangeListener(listener) }
+    }
+    return isEnabled
+}
+
+/**
+ * Virtual accessibility nodes of the months and days of a year, laid over its canvas. A month is
+ * followed by its days in the traversal order. The nodes are keyed, so that recompositions
+ * update the existing nodes instead of creating new ones.
+ *
+ * Activating a node is forwarded as a tap or a long press in the middle of it, so that it goes
+ * through the same handling as touches.
+ *
+ * @param dayLayout The layout of the days of [year], whose touch areas bound their nodes.
+ * @param dayLayoutGeneration The [YearLayout.generation] of [dayLayout], which is laid out again
+ * in place.
+ * @param dayState The state of a day given its epoch day, e.g. "Today", empty if none.
+ */
+@Composable
+internal fun YearAccessibilityNodes(
+    year: Int,
+    locale: Locale,
+    monthRects: List<MonthRect>,
+    dayLayout: YearLayout,
+    dayLayoutGeneration: Int,
+    dayState: (epochDay: Int) -> String,
+    isDaySelected: (epochDay: Int) -> Boolean,
+    onTap: (Offset) -> Unit,
+    onLongPress: (Offset) -> Unit
+) {
+    val labels = remember(year, locale) { YearAccessibilityLabels.of(year, locale) }
+    val firstEpochDay = remember(year) { CalendarMath.epochDay(year, 1, 1) }
+    val dayRects = remember(dayLayout, dayLayoutGeneration, year) {
+        val dayCount = if (dayLayout.year == year) dayLayout.dayCount else 0
+        Array(dayCount) { dayIndex ->
+            Rect(
+                dayLayout.dayTouchLeft(dayIndex),
+                dayLayout.dayTouchTop(dayIndex),
+                dayLayout.dayTouchRight(dayIndex),
+                dayLayout.dayTouchBottom(dayIndex)
+            )
+        }
+    }
+    var dayIndex = 0
+
+    for (month in 0 until minOf(NUM_MONTHS, monthRects.size)) {
+        val monthRect = monthRects[month].rect
+        key(month) {
+            Spacer(
+                Modifier
+                    .placedAt(monthRect)
+                    .semantics {
+                        heading()
+                        contentDescription = labels.monthLabel(month)
+                        // The top left corner holds the month name, never a day
+                        val monthPoint = Offset(monthRect.left + 1f, monthRect.top + 1f)
+                        onClick { onTap(monthPoint); true }
+                        onLongClick { onLongPress(monthPoint); true }
+                    }
+            )
+        }
+
+        val daysInMonth = CalendarMath.daysInMonth(year, month + 1)
+        for (day in 1..daysInMonth) {
+            if (dayIndex >= dayRects.size) break
+            val dayRect = dayRects[dayIndex]
+            val epochDay = firstEpochDay + dayIndex
+            dayIndex++
+
+            key(epochDay) {
+                Spacer(
+                    Modifier
+                        .placedAt(dayRect)
+                        .semantics {
+                            contentDescription = labels.dayLabel(month, day)
+                            stateDescription = dayState(epochDay)
+                            selected = isDaySelected(epochDay)
+                            onClick { onTap(dayRect.center); true }
+                            onLongClick { onLongPress(dayRect.center); true }
+                        }
+                )
+            }
+        }
+    }
+}
+
+/**
+ * Sizes and places the element on the given bounds of its parent.
+ */
+private fun Modifier.placedAt(bounds: Rect): Modifier = layout { measurable, _ ->
+    val width = bounds.width.roundToInt().coerceAtLeast(0)
+    val height = bounds.height.roundToInt().coerceAtLeast(0)
+    val placeable = measurable.measure(Constraints.fixed(width, height))
+    layout(width, height) {
+        placeable.place(bounds.left.roundToInt(), bounds.top.roundToInt())
+    }
+}
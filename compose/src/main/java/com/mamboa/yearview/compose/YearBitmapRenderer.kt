@@ -0,0 +1,278 @@
+package com.mamboa.yearview.compose
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.view.View
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.geometry.Rect
+import androidx.compose.ui.geometry.Size
+import androidx.compose.ui.graphics.BlendMode
+import androidx.compose.ui.graphics.Canvas
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.graphics.ImageBitmap
+import androidx.compose.ui.graphics.asImageBitmap
+import androidx.compose.ui.graphics.drawscope.CanvasDrawScope
+import androidx.compose.ui.graphics.drawscope.DrawScope
+import androidx.compose.ui.graphics.drawscope.clipRect
+import androidx.compose.ui.graphics.painter.BitmapPainter
+import androidx.compose.ui.graphics.painter.Painter
+import androidx.compose.ui.text.TextMeasurer
+import androidx.compose.ui.text.font.createFontFamilyResolver
+import androidx.compose.ui.unit.Density
+import androidx.compose.ui.unit.LayoutDirection
+import androidx.compose.ui.unit.dp
+import com.mamboa.yearview.core.CalendarClock
+import com.mamboa.yearview.core.CalendarNames
+import com.mamboa.yearview.core.ImageSource
+import com.mamboa.yearview.core.TodayTracker
+import com.mamboa.yearview.core.utils.Utils
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.withContext
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+
+/**
+ * Renders years into bitmaps without any [YearView] on screen, e.g. to share a year or to show
+ * it in a notification.
+ *
+ * The rendering happens on [dispatcher] and independent years are rendered in parallel. The
+ * renderers, with their text layouts and shape paths, and the decoded background images
+ * are kept and reused by the subsequent renders.
+ *
+ * @param context The context used to resolve the fonts, the drawables and the locale.
+ * @param dispatcher The dispatcher the years are rendered on.
+ * @param clock The clock deciding which day is today.
+ */
+class YearBitmapRenderer(
+    context: Context,
+    private val dispatcher: CoroutineDispatcher = Dispatchers.Default,
+    clock: CalendarClock = CalendarClock.System
+) {
+    private val appContext = context.applicationContext
+    private val fontFamilyResolver = createFontFamilyResolver(appContext)
+    private val density = Density(appContext)
+    private val layoutDirection =
+        if (appContext.resources.configuration.layoutDirection == View.LAYOUT_DIRECTION_RTL) {
+            LayoutDirection.Rtl
+        } else {
+            LayoutDirection.Ltr
+        }
+
+    // A renderer is used by one render at a time, renders running in parallel get their own
+    private val renderers = ConcurrentLinkedQueue<YearRenderer>()
+    // Painters hold the alpha and the color filter they draw with, so renders running in parallel
+    // each get their own, the decoded images being shared
+    private val images = ConcurrentHashMap<ImageSource, ImageBitmap>()
+    internal val today = TodayTracker(clock)
+
+    init {
+        CalendarNames.registerConfigurationCallbacks(appContext)
+    }
+
+    /**
+     * Renders a year into a bitmap.
+     *
+     * @param year The year to render.
+     * @param width The width of the bitmap, in pixels.
+     * @param height The height of the bitmap, in pixels.
+     * @param config The styling of the year.
+     * @param selectedDay The selected day, in the format defined by [YearRenderConfig.dayFormat].
+     * @return The rendered year.
+     */
+    suspend fun render(
+        year: Int,
+        width: Int,
+        height: Int,
+        config: YearRenderConfig = YearRenderConfig(),
+        selectedDay: String = ""
+    ): Bitmap = withContext(dispatcher) {
+        val bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888)
+        renderInto(bitmap, year, config, selectedDay)
+        bitmap
+    }
+
+    /**
+     * Renders several years in parallel, each of them into its own bitmap.
+     *
+     * @return The rendered years, in the order of [years].
+     */
+    suspend fun render(
+        years: List<Int>,
+        width: Int,
+        height: Int,
+        config: YearRenderConfig = YearRenderConfig()
+    ): List<Bitmap> = coroutineScope {
+        years.map { year ->
+            async { render(year, width, height, config) }
+        }.awaitAll()
+    }
+
+    /**
+     * Releases the cached renderers and painters.
+     */
+    fun clear() {
+        renderers.clear()
+        images.clear()
+    }
+
+    /**
+     * Renders a year, or only one of its months, into an existing mutable bitmap. The caller is
+     * responsible for running it off the main thread.
+     *
+     * @param month The index of the only month to render, its tile being cleared beforehand, or
+     * -1 to render the whole year.
+     * @param todayEpochDay The epoch day of today, defaults to the one of the clock.
+     * @return The blocks of the months the year was rendered with.
+     */
+    internal fun renderInto(
+        bitmap: Bitmap,
+        year: Int,
+        config: YearRenderConfig,
+        selectedDay: String = "",
+        month: Int = -1,
+        todayEpochDay: Int = today.epochDay
+    ): List<MonthRect> {
+        val renderer = acquireRenderer()
+        var monthRects = emptyList<MonthRect>()
+        try {
+            val width = bitmap.width.toFloat()
+            val height = bitmap.height.toFloat()
+            CanvasDrawScope().draw(
+                density = density,
+                layoutDirection = layoutDirection,
+                canvas = Canvas(bitmap.asImageBitmap()),
+                size = Size(width, height)
+            ) {
+                val horizontalSpacingPx = config.horizontalSpacing.toPx()
+                val verticalSpacingPx = config.verticalSpacing.toPx()
+                monthRects = calculateMonthBlocks(
+                    width,
+                    height,
+                    config.columns,
+                    config.rows,
+                    NUM_MONTHS,
+                    horizontalSpacingPx,
+                    verticalSpacingPx,
+                    config.monthConfig.selectionBackgroundItemStyle.selectionMargin.dp.toPx()
+                )
+                val drawYear: DrawScope.() -> Unit = {
+                    renderer.draw(
+                        scope = this,
+                        year = year,
+                        config = config,
+                        locale = Utils.getCurrentLocale(appContext),
+                        todayEpochDay = todayEpochDay,
+                        monthRects = monthRects,
+                        painters = backgroundPainters(config),
+                        selectedDay = selectedDay,
+                        month = month
+                    )
+                }
+                if (month < 0) {
+                    drawYear()
+                } else {
+                    // The tile of a month spreads over half of the spacing around its block
+                    val rect = monthRects[month].rect
+                    clipRect(
+                        left = rect.left - horizontalSpacingPx / 2,
+                        top = rect.top - verticalSpacingPx / 2,
+                        right = rect.right + horizontalSpacingPx / 2,
+                        bottom = rect.bottom + verticalSpacingPx / 2
+                    ) {
+                        drawRect(color = Color.Transparent, blendMode = BlendMode.Clear)
+                        drawYear()
+                    }
+                }
+            }
+        } finally {
+            renderers.offer(renderer)
+        }
+        return monthRects
+    }
+
+    /**
+     * Renders a single month into a bitmap of its own, the month block filling the bitmap but for
+     * the padding around it. The days are drawn at the level of detail matching the size of the
+     * bitmap, so that the tiles of a zoomed out surface are cheaper to render.
+     *
+     * @param month The index of the month, from 0 = January.
+     * @param padding The space left around the month block on each side, in pixels.
+     * @param todayEpochDay The epoch day of today, defaults to the one of the clock.
+     */
+    internal suspend fun renderMonthTile(
+        year: Int,
+        month: Int,
+        width: Int,
+        height: Int,
+        config: YearRenderConfig,
+        padding: Offset,
+        todayEpochDay: Int = today.epochDay
+    ): Bitmap = withContext(dispatcher) {
+        val bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888)
+        val renderer = acquireRenderer()
+        try {
+            CanvasDrawScope().draw(
+                density = density,
+                layoutDirection = layoutDirection,
+                canvas = Canvas(bitmap.asImageBitmap()),
+                size = Size(width.toFloat(), height.toFloat())
+            ) {
+                val margin = config.monthConfig.selectionBackgroundItemStyle.selectionMargin.dp.toPx()
+                val rect = Rect(padding.x, padding.y, width - padding.x, height - padding.y)
+                // Every month shares the block of the tile, only the rendered one is drawn
+                val monthRects = List(NUM_MONTHS) {
+                    MonthRect(rect, it, 0f, rect.inflate(margin), margin)
+                }
+                renderer.draw(
+                    scope = this,
+                    year = year,
+                    config = config,
+                    locale = Utils.getCurrentLocale(appContext),
+                    todayEpochDay = todayEpochDay,
+                    monthRects = monthRects,
+                    painters = backgroundPainters(config),
+                    month = month
+                )
+            }
+        } finally {
+            renderers.offer(renderer)
+        }
+        bitmap
+    }
+
+    private fun acquireRenderer(): YearRenderer = renderers.poll() ?: YearRenderer(
+        TextMeasurer(
+            defaultFontFamilyResolver = fontFamilyResolver,
+            defaultDensity = density,
+            defaultLayoutDirection = layoutDirection
+        )
+    )
+
+    private fun backgroundPainters(config: YearRenderConfig) = BackgroundPainters(
+        month = painterOf(config.monthConfig.backgroundItemStyle.image),
+        today = painterOf(config.todayConfig.backgroundItemStyle.image),
+        selectedDay = painterOf(config.selectedDayConfig.backgroundItemStyle.image),
+        multiSelection = painterOf(config.multiSelectionBackgroundItemStyle.image),
+        monthSelection = painterOf(config.monthConfig.selectionBackgroundItemStyle.image)
+    )
+
+    private fun painterOf(imageSource: ImageSource): Painter? = imageOf(imageSource)?.let { BitmapPainter(it) }
+
+    private fun imageOf(imageSource: ImageSource): ImageBitmap? {
+        if (imageSource == ImageSource.None) return null
+        images[imageSource]?.let { return it }
+
+        val image = when (imageSource) {
+            is ImageSource.DrawableRes -> Utils.drawableToBitmap(appContext.getDrawable(imageSource.resId))?.asImageBitmap()
+            is ImageSource.Bitmap -> imageSource.bitmap.asImageBitmap()
+            is ImageSource.ReceivedDrawable -> Utils.drawableToBitmap(imageSource.drawable)?.asImageBitmap()
+            is ImageSource.BitmapCompose -> imageSource.bitmapCompose
+            ImageSource.None -> null
+        } ?: return null
+        return images.getOrPut(imageSource) { image }
+    }
+}
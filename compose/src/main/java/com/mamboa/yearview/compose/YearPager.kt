@@ -0,0 +1,236 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.foundation.background
+import androidx.compose.foundation.clickable
+import androidx.compose.foundation.layout.Box
+import androidx.compose.foundation.layout.BoxWithConstraints
+import androidx.compose.foundation.layout.fillMaxWidth
+import androidx.compose.foundation.layout.height
+import androidx.compose.foundation.layout.padding
+import androidx.compose.foundation.layout.width
+import androidx.compose.foundation.lazy.LazyRow
+import androidx.compose.foundation.lazy.rememberLazyListState
+import androidx.compose.foundation.pager.HorizontalPager
+import androidx.compose.foundation.pager.PagerState
+import androidx.compose.foundation.pager.rememberPagerState
+import androidx.compose.foundation.text.BasicText
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.CompositionLocalProvider
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberCoroutineScope
+import androidx.compose.runtime.saveable.rememberSaveable
+import androidx.compose.runtime.snapshotFlow
+import androidx.compose.runtime.staticCompositionLocalOf
+import androidx.compose.ui.Alignment
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.semantics.Role
+import androidx.compose.ui.semantics.role
+import androidx.compose.ui.semantics.selected
+import androidx.compose.ui.semantics.semantics
+import androidx.compose.ui.text.TextMeasurer
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.text.rememberTextMeasurer
+import androidx.compose.ui.unit.Dp
+import androidx.compose.ui.unit.dp
+import androidx.compose.ui.unit.sp
+import kotlinx.coroutines.launch
+import org.joda.time.DateTime
+import kotlin.math.abs
+
+/**
+ * Virtual pages of a [YearPager], the initial year being shown on the middle one so that the
+ * years can be paged through in both directions without any practical bound.
+ */
+private const val PAGE_COUNT = Int.MAX_VALUE
+private const val ORIGIN_PAGE = PAGE_COUNT / 2
+
+/**
+ * Size of the cache of text layouts shared by the renderers of a [YearPager].
+ */
+private const val TEXT_LAYOUT_CACHE_SIZE = 64
+
+/**
+ * Renderers reused by the years of a [YearPager]. A year leaving the pager hands its renderer
+ * over, with its text layouts, shape paths and digit atlas, to the next year entering it. At most
+ * [capacity] idle renderers are kept, so that their number stays fixed however many years are
+ * visited.
+ *
+ * @param textMeasurer The text measurer shared by the renderers, along with its cache.
+ */
+internal class YearRendererPool(
+    private val capacity: Int,
+    private val textMeasurer: TextMeasurer
+) {
+    private val idle = ArrayDeque<YearRenderer>(capacity)
+
+    fun acquire(): YearRenderer = idle.removeLastOrNull() ?: YearRenderer(textMeasurer)
+
+    fun release(renderer: YearRenderer) {
+        if (idle.size < capacity) idle.addLast(renderer)
+    }
+}
+
+/**
+ * The renderers the [YearView]s of a [YearPager] draw with, null outside of a pager.
+ */
+internal val LocalYearRendererPool = staticCompositionLocalOf<YearRendererPool?> { null }
+
+/**
+ * State of a [YearPager] and of its [YearTabStrip], mapping their virtual pages to years.
+ */
+@Stable
+class YearPagerState internal constructor(
+    internal val pagerState: PagerState,
+    private val originYear: Int
+) {
+    /**
+     * The year of the page closest to the snapped position.
+     */
+    val currentYear: Int
+        get() = yearOf(pagerState.currentPage)
+
+    internal fun yearOf(page: Int): Int = originYear + page - ORIGIN_PAGE
+
+    internal fun pageOf(year: Int): Int = ORIGIN_PAGE + year - originYear
+
+    /**
+     * Shows a year right away.
+     */
+    suspend fun scrollToYear(year: Int) {
+        pagerState.scrollToPage(pageOf(year))
+    }
+
+    /**
+     * Pages to a year with an animation.
+     */
+    suspend fun animateScrollToYear(year: Int) {
+        pagerState.animateScrollToPage(pageOf(year))
+    }
+}
+
+/**
+ * Creates a [YearPagerState] which survives configuration changes.
+ *
+ * @param initialYear The year shown first, the current year by default.
+ */
+@Composable
+fun rememberYearPagerState(initialYear: Int = DateTime().year): YearPagerState {
+    val originYear = rememberSaveable { initialYear }
+    val pagerState = rememberPagerState(initialPage = ORIGIN_PAGE) { PAGE_COUNT }
+    return remember(pagerState, originYear) { YearPagerState(pagerState, originYear) }
+}
+
+/**
+ * Pages horizontally through years, without any bound on the range of years.
+ *
+ * Only the visible years and [beyondViewportPageCount] years on each side are composed. Their
+ * [YearView]s draw with a fixed number of renderers, handed over from the years leaving the pager
+ * to the ones entering it, so that paging keeps the memory flat and reuses the measured texts.
+ *
+ * @param state The state of the pager, to be shared with a [YearTabStrip].
+ * @param beyondViewportPageCount The number of years composed on each side of the visible ones.
+ * @param pageContent The content of the page of a year, usually a [YearView].
+ */
+@Composable
+fun YearPager(
+    modifier: Modifier = Modifier,
+    state: YearPagerState = rememberYearPagerState(),
+    beyondViewportPageCount: Int = 1,
+    pageContent: @Composable (year: Int) -> Unit
+) {
+    val textMeasurer = rememberTextMeasurer(cacheSize = TEXT_LAYOUT_CACHE_SIZE)
+    // The composed years and the one entering during a swipe
+    val rendererPool = remember(textMeasurer, beyondViewportPageCount) {
+        YearRendererPool(capacity = 2 * beyondViewportPageCount + 2, textMeasurer = textMeasurer)
+    }
+
+    CompositionLocalProvider(LocalYearRendererPool provides rendererPool) {
+        HorizontalPager(
+            state = state.pagerState,
+            modifier = modifier,
+            beyondViewportPageCount = beyondViewportPageCount,
+            key = { page -> state.yearOf(page) }
+        ) { page ->
+            pageContent(state.yearOf(page))
+        }
+    }
+}
+
+/**
+ * A strip of year tabs following a [YearPager], a tab paging to its year when clicked. The tabs
+ * are composed lazily, only the visible ones existing at any time.
+ *
+ * @param tabWidth The width of each tab, the current one being kept in the middle of the strip.
+ */
+@Composable
+fun YearTabStrip(
+    state: YearPagerState,
+    modifier: Modifier = Modifier,
+    tabWidth: Dp = 72.dp,
+    textStyle: TextStyle = TextStyle(color = Color.Gray, fontSize = 16.sp),
+    selectedTextStyle: TextStyle = TextStyle(
+        color = Color(0xFF1976D2),
+        fontSize = 16.sp,
+        fontWeight = FontWeight.Bold
+    ),
+    indicatorColor: Color = Color(0xFF1976D2)
+) {
+    val coroutineScope = rememberCoroutineScope()
+    BoxWithConstraints(modifier = modifier.fillMaxWidth()) {
+        val tabsBeforeCurrent = (maxWidth / tabWidth).toInt() / 2
+        val listState = rememberLazyListState(
+            initialFirstVisibleItemIndex = state.pagerState.currentPage - tabsBeforeCurrent
+        )
+
+        LaunchedEffect(state, tabsBeforeCurrent) {
+            snapshotFlow { state.pagerState.currentPage }.collect { page ->
+                val index = page - tabsBeforeCurrent
+                // Far jumps are not worth animating through every tab in between
+                if (abs(index - listState.firstVisibleItemIndex) > 2 * tabsBeforeCurrent + 1) {
+                    listState.scrollToItem(index)
+                } else {
+                    listState.animateScrollToItem(index)
+                }
+            }
+        }
+
+        LazyRow(state = listState) {
+            items(count = PAGE_COUNT) { page ->
+                val year = state.yearOf(page)
+                val isSelected = state.pagerState.currentPage == page
+                Box(
+                    modifier = Modifier
+                        .width(tabWidth)
+                        .semantics {
+                            role = Role.Tab
+                            selected = isSelected
+                        }
+                        .clickable {
+                            coroutineScope.launch { state.animateScrollToYear(year) }
+                        }
+                ) {
+                    BasicText(
+                        text = year.toString(),
+                        modifier = Modifier
+                            .align(Alignment.Center)
+                            .padding(vertical = 12.dp),
+                        style = if (isSelected) selectedTextStyle else textStyle
+                    )
+                    if (isSelected) {
+                        Box(
+                            modifier = Modifier
+                                .align(Alignment.BottomCenter)
+                                .fillMaxWidth()
+                                .height(2.dp)
+                                .background(indicatorColor)
+                        )
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.mamboa.yearview.compose
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.os.Looper
+import android.os.MessageQueue
+import androidx.compose.ui.geometry.Rect
+import androidx.compose.ui.graphics.ImageBitmap
+import androidx.compose.ui.graphics.asImageBitmap
+import com.mamboa.yearview.core.CalendarClock
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.withContext
+import java.io.File
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.util.Locale
+import kotlin.coroutines.resume
+
+/**
+ * A year as it was last rendered, restored from a [YearRenderCache].
+ *
+ * @param bitmap The rendered year.
+ * @param monthRects The blocks of the months the year was rendered with.
+ */
+class CachedYear internal constructor(
+    val bitmap: ImageBitmap,
+    val monthRects: List<MonthRect>
+)
+
+/**
+ * Disk cache of the last rendered bitmap of each year along with its layout, so that a [YearView]
+ * can show a year on its first frames, before fonts are loaded and texts are measured.
+ *
+ * An entry is keyed by a hash of the styling, the locale, the display density, the font scale
+ * and the current day, and by the size of the year: it is ignored and replaced as soon as any of
+ * them changes. Entries are read through a memory-mapped file and copied straight into a bitmap,
+ * without any image decoding, which is quick enough to be done before the first frame. The view
+ * shows an entry only while it has the size of the view.
+ *
+ * @param context The context used to resolve the display metrics and to render the entries.
+ * @param directory The directory the entries are stored in.
+ * @param dispatcher The dispatcher the entries are rendered and written on.
+ * @param clock The clock deciding which day is today.
+ */
+class YearRenderCache(
+    context: Context,
+    private val directory: File = File(context.cacheDir, "yearview"),
+    private val dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    clock: CalendarClock = CalendarClock.System
+) {
+    private val appContext = context.applicationContext
+    private val bitmapRenderer = YearBitmapRenderer(appContext, dispatcher, clock)
+
+    /**
+     * Loads the cached rendering of a year, if any matches the given keys. The entry is mapped
+     * and copied into a bitmap without decoding, so that a view loads it while it is composed
+     * for the first time.
+     *
+     * @return The cached year, at the size it was rendered at, or null when none was stored or
+     * when its keys changed.
+     */
+    fun load(year: Int, config: YearRenderConfig, locale: Locale): CachedYear? {
+        val file = fileOf(year)
+        if (!file.exists()) return null
+        return try {
+            RandomAccessFile(file, "r").use { randomAccessFile ->
+                val channel = randomAccessFile.channel
+                val buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION ||
+                    buffer.getLong() != keyOf(config, locale)
+                ) {
+                    return null
+                }
+
+                val bitmap = Bitmap.createBitmap(buffer.getInt(), buffer.getInt(), Bitmap.Config.ARGB_8888)
+                val monthRects = List(buffer.getInt()) { readMonthRect(buffer) }
+                bitmap.copyPixelsFromBuffer(buffer)
+                CachedYear(bitmap.asImageBitmap(), monthRects)
+            }
+        } catch (e: IOException) {
+            null
+        } catch (e: RuntimeException) {
+            // A truncated or corrupted entry
+            file.delete()
+            null
+        }
+    }
+
+    /**
+     * Renders a year and stores it, unless an entry matching the keys is already stored.
+     */
+    suspend fun store(year: Int, config: YearRenderConfig, locale: Locale, width: Int, height: Int) {
+        if (width <= 0 || height <= 0) return
+        withContext(dispatcher) {
+            val file = fileOf(year)
+            if (file.exists() && readKey(file) == KeyHeader(keyOf(config, locale), width, height)) {
+                return@withContext
+            }
+
+            val bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888)
+            val monthRects = bitmapRenderer.renderInto(bitmap, year, config)
+            write(file, keyOf(config, locale), bitmap, monthRects)
+            bitmap.recycle()
+        }
+    }
+
+    /**
+     * Deletes every stored entry.
+     */
+    fun clear() {
+        directory.listFiles()?.forEach { it.delete() }
+    }
+
+    private fun fileOf(year: Int) = File(directory, "year_$year.bin")
+
+    private fun keyOf(config: YearRenderConfig, locale: Locale): Long {
+        val resources = appContext.resources
+        val environmentHash = listOf(
+            locale.toLanguageTag(),
+            resources.displayMetrics.density,
+            resources.configuration.fontScale,
+            bitmapRenderer.today.epochDay
+        ).hashCode()
+        return (config.stableHash().toLong() shl 32) xor (environmentHash.toLong() and 0xFFFFFFFFL)
+    }
+
+    private fun readKey(file: File): KeyHeader? = try {
+        RandomAccessFile(file, "r").use {
+            if (it.readInt() != MAGIC || it.readInt() != VERSION) null
+            else KeyHeader(it.readLong(), it.readInt(), it.readInt())
+        }
+    } catch (e: IOException) {
+        null
+    }
+
+    private fun write(file: File, key: Long, bitmap: Bitmap, monthRects: List<MonthRect>) {
+        directory.mkdirs()
+        // Written aside first, so that a reader never maps a partially written entry
+        val tempFile = File(directory, "${file.name}.tmp")
+        val size = HEADER_SIZE + monthRects.size * MONTH_RECT_SIZE + bitmap.byteCount
+        try {
+            RandomAccessFile(tempFile, "rw").use { randomAccessFile ->
+                randomAccessFile.setLength(size.toLong())
+                val buffer = randomAccessFile.channel.map(FileChannel.MapMode.READ_WRITE, 0, size.toLong())
+                buffer.putInt(MAGIC)
+                buffer.putInt(VERSION)
+                buffer.putLong(key)
+                buffer.putInt(bitmap.width)
+                buffer.putInt(bitmap.height)
+                buffer.putInt(monthRects.size)
+                monthRects.forEach { writeMonthRect(buffer, it) }
+                bitmap.copyPixelsToBuffer(buffer)
+                buffer.force()
+            }
+            if (!tempFile.renameTo(file)) {
+                tempFile.delete()
+            }
+        } catch (e: IOException) {
+            tempFile.delete()
+        }
+    }
+
+    private fun writeMonthRect(buffer: ByteBuffer, monthRect: MonthRect) {
+        buffer.putInt(monthRect.month)
+        writeRect(buffer, monthRect.rect)
+        writeRect(buffer, monthRect.selectionRect)
+        buffer.putFloat(monthRect.lastRowY)
+        buffer.putFloat(monthRect.selectionMargin)
+    }
+
+    private fun readMonthRect(buffer: ByteBuffer): MonthRect {
+        val month = buffer.getInt()
+        return MonthRect(
+            month = month,
+            rect = readRect(buffer),
+            selectionRect = readRect(buffer),
+            lastRowY = buffer.getFloat(),
+            selectionMargin = buffer.getFloat()
+        )
+    }
+
+    private fun writeRect(buffer: ByteBuffer, rect: Rect) {
+        buffer.putFloat(rect.left)
+        buffer.putFloat(rect.top)
+        buffer.putFloat(rect.right)
+        buffer.putFloat(rect.bottom)
+    }
+
+    private fun readRect(buffer: ByteBuffer) =
+        Rect(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat())
+
+    private data class KeyHeader(val key: Long, val width: Int, val height: Int)
+
+    private companion object {
+        const val MAGIC = 0x59564331 // "YVC1"
+        const val VERSION = 3
+
+        // magic, version, key, width, height and the number of months
+        const val HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 4
+
+        // month, rect, selection rect, last row and selection margin
+        const val MONTH_RECT_SIZE = 4 + 16 + 16 + 4 + 4
+    }
+}
+
+/**
+ * Suspends until the main thread has no message left to handle, e.g. once the first frames of a
+ * cold start are drawn, so that an entry is rendered without delaying them.
+ */
+internal suspend fun awaitMainThreadIdle() {
+    val queue = Looper.getMainLooper().queue
+    suspendCancellableCoroutine { continuation ->
+        val idleHandler = MessageQueue.IdleHandler {
+            continuation.resume(Unit)
+            false
+        }
+        queue.addIdleHandler(idleHandler)
+        continuation.invokeOnCancellation { queue.removeIdleHandler(idleHandler) }
+    }
+}
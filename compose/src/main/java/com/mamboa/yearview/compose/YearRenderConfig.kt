@@ -0,0 +1,125 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.style.TextAlign
+import androidx.compose.ui.unit.Dp
+import androidx.compose.ui.unit.dp
+import androidx.compose.ui.unit.sp
+import com.mamboa.yearview.core.BackgroundItemStyle
+import com.mamboa.yearview.core.BackgroundShape
+import org.joda.time.DateTimeConstants
+import java.time.DayOfWeek
+
+/**
+ * Styling of a year, gathering the parameters of [YearView] which affect how a year is rendered.
+ * It is used to render years outside of a composition, see [YearBitmapRenderer].
+ */
+data class YearRenderConfig(
+    /**
+     * The number of rows of months.
+     */
+    val rows: Int = 4,
+
+    /**
+     * The number of columns of months.
+     */
+    val columns: Int = 3,
+
+    /**
+     * The vertical spacing between months.
+     */
+    val verticalSpacing: Dp = 8.dp,
+
+    /**
+     * The horizontal spacing between months.
+     */
+    val horizontalSpacing: Dp = 8.dp,
+
+    /**
+     * Configuration for the month display, including styles and background as defined by [MonthConfig].
+     */
+    val monthConfig: MonthConfig = MonthConfig(),
+
+    /**
+     * The first day of the week, where 1 = Monday, 2 = Tuesday, etc.
+     */
+    val firstDayOfWeek: Int = DayOfWeek.MONDAY.value,
+
+    /**
+     * Configuration for the display of today's date as defined by [DayConfig].
+     */
+    val todayConfig: DayConfig = DayConfig(),
+
+    /**
+     * Configuration for the display of the selected day as defined by [DayConfig].
+     */
+    val selectedDayConfig: DayConfig = DayConfig(
+        backgroundItemStyle = BackgroundItemStyle.ComposeStyle(
+            color = Color.Blue,
+            shape = BackgroundShape.Square
+        ),
+        textStyle = TextStyle(
+            color = Color.White,
+            fontSize = 10.sp,
+            textAlign = TextAlign.Center
+        )
+    ),
+
+    /**
+     * Whether the day names transcend weekends, meaning they are displayed with the day name
+     * style regardless of whether they fall on a weekend.
+     */
+    val dayNameTranscendsWeekend: Boolean = false,
+
+    /**
+     * Style for the text of a simple day (not selected, not today).
+     */
+    val simpleDayStyle: TextStyle = TextStyle(
+        color = Color.Black,
+        fontSize = 10.sp,
+        textAlign = TextAlign.Center
+    ),
+
+    /**
+     * Style for the text of a weekend day.
+     */
+    val weekendDayStyle: TextStyle = TextStyle(
+        color = Color.Gray,
+        fontSize = 10.sp,
+        textAlign = TextAlign.Center
+    ),
+
+    /**
+     * Style for the text of the day names.
+     */
+    val dayNameStyle: TextStyle = TextStyle(
+        color = Color.Black,
+        fontSize = 10.sp,
+        textAlign = TextAlign.Center
+    ),
+
+    /**
+     * Format of the day strings, defaults to "yyyy-MM-dd".
+     */
+    val dayFormat: String = "yyyy-MM-dd",
+
+    /**
+     * Set of weekend days, where 1 = Monday, 2 = Tuesday, etc.
+     */
+    val weekendDays: Set<Int> = setOf(DateTimeConstants.SATURDAY, DateTimeConstants.SUNDAY),
+
+    /**
+     * Style for the background of the days of the selected range.
+     */
+    val multiSelectionBackgroundItemStyle: BackgroundItemStyle.ComposeStyle = BackgroundItemStyle.ComposeStyle(
+        color = Color.Cyan.copy(alpha = 0.3f),
+        shape = BackgroundShape.Square,
+        selectionMargin = 5.0f
+    ),
+
+    /**
+     * Level of detail used to draw the days, selected from the size of the day cells when null.
+     */
+    val detailLevel: DetailLevel? = null
+)
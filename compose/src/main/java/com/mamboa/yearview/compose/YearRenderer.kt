@@ -0,0 +1,553 @@
+package com.mamboa.yearview.compose
+
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.geometry.Rect
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.graphics.drawscope.DrawScope
+import androidx.compose.ui.graphics.painter.Painter
+import androidx.compose.ui.text.TextLayoutResult
+import androidx.compose.ui.text.TextMeasurer
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.drawText
+import androidx.compose.ui.unit.dp
+import com.mamboa.yearview.core.BackgroundItemStyle
+import com.mamboa.yearview.core.BackgroundShape
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.CalendarNames
+import com.mamboa.yearview.core.ImageSource
+import com.mamboa.yearview.core.layout.YearLayout
+import com.mamboa.yearview.core.layout.YearLayoutSpec
+import org.joda.time.format.DateTimeFormat
+import org.joda.time.format.DateTimeFormatter
+import java.util.Locale
+
+internal const val NUM_MONTHS = 12
+internal const val DAYS_IN_WEEK = 7
+
+/**
+ * Padding added around the text of a day to build its touch area and its background.
+ */
+internal const val DAY_TOUCH_PADDING = 4f
+
+/**
+ * Size of the dot drawn for a day at [DetailLevel.DOTS], relative to the size of its cell.
+ */
+private const val DOT_SIZE_RATIO = 0.6f
+
+/**
+ * Epoch day standing for no day at all.
+ */
+private const val NO_DAY = Int.MIN_VALUE
+
+/**
+ * Painters of the background images of a year, if any.
+ */
+internal data class BackgroundPainters(
+    val month: Painter? = null,
+    val today: Painter? = null,
+    val selectedDay: Painter? = null,
+    val multiSelection: Painter? = null,
+    val monthSelection: Painter? = null
+)
+
+/**
+ * Draws a year in any [DrawScope], be it the canvas of a [YearView] or an offscreen bitmap.
+ *
+ * A renderer keeps the buffers and the text resources it needs from a frame to another, the
+ * resources derived from a [YearRenderConfig] are only rebuilt when the configuration changes.
+ * A renderer is not thread safe, it must only be used by one thread at a time.
+ *
+ * @param textMeasurer The measurer of the texts, whose cache is reused across frames.
+ */
+internal class YearRenderer(private val textMeasurer: TextMeasurer) {
+    private val counter = DrawCallCounter()
+    private val batch = BackgroundBatch(counter)
+
+    // Per-frame month geometry, shared by the background and the content drawing passes. The
+    // blocks are the ones given to draw, the months being laid out in them by the shared engine.
+    private val layout = YearLayout()
+    private var spec = YearLayoutSpec()
+    private val monthNameLayouts = arrayOfNulls<TextLayoutResult>(NUM_MONTHS)
+
+    // Resources derived from the configuration
+    private var config = YearRenderConfig()
+    private var locale: Locale? = null
+    private lateinit var dayFormatter: DateTimeFormatter
+    private lateinit var names: CalendarNames
+    private lateinit var dayNames: List<Triple<String, TextStyle, TextLayoutResult>>
+    private lateinit var digitAtlas: DigitAtlas
+    private lateinit var simpleDayDotStyle: BackgroundItemStyle.ComposeStyle
+    private lateinit var weekendDayDotStyle: BackgroundItemStyle.ComposeStyle
+
+    // State of the frame being drawn
+    private var year = 0
+    private var painters = BackgroundPainters()
+    private var selectedDay: String? = null
+    private var selectedEpochDay = NO_DAY
+    private var selectedRange: IntRange? = null
+    private var todayEpochDay = NO_DAY
+
+    /**
+     * Draws a year.
+     *
+     * @param scope The scope to draw the year in.
+     * @param year The year to draw.
+     * @param config The styling of the year.
+     * @param locale The locale of the month and day names.
+     * @param todayEpochDay The epoch day of today, see [CalendarMath].
+     * @param monthRects The blocks of the months, as computed by [calculateMonthBlocks].
+     * @param painters The painters of the background images.
+     * @param selectedDay The selected day, in the format defined by [YearRenderConfig.dayFormat].
+     * @param selectedRange The epoch days of the selected range, if any.
+     * @param selectedMonth The index of the selected month, -1 if none.
+     * @param isInMotion Whether the view is moving, to draw it with less details.
+     * @param month The index of the only month to draw, or -1 to draw every month.
+     * @return The number of draw calls issued.
+     */
+    fun draw(
+        scope: DrawScope,
+        year: Int,
+        config: YearRenderConfig,
+        locale: Locale,
+        todayEpochDay: Int,
+        monthRects: List<MonthRect>,
+        painters: BackgroundPainters = BackgroundPainters(),
+        selectedDay: String = "",
+        selectedRange: IntRange? = null,
+        selectedMonth: Int = -1,
+        isInMotion: Boolean = false,
+        month: Int = -1
+    ): Int {
+        return with(scope) {
+            prepare(config, locale)
+            this@YearRenderer.year = year
+            this@YearRenderer.painters = painters
+            updateSelectedDay(selectedDay)
+            this@YearRenderer.selectedRange = selectedRange
+            this@YearRenderer.todayEpochDay = todayEpochDay
+            val today = CalendarMath.toDate(todayEpochDay)
+
+            counter.reset()
+            batch.begin()
+            if (monthRects.isEmpty()) return counter.count
+
+            val canvasWidth = size.width
+            val canvasHeight = size.height
+            val monthConfig = config.monthConfig
+            val marginBelowMonthNamePx = monthConfig.marginBelowMonthName.toPx()
+            updateSpec(marginBelowMonthNamePx, monthRects[0].selectionMargin)
+            layout.setYear(year, config.firstDayOfWeek)
+            val firstMonthRect = monthRects[0].rect
+            val detailLevel = config.detailLevel ?: DetailLevel.select(
+                cellSize = minOf(
+                    firstMonthRect.width / DAYS_IN_WEEK,
+                    firstMonthRect.height / (DAYS_IN_WEEK + 1)
+                ),
+                textHeight = digitAtlas.height,
+                isInMotion = isInMotion
+            )
+
+            // First pass: the backgrounds of every visible month are gathered and drawn with one
+            // draw call per style, so that the texts can be drawn on top of them.
+            for (i in 0 until NUM_MONTHS) {
+                val monthRect = monthRects[i]
+                // Check if the month is within the visible canvas bounds
+                if (!monthRect.isVisible(canvasWidth, canvasHeight) || (month >= 0 && i != month)) {
+                    monthNameLayouts[i] = null
+                    continue
+                }
+
+                val isCurrentMonth = year == CalendarMath.unpackYear(today) &&
+                        i + 1 == CalendarMath.unpackMonth(today)
+                val monthNameLayout = textMeasurer.measure(
+                    text = names.monthName(i + 1),
+                    style = if (isCurrentMonth) monthConfig.todayNameStyle else monthConfig.nameStyle
+                )
+                monthNameLayouts[i] = monthNameLayout
+                with(monthRect.rect) { layout.setMonthBlock(i, left, top, right, bottom) }
+                layout.layoutMonth(
+                    i,
+                    spec,
+                    monthNameLayout.size.width.toFloat(),
+                    monthNameLayout.size.height.toFloat()
+                )
+
+                drawMonthBackgrounds(monthRect, i, detailLevel)
+            }
+            batch.flush(this)
+
+            // Second pass: month names, day names and day numbers
+            for (i in 0 until NUM_MONTHS) {
+                val monthRect = monthRects[i]
+                val monthNameLayout = monthNameLayouts[i]
+                if (!monthRect.isVisible(canvasWidth, canvasHeight) || monthNameLayout == null) continue
+
+                monthRect.lastRowY = drawMonthContent(i, monthNameLayout, detailLevel)
+            }
+
+            counter.count +
+                    drawMonthSelection(this, monthConfig, monthRects, selectedMonth, painters.monthSelection)
+        }
+    }
+
+    /**
+     * Draws the highlight of the selected month, on top of the drawn months.
+     *
+     * @return The number of draw calls issued.
+     */
+    fun drawMonthSelection(
+        scope: DrawScope,
+        monthConfig: MonthConfig,
+        monthRects: List<MonthRect>,
+        selectedMonth: Int,
+        painter: Painter?
+    ): Int {
+        if (selectedMonth < 0 || selectedMonth >= monthRects.size) return 0
+        return with(scope) {
+            val monthRect = monthRects[selectedMonth]
+            val selectionRect = Rect(
+                monthRect.selectionRect.left,
+                monthRect.selectionRect.top,
+                monthRect.selectionRect.right,
+                monthRect.lastRowY + monthConfig.selectionBackgroundItemStyle.selectionMargin.dp.toPx()
+            )
+
+            // Only draw selection if it's within visible bounds
+            if (selectionRect.bottom > 0 && selectionRect.top < size.height &&
+                selectionRect.right > 0 && selectionRect.left < size.width
+            ) {
+                drawStyledBackground(selectionRect, monthConfig.selectionBackgroundItemStyle, painter)
+                1
+            } else {
+                0
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the resources derived from the configuration and the locale if they changed.
+     */
+    private fun prepare(config: YearRenderConfig, locale: Locale) {
+        if (this.locale != null && config == this.config && locale == this.locale) return
+        this.config = config
+        this.locale = locale
+
+        dayFormatter = DateTimeFormat.forPattern(config.dayFormat).withLocale(locale)
+        selectedDay = null
+        names = CalendarNames.of(locale, config.monthConfig.nameFormat)
+
+        // Cache day name measurements
+        val dayNameLayouts = mutableListOf<Triple<String, TextStyle, TextLayoutResult>>()
+        for (i in 0 until DAYS_IN_WEEK) {
+            val dayOfWeek = getDayIndex(i, config.firstDayOfWeek)
+            val dayName = names.weekdayInitial(dayOfWeek)
+            val style = if (config.weekendDays.contains(dayOfWeek) &&
+                !config.dayNameTranscendsWeekend
+            )
+                config.weekendDayStyle else config.dayNameStyle
+            val layout = textMeasurer.measure(text = dayName, style = style)
+            dayNameLayouts.add(Triple(dayName, style, layout))
+        }
+        dayNames = dayNameLayouts
+
+        // Resources of the lower levels of detail. The level is selected while drawing and
+        // relies on the same layout as the full level, so switching levels never measures again.
+        digitAtlas = DigitAtlas(textMeasurer, config.simpleDayStyle)
+        simpleDayDotStyle = BackgroundItemStyle.ComposeStyle(
+            color = config.simpleDayStyle.color,
+            shape = BackgroundShape.Circle(0f)
+        )
+        weekendDayDotStyle = BackgroundItemStyle.ComposeStyle(
+            color = config.weekendDayStyle.color,
+            shape = BackgroundShape.Circle(0f)
+        )
+    }
+
+    /**
+     * Rebuilds the layout specification when the configuration or the density changed. The month
+     * blocks being given to [draw], only what places the contents of a month matters.
+     */
+    private fun updateSpec(marginBelowMonthName: Float, monthSelectionMargin: Float) {
+        if (spec.marginBelowMonthName == marginBelowMonthName &&
+            spec.monthSelectionMargin == monthSelectionMargin &&
+            spec.titleGravity == config.monthConfig.titleGravity &&
+            spec.firstDayOfWeek == config.firstDayOfWeek
+        ) return
+        spec = YearLayoutSpec(
+            marginBelowMonthName = marginBelowMonthName,
+            monthSelectionMargin = monthSelectionMargin,
+            titleGravity = config.monthConfig.titleGravity,
+            firstDayOfWeek = config.firstDayOfWeek,
+            dayTouchPadding = DAY_TOUCH_PADDING
+        )
+    }
+
+    /**
+     * Converts the selected day to an epoch day, parsing it only when it changes.
+     */
+    private fun updateSelectedDay(selectedDay: String) {
+        if (selectedDay == this.selectedDay) return
+        this.selectedDay = selectedDay
+        selectedEpochDay = parseEpochDay(dayFormatter, selectedDay) ?: NO_DAY
+    }
+
+    private fun epochDayOf(month: Int, day: Int): Int = layout.monthStartEpochDay(month) + day - 1
+
+    private fun isToday(month: Int, day: Int): Boolean = epochDayOf(month, day) == todayEpochDay
+
+    private fun isWeekend(month: Int, day: Int): Boolean {
+        return config.weekendDays.contains(CalendarMath.dayOfWeek(epochDayOf(month, day)))
+    }
+
+    private fun isSelectedDay(month: Int, day: Int): Boolean {
+        return selectedEpochDay != NO_DAY && epochDayOf(month, day) == selectedEpochDay
+    }
+
+    private fun isInRange(month: Int, day: Int): Boolean {
+        val range = selectedRange ?: return false
+        return epochDayOf(month, day) in range
+    }
+
+    /**
+     * Adds the background of a month and the backgrounds of its highlighted days (today, selected
+     * day and days of the selected range) to the batch. At [DetailLevel.DOTS], every day is added
+     * as a dot.
+     */
+    private fun DrawScope.drawMonthBackgrounds(
+        monthRect: MonthRect,
+        month: Int,
+        detailLevel: DetailLevel
+    ) {
+        // Draw month background if provided and not transparent
+        val monthBackgroundItemStyle = config.monthConfig.backgroundItemStyle
+        if (monthBackgroundItemStyle.color != Color.Transparent || monthBackgroundItemStyle.image != ImageSource.None) {
+            val bounds = Rect(
+                left = monthRect.rect.left - monthBackgroundItemStyle.selectionMargin,
+                top = monthRect.rect.top - monthBackgroundItemStyle.selectionMargin,
+                right = monthRect.rect.right + monthBackgroundItemStyle.selectionMargin,
+                bottom = monthRect.rect.bottom + monthBackgroundItemStyle.selectionMargin
+            )
+            batch.add(this, bounds, monthBackgroundItemStyle, painters.month)
+        }
+
+        val todayBackgroundItemStyle = config.todayConfig.backgroundItemStyle
+        val selectedDayBackgroundItemStyle = config.selectedDayConfig.backgroundItemStyle
+        val multiSelectionBackgroundItemStyle = config.multiSelectionBackgroundItemStyle
+        val dotSize = minOf(layout.cellWidth(month), layout.cellHeight(month)) * DOT_SIZE_RATIO
+
+        for (dayOfMonth in 1..layout.monthLength(month)) {
+            val isCurrentDaySelected = isSelectedDay(month, dayOfMonth)
+            val isCurrentDayToday = !isCurrentDaySelected && isToday(month, dayOfMonth)
+            val isCurrentDayInRange = isInRange(month, dayOfMonth)
+            if (detailLevel != DetailLevel.DOTS &&
+                !isCurrentDaySelected && !isCurrentDayToday && !isCurrentDayInRange
+            ) continue
+
+            val xValue = layout.dayCenterX(month, dayOfMonth)
+            val yValue = layout.dayCenterY(month, dayOfMonth)
+
+            if (detailLevel == DetailLevel.DOTS) {
+                // The highlighted days keep their background style, shrunk to a dot
+                val dotStyle = when {
+                    isCurrentDaySelected -> selectedDayBackgroundItemStyle
+                    isCurrentDayToday -> todayBackgroundItemStyle
+                    isCurrentDayInRange -> multiSelectionBackgroundItemStyle
+                    isWeekend(month, dayOfMonth) -> weekendDayDotStyle
+                    else -> simpleDayDotStyle
+                }
+                batch.add(this, centeredSquare(xValue, yValue, dotSize), dotStyle, null)
+                continue
+            }
+
+            val dayTextLayout = textMeasurer.measure(
+                text = dayOfMonth.toString(),
+                style = config.simpleDayStyle
+            )
+            val textSize = maxOf(dayTextLayout.size.width, dayTextLayout.size.height).toFloat()
+
+            if (isCurrentDaySelected || isCurrentDayToday) {
+                val backgroundStyle =
+                    if (isCurrentDaySelected) selectedDayBackgroundItemStyle else todayBackgroundItemStyle
+                if (backgroundStyle.color != Color.Transparent) {
+                    batch.add(
+                        this,
+                        centeredSquare(xValue, yValue, textSize + DAY_TOUCH_PADDING),
+                        backgroundStyle,
+                        if (isCurrentDaySelected) painters.selectedDay else painters.today
+                    )
+                }
+            }
+            // Draw multi-selection background if the day is in range
+            if (isCurrentDayInRange) {
+                batch.add(
+                    this,
+                    centeredSquare(xValue, yValue, textSize + DAY_TOUCH_PADDING * 2),
+                    multiSelectionBackgroundItemStyle,
+                    painters.multiSelection
+                )
+            }
+        }
+    }
+
+    /**
+     * Draws the name, the day names and the day numbers of a month. The backgrounds are expected
+     * to be already drawn by [drawMonthBackgrounds].
+     *
+     * @param monthNameLayout The measured name of the month, in the style matching the month.
+     * @return The bottom of the last row of days.
+     */
+    private fun DrawScope.drawMonthContent(
+        month: Int,
+        monthNameLayout: TextLayoutResult,
+        detailLevel: DetailLevel
+    ): Float {
+        drawText(
+            textLayoutResult = monthNameLayout,
+            topLeft = Offset(layout.titleLeft(month), layout.monthTop(month))
+        )
+        counter.record()
+
+        val daysInMonth = layout.monthLength(month)
+        var lastRowY = 0f
+
+        // Start from 1 - firstDay to account for first day offset
+        var dayOfMonth = 1 - layout.firstDayOffset(month)
+
+        for (y in 0 until YearLayout.ROWS_PER_MONTH) {
+            for (x in 0 until DAYS_IN_WEEK) {
+                val xValue = layout.columnCenterX(month, x)
+                val yValue = layout.rowCenterY(month, y)
+
+                // Draw day titles (first row), only at the full level of detail
+                if (y == 0) {
+                    if (detailLevel == DetailLevel.FULL) {
+                        drawDayName(dayNames[x], xValue, yValue)
+                        counter.record()
+                    }
+                    continue
+                }
+
+                // Draw day numbers
+                if (dayOfMonth in 1..daysInMonth) {
+                    when (detailLevel) {
+                        DetailLevel.FULL -> {
+                            lastRowY = drawDayNumber(month, dayOfMonth, xValue, yValue)
+                            counter.record()
+                        }
+
+                        DetailLevel.SIMPLIFIED -> {
+                            counter.record(
+                                digitAtlas.drawNumber(
+                                    this,
+                                    dayOfMonth,
+                                    xValue,
+                                    yValue,
+                                    dayTextColor(month, dayOfMonth)
+                                )
+                            )
+                            lastRowY = yValue + digitAtlas.height / 2
+                        }
+
+                        // Days are drawn as dots along with the backgrounds
+                        DetailLevel.DOTS -> lastRowY = yValue + digitAtlas.height / 2
+                    }
+                }
+                dayOfMonth++
+            }
+        }
+
+        return lastRowY
+    }
+
+    private fun dayTextColor(month: Int, dayOfMonth: Int): Color = when {
+        isSelectedDay(month, dayOfMonth) -> config.selectedDayConfig.textStyle.color
+        isToday(month, dayOfMonth) -> config.todayConfig.textStyle.color
+        isWeekend(month, dayOfMonth) -> config.weekendDayStyle.color
+        else -> config.simpleDayStyle.color
+    }
+
+    private fun DrawScope.drawDayName(
+        dayName: Triple<String, TextStyle, TextLayoutResult>,
+        xValue: Float,
+        yValue: Float
+    ) {
+        val dayNameLayout = dayName.third
+        drawText(
+            textLayoutResult = dayNameLayout,
+            topLeft = Offset(
+                xValue - dayNameLayout.size.width / 2,
+                yValue - dayNameLayout.size.height / 2
+            )
+        )
+    }
+
+    /**
+     * Draws the number of a day centered on the given position.
+     *
+     * @return The bottom of the drawn text.
+     */
+    private fun DrawScope.drawDayNumber(
+        month: Int,
+        dayOfMonth: Int,
+        xValue: Float,
+        yValue: Float
+    ): Float {
+        val dayTextLayout = textMeasurer.measure(
+            text = dayOfMonth.toString(),
+            style = config.simpleDayStyle
+        )
+
+        val textWidth = dayTextLayout.size.width.toFloat()
+        val textHeight = dayTextLayout.size.height.toFloat()
+
+        // Draw the day text, centered properly
+        drawText(
+            textLayoutResult = dayTextLayout,
+            topLeft = Offset(
+                x = xValue - textWidth / 2,
+                y = yValue - textHeight / 2
+            ),
+            color = dayTextColor(month, dayOfMonth)
+        )
+
+        return yValue + textHeight / 2
+    }
+}
+
+/**
+ * Checks whether the month block intersects the canvas of the given size.
+ */
+private fun MonthRect.isVisible(canvasWidth: Float, canvasHeight: Float): Boolean {
+    return rect.bottom > 0 && rect.top < canvasHeight && rect.right > 0 && rect.left < canvasWidth
+}
+
+/**
+ * Builds a square of the given size centered on the given position.
+ */
+private fun centeredSquare(centerX: Float, centerY: Float, size: Float): Rect {
+    return Rect(
+        left = centerX - size / 2,
+        top = centerY - size / 2,
+        right = centerX + size / 2,
+        bottom = centerY + size / 2
+    )
+}
+
+/**
+ * Parses a day in the given format to an epoch day.
+ *
+ * @return The epoch day, or null when the day is empty or malformed.
+ */
+internal fun parseEpochDay(formatter: DateTimeFormatter, day: String): Int? {
+    if (day.isEmpty()) return null
+    return try {
+        val date = formatter.parseLocalDate(day)
+        CalendarMath.epochDay(date.year, date.monthOfYear, date.dayOfMonth)
+    } catch (e: IllegalArgumentException) {
+        null
+    }
+}
+
+internal fun getDayIndex(position: Int, firstDayOfWeek: Int): Int {
+    return ((firstDayOfWeek - 1 + position) % 7) + 1
+}
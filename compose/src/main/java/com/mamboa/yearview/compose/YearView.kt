@@ -1,21 +1,26 @@
 package com.mamboa.yearview.compose
 
-import android.annotation.SuppressLint
 import android.content.res.Configuration
 import androidx.compose.foundation.Canvas
 import androidx.compose.foundation.background
+import androidx.compose.foundation.focusable
 import androidx.compose.foundation.gestures.detectTapGestures
 import androidx.compose.foundation.layout.Box
 import androidx.compose.foundation.layout.fillMaxSize
 import androidx.compose.foundation.layout.padding
 import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.derivedStateOf
 import androidx.compose.runtime.getValue
 import androidx.compose.runtime.mutableIntStateOf
 import androidx.compose.runtime.mutableStateOf
 import androidx.compose.runtime.remember
 import androidx.compose.runtime.rememberCoroutineScope
 import androidx.compose.runtime.setValue
+import androidx.compose.runtime.withFrameNanos
 import androidx.compose.ui.Modifier
+import androidx.compose.ui.focus.onFocusChanged
 import androidx.compose.ui.geometry.CornerRadius
 import androidx.compose.ui.geometry.Offset
 import androidx.compose.ui.geometry.Rect
@@ -26,21 +31,25 @@ import androidx.compose.ui.graphics.Matrix
 import androidx.compose.ui.graphics.Path
 import androidx.compose.ui.graphics.drawscope.DrawScope
 import androidx.compose.ui.graphics.drawscope.Fill
+import androidx.compose.ui.graphics.drawscope.Stroke
 import androidx.compose.ui.graphics.drawscope.clipPath
 import androidx.compose.ui.graphics.drawscope.translate
 import androidx.compose.ui.graphics.drawscope.withTransform
 import androidx.compose.ui.graphics.painter.BitmapPainter
 import androidx.compose.ui.graphics.painter.Painter
+import androidx.compose.ui.input.key.KeyEvent
+import androidx.compose.ui.input.key.KeyEventType
+import androidx.compose.ui.input.key.onKeyEvent
+import androidx.compose.ui.input.key.type
 import androidx.compose.ui.input.pointer.pointerInput
 import androidx.compose.ui.platform.LocalConfiguration
+import androidx.compose.ui.platform.LocalContext
 import androidx.compose.ui.platform.LocalDensity
+import androidx.compose.ui.platform.LocalGraphicsContext
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.semantics.contentDescription
 import androidx.compose.ui.semantics.semantics
-import androidx.compose.ui.text.TextLayoutResult
-import androidx.compose.ui.text.TextMeasurer
 import androidx.compose.ui.text.TextStyle
-import androidx.compose.ui.text.drawText
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.text.rememberTextMeasurer
 import androidx.compose.ui.text.style.TextAlign
@@ -50,10 +59,16 @@ import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import com.mamboa.yearview.core.BackgroundItemStyle
 import com.mamboa.yearview.core.BackgroundShape
+import com.mamboa.yearview.core.CalendarClock
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.CalendarNames
+import com.mamboa.yearview.core.DayChangeMonitor
 import com.mamboa.yearview.core.ImageSource
 import com.mamboa.yearview.core.MergeType
 import com.mamboa.yearview.core.TitleGravity
-import kotlinx.coroutines.delay
+import com.mamboa.yearview.core.TodayTracker
+import com.mamboa.yearview.core.layout.YearLayout
+import com.mamboa.yearview.core.layout.YearLayoutSpec
 import kotlinx.coroutines.launch
 import org.joda.time.DateTime
 import org.joda.time.DateTimeConstants
@@ -61,6 +76,17 @@ import org.joda.time.LocalDate
 import org.joda.time.format.DateTimeFormat
 import java.time.DayOfWeek
 
+/**
+ * The number of months whose live layers are recorded per frame behind the cached year.
+ */
+private const val MONTHS_RECORDED_PER_FRAME = 3
+
+/**
+ * Width and corner radius of the outline of the focused day, in dp.
+ */
+private const val FOCUS_INDICATOR_WIDTH = 2f
+private const val FOCUS_INDICATOR_CORNER_RADIUS = 4f
+
 /**
  * A preview composable to test the YearView
  */
@@ -263,7 +289,45 @@ fun YearView(
      * Callback invoked when a range of days is selected.
      * The parameters are the start and end timestamps of the selected range.
      */
-    onRangeSelected: (Long, Long) -> Unit = { _, _ -> }
+    onRangeSelected: (Long, Long) -> Unit = { _, _ -> },
+    /**
+     * Callback invoked after each drawn frame with the number of draw calls the frame issued.
+     */
+    onFrameDrawn: (Int) -> Unit = {},
+    /**
+     * Level of detail used to draw the days, selected from the size of the day cells when null.
+     */
+    detailLevel: DetailLevel? = null,
+    /**
+     * Whether the view is moving (e.g. while a pager is flung), to draw it with less details.
+     * It is only read while drawing, so changing it never triggers a recomposition.
+     */
+    isInMotion: () -> Boolean = { false },
+    /**
+     * Disk cache the year is shown from until the live year is recorded, read before the first
+     * frame. The cache is brought up to date in the background once the year is on screen and
+     * the main thread idle.
+     */
+    renderCache: YearRenderCache? = null,
+    /**
+     * The clock deciding which day is today. The view follows day changes, at midnight and when
+     * the time or the time zone of the device changes.
+     */
+    clock: CalendarClock = CalendarClock.System,
+    /**
+     * Color of the outline of the day focused with a keyboard or a D-pad.
+     */
+    focusIndicatorColor: Color = Color(0xFF1976D2),
+    /**
+     * Callback invoked with the year the focused day moves to when it leaves the displayed year.
+     * When null, the focused day stays within the displayed year.
+     */
+    onFocusedYearChange: ((Int) -> Unit)? = null,
+    /**
+     * Whether clicking a month zooms into it, showing it alone in the whole view. Any click on
+     * the zoomed month zooms back out to the year.
+     */
+    zoomOnMonthClick: Boolean = false
 ) {
     val density = LocalDensity.current
     val configuration = LocalConfiguration.current
@@ -278,13 +342,10 @@ fun YearView(
         with(density) { monthConfig.selectionBackgroundItemStyle.selectionMargin.dp.toPx() }
 
     // State
-    var selectedMonthId by remember { mutableIntStateOf(-1) }
     var selectedDay by remember { mutableStateOf(arbitrarySelectedDay) }
     var rangeStart by remember { mutableStateOf<String?>(null) }
     var rangeEnd by remember { mutableStateOf<String?>(null) }
     var monthRects by remember { mutableStateOf<List<MonthRect>>(emptyList()) }
-    var dayRects by remember { mutableStateOf<List<DayRect>>(emptyList()) }
-    var lastRowYValues by remember { mutableStateOf(FloatArray(12)) }
 
     // Load painters for background images if available - using a different approach to avoid composable in remember calculation
     val monthBackgroundPainter: Painter? =
@@ -300,72 +361,185 @@ fun YearView(
 
     // Constants
     val numMonths = 12
-    val numDays = 7
-    val dayFormatter = remember {
-        DateTimeFormat.forPattern(dayFormat).withLocale(configuration.locales[0])
+    val locale = configuration.locales[0]
+    val dayFormatter = remember(dayFormat, locale) {
+        DateTimeFormat.forPattern(dayFormat).withLocale(locale)
     }
-    val monthFormatter = remember {
-        DateTimeFormat.forPattern(monthConfig.nameFormat).withLocale(configuration.locales[0])
+    // Names shared with every other year of the process, dropped on configuration change
+    val context = LocalContext.current
+    val names = remember(locale, monthConfig.nameFormat) {
+        CalendarNames.registerConfigurationCallbacks(context)
+        CalendarNames.of(locale, monthConfig.nameFormat)
     }
 
-    // Pre-allocate storage for day positions to minimize object creation
-    val maxDaysPerMonth = 31
-    val dayPositions = remember(rows, columns) {
-        Array(numMonths) { Array(maxDaysPerMonth + numDays) { FloatArray(2) } }
+    // Styling of the year, handed over to the renderer which rebuilds its resources on change
+    val renderConfig = remember(
+        rows, columns, verticalSpacing, horizontalSpacing, monthConfig, firstDayOfWeek,
+        todayConfig, selectedDayConfig, dayNameTranscendsWeekend, simpleDayStyle,
+        weekendDayStyle, dayNameStyle, dayFormat, weekendDays,
+        multiSelectionBackgroundItemStyle, detailLevel
+    ) {
+        YearRenderConfig(
+            rows = rows,
+            columns = columns,
+            verticalSpacing = verticalSpacing,
+            horizontalSpacing = horizontalSpacing,
+            monthConfig = monthConfig,
+            firstDayOfWeek = firstDayOfWeek,
+            todayConfig = todayConfig,
+            selectedDayConfig = selectedDayConfig,
+            dayNameTranscendsWeekend = dayNameTranscendsWeekend,
+            simpleDayStyle = simpleDayStyle,
+            weekendDayStyle = weekendDayStyle,
+            dayNameStyle = dayNameStyle,
+            dayFormat = dayFormat,
+            weekendDays = weekendDays,
+            multiSelectionBackgroundItemStyle = multiSelectionBackgroundItemStyle,
+            detailLevel = detailLevel
+        )
     }
-    val dayTouchRects = remember(rows, columns) {
-        Array(numMonths) { Array(maxDaysPerMonth) { Rect(0f, 0f, 0f, 0f) } }
+    // Inside a YearPager, the renderer and its caches are handed over from page to page
+    val rendererPool = LocalYearRendererPool.current
+    val yearRenderer = remember(textMeasurer, rendererPool) {
+        rendererPool?.acquire() ?: YearRenderer(textMeasurer)
     }
+    DisposableEffect(yearRenderer) {
+        onDispose { rendererPool?.release(yearRenderer) }
+    }
+    val backgroundPainters = BackgroundPainters(
+        month = monthBackgroundPainter,
+        today = todayBackgroundPainter,
+        selectedDay = selectedDayBackgroundPainter,
+        multiSelection = multiSelectionBackgroundPainter,
+        monthSelection = monthSelectionBackgroundPainter
+    )
 
-    // Cache day name measurements
-    val dayNames =
-        remember(
-            dayNameStyle,
-            weekendDayStyle,
-            dayNameTranscendsWeekend,
-            firstDayOfWeek,
-            weekendDays
-        ) {
-            val names =
-                mutableListOf<Triple<String, TextStyle, TextLayoutResult>>()
-            for (i in 0 until numDays) {
-                val dayOfWeek = getDayIndex(i, firstDayOfWeek)
-                val dateTime = DateTime().withYear(year).withDayOfWeek(dayOfWeek)
-                val dayName = dateTime.dayOfWeek().asShortText.substring(0, 1)
-                val style = if (weekendDays.contains(dateTime.dayOfWeek().get()) &&
-                    !dayNameTranscendsWeekend
-                )
-                    weekendDayStyle else dayNameStyle
-                val layout = textMeasurer.measure(text = dayName, style = style)
-                names.add(Triple(dayName, style, layout))
-            }
-            names
+    // Today, only read while drawing so that a day change redraws without recomposing
+    val todayTracker = remember(clock) { TodayTracker(clock) }
+    val todayEpochDay = remember(todayTracker) { mutableIntStateOf(todayTracker.epochDay) }
+    DisposableEffect(todayTracker) {
+        val monitor = DayChangeMonitor(context, todayTracker) { _, epochDay ->
+            todayEpochDay.intValue = epochDay
         }
+        monitor.start()
+        onDispose { monitor.stop() }
+    }
 
-    // Helper function to detect if a day is today
-    val isToday = { month: Int, day: Int ->
-        val dateTime = DateTime().withYear(year).withMonthOfYear(month + 1).withDayOfMonth(day)
-        dateTime.toLocalDate() == LocalDate()
+    // The month of today sets the style of its title, on which the layout of its days depends
+    val currentMonth by remember(todayEpochDay) {
+        derivedStateOf {
+            val today = CalendarMath.toDate(todayEpochDay.intValue)
+            CalendarMath.unpackYear(today) * 12 + CalendarMath.unpackMonth(today) - 1
+        }
     }
 
-    // Helper function to detect if a day is weekend
-    val isWeekend = { month: Int, day: Int ->
-        val dateTime = DateTime().withYear(year).withMonthOfYear(month + 1).withDayOfMonth(day)
-        weekendDays.contains(dateTime.dayOfWeek().get())
+    // Each month is drawn in its own layer, recorded again only when the month changes
+    val graphicsContext = LocalGraphicsContext.current
+    val monthLayers = remember(graphicsContext) { MonthLayers(graphicsContext) }
+    DisposableEffect(monthLayers) {
+        onDispose { monthLayers.release() }
     }
+    val selectedEpochDay = remember(selectedDay, dayFormatter) {
+        parseEpochDay(dayFormatter, selectedDay)
+    }
+    val isTouchExplorationEnabled = rememberIsTouchExplorationEnabled()
+
+    // Day focused with a keyboard or a D-pad, only read while drawing
+    val focusCursor = remember { DayFocusCursor() }
+    var hasFocus by remember { mutableStateOf(false) }
+    // Highlight of the clicked months, only read while drawing
+    val monthSelectionFlash = remember { MonthSelectionFlash() }
+    val monthSelectionLayers = remember(graphicsContext) { MonthLayers(graphicsContext) }
+    DisposableEffect(monthSelectionLayers) {
+        onDispose { monthSelectionLayers.release() }
+    }
+
+    // Zoom into a single month, only read while drawing
+    val monthZoom = remember { MonthZoom() }
+    val zoomedMonthLayers = remember(graphicsContext) { MonthLayers(graphicsContext) }
+    DisposableEffect(zoomedMonthLayers) {
+        onDispose { zoomedMonthLayers.release() }
+    }
+
+    val yearDays = remember(year) {
+        val firstEpochDay = CalendarMath.epochDay(year, 1, 1)
+        firstEpochDay until firstEpochDay + CalendarMath.daysInYear(year)
+    }
+
+    // Epoch days of the selected range, parsed once instead of for every drawn day
+    val selectedRange = remember(rangeStart, rangeEnd, dayFormatter) {
+        val start = rangeStart?.let { parseEpochDay(dayFormatter, it) }
+        val end = rangeEnd?.let { parseEpochDay(dayFormatter, it) }
+        if (start != null && end != null) start..end else null
+    }
+
+    // Size of the canvas, set while drawing, so that the layouts are computed again only when it changes
+    val canvasSizeKey = remember { mutableStateOf(0f to 0f) }
 
-    // Helper function to detect if a day is selected
-    val isSelectedDay = { month: Int, day: Int ->
-        if (selectedDay.isEmpty()) false
-        else {
-            val dateTime = DateTime().withYear(year).withMonthOfYear(month + 1).withDayOfMonth(day)
-            selectedDay == dayFormatter.print(dateTime)
+    // Centers and touch areas of the days in flat buffers, laid out again in place without drawing.
+    // The gesture detector keeps the handlers of the first composition, which read this instance.
+    val dayLayout = remember { YearLayout() }
+    // Changes with every layout, for what only recomposes or redraws when its inputs change
+    val dayLayoutGeneration = remember(
+        canvasSizeKey.value,
+        columns,
+        rows,
+        year,
+        firstDayOfWeek,
+        monthConfig,
+        simpleDayStyle,
+        hSpacingPx,
+        vSpacingPx,
+        marginBelowMonthNamePx,
+        monthSelectionMarginPx,
+        names,
+        currentMonth,
+        density
+    ) {
+        val (width, height) = canvasSizeKey.value
+        if (width > 0f && height > 0f) {
+            // Same engine, hence same cells, as the renderer draws the days in
+            dayLayout.layout(
+                year = year,
+                width = width,
+                height = height,
+                spec = YearLayoutSpec(
+                    columns = columns,
+                    rows = rows,
+                    horizontalSpacing = hSpacingPx,
+                    verticalSpacing = vSpacingPx,
+                    marginBelowMonthName = marginBelowMonthNamePx,
+                    monthSelectionMargin = monthSelectionMarginPx,
+                    titleGravity = monthConfig.titleGravity,
+                    firstDayOfWeek = firstDayOfWeek,
+                    dayTouchPadding = DAY_TOUCH_PADDING
+                ),
+                metrics = ComposeTextMetrics(textMeasurer, names, monthConfig, simpleDayStyle),
+                currentMonth = if (currentMonth / 12 == year) currentMonth % 12 else -1
+            )
         }
+        dayLayout.generation
     }
 
     // Handle tap and long press events
-    @SuppressLint("DefaultLocale")
+    /**
+     * The day touched at a point of the month under it, formatted with [dayFormatter], or null if
+     * no day is.
+     */
+    fun touchedDayAt(offset: Offset): String? {
+        if (dayLayout.dayCount == 0) return null
+        val epochDay = dayLayout.dayTouchedAt(offset.x, offset.y)
+        if (epochDay == YearLayout.NO_DAY) return null
+        val month = dayLayout.monthOf(epochDay)
+        val dayOfMonth = epochDay - dayLayout.monthStartEpochDay(month) + 1
+        return dayFormatter.print(LocalDate(dayLayout.year, month + 1, dayOfMonth))
+    }
+
     fun handleTap(offset: Offset) {
+        if (monthZoom.isZoomed) {
+            coroutineScope.launch { monthZoom.zoomOut() }
+            return
+        }
         var isDayClicked = false
         var targetMonthIndex = -1
 
@@ -378,82 +552,39 @@ fun YearView(
         }
 
         if (targetMonthIndex >= 0) {
-            // Only search within the days of the target month
-            val daysInTargetMonth = DateTime().withYear(year).withMonthOfYear(targetMonthIndex + 1)
-                .dayOfMonth().maximumValue
-            val startIndex = dayRects.indexOfFirst {
-                it.date.startsWith(
-                    "${year}-${
-                        String.format(
-                            "%02d",
-                            targetMonthIndex + 1
-                        )
-                    }"
-                )
-            }
-            val endIndex = startIndex + daysInTargetMonth
-
-            if (startIndex >= 0 && endIndex <= dayRects.size) {
-                for (i in startIndex until endIndex) {
-                    val dayRect = dayRects[i]
-                    if (dayRect.rect.contains(offset)) {
-                        val dateTime = dayFormatter.parseDateTime(dayRect.date)
-                        val timeInMillis = dateTime.millis
-                        val dayDescription = "Day ${dateTime.dayOfMonth().get()}, ${
-                            dateTime.monthOfYear().asText
-                        }, $year"
-                        val stateDescription = when {
-                            selectedDay == dayRect.date -> "Selected"
-                            dateTime.toLocalDate() == LocalDate() -> "Today"
-                            else -> ""
-                        }
-                        val fullDescription = if (stateDescription.isNotEmpty()) {
-                            "$dayDescription, $stateDescription"
-                        } else {
-                            dayDescription
-                        }
-                        // Accessibility announcement (though not directly supported in Canvas, can be logged or used with custom accessibility handling)
-                        println("Accessibility: Tapped $fullDescription")
-
-                        if (enableMultiSelection) {
-                            if (rangeStart == null) {
-                                rangeStart = dayRect.date
-                                println("Accessibility: Range selection started at $dayDescription")
-                            } else if (rangeEnd == null) {
-                                rangeEnd = dayRect.date
-                                // Ensure start is before end
-                                val startDateTime = dayFormatter.parseDateTime(rangeStart!!)
-                                val endDateTime = dayFormatter.parseDateTime(rangeEnd!!)
-                                if (startDateTime.isAfter(endDateTime)) {
-                                    val temp = rangeStart
-                                    rangeStart = rangeEnd
-                                    rangeEnd = temp
-                                }
-                                // Trigger callback for range selection
-                                onRangeSelected(startDateTime.millis, endDateTime.millis)
-                                println(
-                                    "Accessibility: Range selection completed from ${
-                                        startDateTime.dayOfMonth().get()
-                                    } to ${endDateTime.dayOfMonth().get()} ${
-                                        endDateTime.monthOfYear().asText
-                                    }"
-                                )
-                            } else {
-                                // Reset range if both start and end are set
-                                rangeStart = dayRect.date
-                                rangeEnd = null
-                                println("Accessibility: Range selection reset, new start at $dayDescription")
-                            }
-                        } else {
-                            if (isDaySelectionVisuallySticky) {
-                                selectedDay = if (selectedDay == dayRect.date) "" else dayRect.date
-                            }
-                            onDayClick(timeInMillis)
+            val date = touchedDayAt(offset)
+            if (date != null) {
+                val dateTime = dayFormatter.parseDateTime(date)
+                val timeInMillis = dateTime.millis
+
+                // The states of the days are announced by their accessibility nodes
+                if (enableMultiSelection) {
+                    if (rangeStart == null) {
+                        rangeStart = date
+                    } else if (rangeEnd == null) {
+                        rangeEnd = date
+                        // Ensure start is before end
+                        val startDateTime = dayFormatter.parseDateTime(rangeStart!!)
+                        val endDateTime = dayFormatter.parseDateTime(rangeEnd!!)
+                        if (startDateTime.isAfter(endDateTime)) {
+                            val temp = rangeStart
+                            rangeStart = rangeEnd
+                            rangeEnd = temp
                         }
-                        isDayClicked = true
-                        break
+                        // Trigger callback for range selection
+                        onRangeSelected(startDateTime.millis, endDateTime.millis)
+                    } else {
+                        // Reset range if both start and end are set
+                        rangeStart = date
+                        rangeEnd = null
                     }
+                } else {
+                    if (isDaySelectionVisuallySticky) {
+                        selectedDay = if (selectedDay == date) "" else date
+                    }
+                    onDayClick(timeInMillis)
                 }
+                isDayClicked = true
             }
 
             if (!isDayClicked) {
@@ -464,20 +595,52 @@ fun YearView(
                     .withDayOfMonth(1)
                     .withHourOfDay(1)
 
-                val monthDescription = "Month of ${dateTime.monthOfYear().asText} $year"
-                println("Accessibility: Tapped $monthDescription")
-                selectedMonthId = targetMonthIndex
+                monthSelectionFlash.flash(targetMonthIndex, coroutineScope)
                 onMonthClick(dateTime.millis)
-
-                coroutineScope.launch {
-                    delay(300)
-                    selectedMonthId = -1
+                if (zoomOnMonthClick) {
+                    coroutineScope.launch { monthZoom.zoomIn(targetMonthIndex) }
                 }
             }
         }
     }
 
+    fun handleKey(event: KeyEvent): Boolean {
+        if (event.type != KeyEventType.KeyDown) return false
+        val focusedEpochDay = focusCursor.pendingEpochDay
+        if (focusedEpochDay == DayFocusCursor.NO_FOCUS) return false
+
+        if (DayFocusNavigation.isActivation(event)) {
+            if (dayLayout.hasDay(focusedEpochDay)) {
+                val dayOfYear = dayLayout.dayOfYear(focusedEpochDay)
+                handleTap(Offset(dayLayout.dayCenterX(dayOfYear), dayLayout.dayCenterY(dayOfYear)))
+            }
+            return true
+        }
+
+        var targetEpochDay = DayFocusNavigation.move(focusedEpochDay, event) ?: return false
+        if (targetEpochDay !in yearDays) {
+            val onYearChange = onFocusedYearChange
+            if (onYearChange == null) {
+                targetEpochDay = targetEpochDay.coerceIn(yearDays)
+            } else {
+                onYearChange(CalendarMath.yearOf(targetEpochDay))
+            }
+        }
+        focusCursor.moveTo(targetEpochDay, coroutineScope)
+        return true
+    }
+
+    fun handleFocusGained() {
+        if (focusCursor.pendingEpochDay in yearDays) return
+        // The focus starts on the selected day, else on today, else on the first day of the year
+        val initialEpochDay = selectedEpochDay?.takeIf { it in yearDays }
+            ?: todayEpochDay.intValue.takeIf { it in yearDays }
+            ?: yearDays.first
+        focusCursor.moveTo(initialEpochDay, coroutineScope)
+    }
+
     fun handleLongPress(offset: Offset) {
+        if (monthZoom.isZoomed) return
         var isDayClicked = false
         var targetMonthIndex = -1
 
@@ -490,31 +653,10 @@ fun YearView(
         }
 
         if (targetMonthIndex >= 0) {
-            // Only search within the days of the target month
-            val daysInTargetMonth = DateTime().withYear(year).withMonthOfYear(targetMonthIndex + 1)
-                .dayOfMonth().maximumValue
-            val startIndex = dayRects.indexOfFirst {
-                it.date.startsWith(
-                    "${year}-${
-                        String.format(
-                            "%02d",
-                            targetMonthIndex + 1
-                        )
-                    }"
-                )
-            }
-            val endIndex = startIndex + daysInTargetMonth
-
-            if (startIndex >= 0 && endIndex <= dayRects.size) {
-                for (i in startIndex until endIndex) {
-                    val dayRect = dayRects[i]
-                    if (dayRect.rect.contains(offset)) {
-                        val dateTime = dayFormatter.parseDateTime(dayRect.date)
-                        onDayLongClick(dateTime.millis)
-                        isDayClicked = true
-                        break
-                    }
-                }
+            val date = touchedDayAt(offset)
+            if (date != null) {
+                onDayLongClick(dayFormatter.parseDateTime(date).millis)
+                isDayClicked = true
             }
 
             if (!isDayClicked) {
@@ -531,8 +673,6 @@ fun YearView(
     }
 
     // Cache month and day rectangles based on dimensions and parameters
-    // Use a key based on dimensions to recalculate only when canvas size changes
-    val canvasSizeKey = remember { mutableStateOf(0f to 0f) }
     val cachedMonthRects = remember(
         canvasSizeKey.value,
         columns,
@@ -557,94 +697,37 @@ fun YearView(
         }
     }
 
-    // Cache day positions and touch rectangles without drawing
-    val cachedDayData = remember(
-        canvasSizeKey.value,
-        columns,
-        rows,
-        year,
-        firstDayOfWeek,
-        dayNameTranscendsWeekend,
-        monthConfig.marginBelowMonthName
-    ) {
-        if (canvasSizeKey.value.first == 0f || canvasSizeKey.value.second == 0f || cachedMonthRects.isEmpty()) {
-            Pair(emptyList<DayRect>(), FloatArray(numMonths))
-        } else {
-            val newDayRects = mutableListOf<DayRect>()
-            val newLastRowYValues = FloatArray(numMonths)
-
-            for (i in 0 until numMonths) {
-                val monthTime = DateTime().withYear(year).withMonthOfYear(i + 1)
-                val dayOfWeek =
-                    ((monthTime.withDayOfMonth(1).dayOfWeek().get() - firstDayOfWeek + 7) % 7)
-                val monthRect = cachedMonthRects[i]
-                val daysInMonth = monthTime.dayOfMonth().maximumValue
-
-                val monthNameLayout = textMeasurer.measure(
-                    text = monthTime.monthOfYear().getAsText(configuration.locales[0]),
-                    style = if (isToday(i, 1)) monthConfig.todayNameStyle else monthConfig.nameStyle
-                )
-                val nameHeight = monthNameLayout.size.height
-
-                val adjustedMonthRect = Rect(
-                    left = monthRect.rect.left,
-                    top = monthRect.rect.top + nameHeight + marginBelowMonthNamePx,
-                    right = monthRect.rect.right,
-                    bottom = monthRect.rect.bottom
-                )
-
-                val numDaysInWeek = 7
-                val xUnit = adjustedMonthRect.width / numDaysInWeek
-                val yUnit = (adjustedMonthRect.height - marginBelowMonthNamePx) / numDaysInWeek
-                var lastRowY = 0f
-                var dayOfMonth = 1 - dayOfWeek
-
-                // Start from 0 to match drawMonth's logic
-                for (y in 0..numDaysInWeek) {
-                    for (x in 0 until numDaysInWeek) {
-                        val xValue = adjustedMonthRect.left + xUnit * x + xUnit / 2
-                        val yValue =
-                            adjustedMonthRect.top + yUnit * (y + 1) + yUnit / 2 // Add 1 to y to match drawing offset
-
-                        if (dayOfMonth in 1..daysInMonth) {
-                            val dateTime = DateTime()
-                                .withYear(year)
-                                .withMonthOfYear(i + 1)
-                                .withDayOfMonth(dayOfMonth)
-                            val dateString = dayFormatter.print(dateTime)
-                            val dayTextLayout = textMeasurer.measure(
-                                text = dayOfMonth.toString(),
-                                style = simpleDayStyle
-                            )
-                            val textWidth = dayTextLayout.size.width
-                            val textHeight = dayTextLayout.size.height
-
-                            val touchPadding = 4f
-                            val touchWidth = textWidth + touchPadding * 2
-                            val touchHeight = textHeight + touchPadding * 2
-                            val touchRect = Rect(
-                                left = xValue - touchWidth / 2,
-                                top = yValue - touchHeight / 2,
-                                right = xValue + touchWidth / 2,
-                                bottom = yValue + touchHeight / 2
-                            )
-
-                            newDayRects.add(DayRect(touchRect, dateString))
-                            lastRowY = yValue + textHeight / 2
-                        }
-                        dayOfMonth++
-                    }
-                }
-                newLastRowYValues[i] = lastRowY
-            }
-            Pair(newDayRects, newLastRowYValues)
-        }
+    // The last rendering of the year with the blocks of its months, mapped from the disk cache
+    // before the first frame and shown until the live layers of every month are recorded
+    var cachedYear by remember(renderCache, year, renderConfig, locale) {
+        mutableStateOf(renderCache?.load(year, renderConfig, locale))
     }
+    // The number of months whose live layers were recorded behind the cached year
+    val monthsRecordedBehindCache = remember(renderCache, year, renderConfig, locale) { mutableIntStateOf(0) }
+
+    // Keep the disk cache up to date once the year is on screen and the main thread idle, so that
+    // rendering the entry never competes with the first frames. The entry is rendered again only
+    // when one of its keys changed.
+    LaunchedEffect(renderCache, year, renderConfig, locale, canvasSizeKey.value) {
+        val (width, height) = canvasSizeKey.value
+        if (renderCache == null || width <= 0f || height <= 0f) return@LaunchedEffect
+        withFrameNanos { }
+        awaitMainThreadIdle()
+        renderCache.store(year, renderConfig, locale, width.toInt(), height.toInt())
+    }
+
+    // Blocks of the months when zoomed, each month taking the whole view, built on first zoom
+    val zoomedMonthRects = remember(cachedMonthRects) { arrayOfNulls<List<MonthRect>>(numMonths) }
+    fun zoomedMonthRectsOf(month: Int): List<MonthRect> = zoomedMonthRects[month] ?: run {
+        val (width, height) = canvasSizeKey.value
+        val block = calculateMonthBlocks(
+            width, height, 1, 1, 1, hSpacingPx, vSpacingPx, monthSelectionMarginPx
+        ).first().copy(month = month)
+        cachedMonthRects.mapIndexed { index, monthRect -> if (index == month) block else monthRect }
+    }.also { zoomedMonthRects[month] = it }
 
     // Update state with cached values
     monthRects = cachedMonthRects
-    dayRects = cachedDayData.first
-    lastRowYValues = cachedDayData.second
 
     Box(
         modifier = modifier
@@ -663,109 +746,192 @@ fun YearView(
                 contentDescription =
                     "Year View Calendar for $year, displaying 12 months with interactive days and months."
             }
+            .onFocusChanged {
+                hasFocus = it.isFocused
+                if (it.isFocused) handleFocusGained()
+            }
+            .onKeyEvent { handleKey(it) }
+            .focusable()
     ) {
         Canvas(modifier = Modifier.fillMaxSize()) {
-            val canvasWidth = size.width
-            val canvasHeight = size.height
             // Update the canvas size key for caching
-            canvasSizeKey.value = canvasWidth to canvasHeight
-
-            // Draw months (redraw based on current state)
-            if (monthRects.isNotEmpty()) {
-                for (i in 0 until numMonths) {
-                    val monthRect = monthRects[i]
-                    // Check if the month is within the visible canvas bounds
-                    if (monthRect.rect.bottom > 0 && monthRect.rect.top < canvasHeight &&
-                        monthRect.rect.right > 0 && monthRect.rect.left < canvasWidth
-                    ) {
-                        val monthTime = DateTime().withYear(year).withMonthOfYear(i + 1)
-                        val dayOfWeek =
-                            ((monthTime.withDayOfMonth(1).dayOfWeek()
-                                .get() - firstDayOfWeek + 7) % 7)
-
-                        val daysInMonth = monthTime.dayOfMonth().maximumValue
-
-                        val (monthDayRects, lastRowY) = drawMonth(
-                            monthRect = monthRect,
-                            month = i,
-                            firstDay = dayOfWeek,
-                            daysInMonth = daysInMonth,
-                            simpleDayStyle = simpleDayStyle,
-                            weekendDayStyle = weekendDayStyle,
-                            todayStyle = todayConfig.textStyle,
-                            dayNameStyle = dayNameStyle,
-                            monthNameStyle = monthConfig.nameStyle,
-                            todayMonthNameStyle = monthConfig.todayNameStyle,
-                            selectedDayStyle = selectedDayConfig.textStyle,
-                            todayBackgroundItemStyle = todayConfig.backgroundItemStyle,
-                            selectedDayBackgroundItemStyle = selectedDayConfig.backgroundItemStyle,
-                            monthTitleGravity = monthConfig.titleGravity,
-                            marginBelowMonthNamePx = marginBelowMonthNamePx,
-                            firstDayOfWeek = firstDayOfWeek,
-                            dayNameTranscendsWeekend = dayNameTranscendsWeekend,
-                            year = year,
-                            isToday = isToday,
-                            isWeekend = isWeekend,
-                            isSelectedDay = isSelectedDay,
-                            dayFormatter = dayFormatter,
-                            monthFormatter = monthFormatter,
-                            textMeasurer = textMeasurer,
-                            dayNames = dayNames,
-                            dayPositions = dayPositions[i],
-                            dayTouchRects = dayTouchRects[i],
-                            rangeStart = rangeStart,
-                            rangeEnd = rangeEnd,
-                            multiSelectionBackgroundItemStyle = multiSelectionBackgroundItemStyle,
-                            monthBackgroundItemStyle = monthConfig.backgroundItemStyle,
-                            monthPainter = monthBackgroundPainter,
-                            todayPainter = todayBackgroundPainter,
-                            selectedDayPainter = selectedDayBackgroundPainter,
-                            multiSelectionPainter = multiSelectionBackgroundPainter
-                        )
-                        monthRect.lastRowY = lastRowY
-                        lastRowYValues[i] = lastRowY
+            canvasSizeKey.value = size.width to size.height
+
+            val today = todayEpochDay.intValue
+            val inMotion = isInMotion()
+            var drawCalls = 0
+
+            // What a month is recorded from with the given blocks
+            fun monthKey(month: Int, blocks: List<MonthRect>) = MonthLayerKey.of(
+                month = month,
+                monthRects = blocks,
+                canvasSize = size,
+                year = year,
+                config = renderConfig,
+                locale = locale,
+                painters = backgroundPainters,
+                isInMotion = inMotion,
+                todayEpochDay = today,
+                selectedEpochDay = selectedEpochDay,
+                selectedRange = selectedRange
+            )
+
+            fun DrawScope.recordMonth(month: Int, blocks: List<MonthRect>): Int = yearRenderer.draw(
+                scope = this,
+                year = year,
+                config = renderConfig,
+                locale = locale,
+                todayEpochDay = today,
+                monthRects = blocks,
+                painters = backgroundPainters,
+                selectedDay = selectedDay,
+                selectedRange = selectedRange,
+                isInMotion = inMotion,
+                month = month
+            )
+
+            // Draws a month from its layer, recording it with the given blocks when it changed
+            fun drawMonth(
+                month: Int,
+                layers: MonthLayers,
+                blocks: List<MonthRect>,
+                alpha: Float = 1f,
+                scale: Float = 1f,
+                translation: Offset = Offset.Zero
+            ) {
+                drawCalls += layers.draw(this, month, monthKey(month, blocks), alpha, scale, translation) {
+                    recordMonth(month, blocks)
+                }
+            }
+
+            // The last rendering of the year is shown, if it was rendered at the size of the view,
+            // until the live layers of every month are recorded. They are recorded behind it a few
+            // months per frame, with the blocks it was rendered with until those of the view are
+            // known, so that no frame of a cold start records the whole year.
+            val cached = cachedYear?.takeIf {
+                it.bitmap.width == size.width.toInt() && it.bitmap.height == size.height.toInt()
+            }
+            if (cached != null) {
+                val blocks = monthRects.ifEmpty { cached.monthRects }
+                val recorded = monthsRecordedBehindCache.intValue
+                if (recorded < blocks.size) {
+                    drawImage(cached.bitmap)
+                    val end = minOf(blocks.size, recorded + MONTHS_RECORDED_PER_FRAME)
+                    for (month in recorded until end) {
+                        drawCalls += monthLayers.record(this, month, monthKey(month, blocks)) {
+                            recordMonth(month, blocks)
+                        }
                     }
+                    // Draws the next frame, which records the next months
+                    monthsRecordedBehindCache.intValue = end
+                    onFrameDrawn(drawCalls + 1)
+                    return@Canvas
                 }
+            }
+            // The blocks of the months are only known from the next frame on
+            if (monthRects.isEmpty()) return@Canvas
+            if (cachedYear != null) cachedYear = null
+
+            val zoomedMonth = monthZoom.month.intValue
+            val zoomProgress = monthZoom.progress.value
+            if (zoomedMonth >= 0 && zoomProgress >= 1f) {
+                // Once zoomed in, the month is drawn again at the resolution of the whole view
+                drawMonth(zoomedMonth, zoomedMonthLayers, zoomedMonthRectsOf(zoomedMonth))
+                onFrameDrawn(drawCalls)
+                return@Canvas
+            }
 
-                // TODO: add the signature call
-                // TODO: Remove later, this is only for test purposes: to check if days are in their selectable areas
-                /*dayRects.forEach { dayRect ->
-                    drawRect(
-                        color = Color.Blue.copy(alpha = 0.4f),
-                        topLeft = dayRect.rect.topLeft,
-                        size = dayRect.rect.size,
-                        style = Fill
-                    )
-                }*/
-
-                // Draw selection
-                if (selectedMonthId >= 0 && selectedMonthId < monthRects.size) {
-                    val monthRect = monthRects[selectedMonthId]
-                    val lastRowY = monthRect.lastRowY
-                    val selectionRect = Rect(
-                        monthRect.selectionRect.left,
-                        monthRect.selectionRect.top,
-                        monthRect.selectionRect.right,
-                        lastRowY + monthSelectionMarginPx
-                    )
+            for (month in monthRects.indices) {
+                if (month == zoomedMonth) continue
+                drawMonth(
+                    month = month,
+                    layers = monthLayers,
+                    blocks = monthRects,
+                    alpha = if (zoomedMonth >= 0) 1f - zoomProgress else 1f
+                )
+            }
+            if (zoomedMonth >= 0) {
+                // While zooming, the layer of the month is scaled instead of drawn again, on top
+                // of the other months fading out
+                val monthBlock = monthRects[zoomedMonth].rect
+                val target = zoomedMonthRectsOf(zoomedMonth)[zoomedMonth].rect
+                drawMonth(
+                    month = zoomedMonth,
+                    layers = monthLayers,
+                    blocks = monthRects,
+                    scale = monthZoom.scale(monthBlock, target, zoomProgress),
+                    translation = monthZoom.translation(monthBlock, target, zoomProgress)
+                )
+                onFrameDrawn(drawCalls)
+                return@Canvas
+            }
 
-                    // Only draw selection if it's within visible bounds
-                    if (selectionRect.bottom > 0 && selectionRect.top < canvasHeight &&
-                        selectionRect.right > 0 && selectionRect.left < canvasWidth
-                    ) {
-                        drawStyledBackground(
-                            selectionRect,
-                            monthConfig.selectionBackgroundItemStyle,
-                            monthSelectionBackgroundPainter
-                        )
-                    }
+            // The highlights are recorded once and fade through the opacity of their layer
+            for (month in monthRects.indices) {
+                val alpha = monthSelectionFlash.alpha(month)
+                if (alpha <= 0f) continue
+                val key = listOf(
+                    monthRects[month],
+                    size,
+                    monthConfig.selectionBackgroundItemStyle,
+                    backgroundPainters.monthSelection
+                )
+                drawCalls += monthSelectionLayers.draw(this, month, key, alpha) {
+                    yearRenderer.drawMonthSelection(
+                        scope = this,
+                        monthConfig = monthConfig,
+                        monthRects = monthRects,
+                        selectedMonth = month,
+                        painter = backgroundPainters.monthSelection
+                    )
                 }
             }
+
+            // The focus is drawn over the layers, moving it never records a month again
+            val focusedEpochDay = focusCursor.epochDay.intValue
+            if (hasFocus && dayLayout.hasDay(focusedEpochDay)) {
+                val dayOfYear = dayLayout.dayOfYear(focusedEpochDay)
+                val left = dayLayout.dayTouchLeft(dayOfYear)
+                val top = dayLayout.dayTouchTop(dayOfYear)
+                drawRoundRect(
+                    color = focusIndicatorColor,
+                    topLeft = Offset(left, top),
+                    size = Size(dayLayout.dayTouchRight(dayOfYear) - left, dayLayout.dayTouchBottom(dayOfYear) - top),
+                    cornerRadius = CornerRadius(FOCUS_INDICATOR_CORNER_RADIUS.dp.toPx()),
+                    style = Stroke(width = FOCUS_INDICATOR_WIDTH.dp.toPx())
+                )
+                drawCalls++
+            }
+            onFrameDrawn(drawCalls)
+        }
+
+        // Nodes of the months and days, only composed while a screen reader explores the view
+        if (isTouchExplorationEnabled && monthRects.isNotEmpty()) {
+            YearAccessibilityNodes(
+                year = year,
+                locale = locale,
+                monthRects = monthRects,
+                dayLayout = dayLayout,
+                dayLayoutGeneration = dayLayoutGeneration,
+                dayState = { epochDay ->
+                    when {
+                        epochDay == selectedEpochDay -> "Selected"
+                        epochDay == todayEpochDay.intValue -> "Today"
+                        selectedRange?.contains(epochDay) == true -> "In selected range"
+                        else -> ""
+                    }
+                },
+                isDaySelected = { epochDay ->
+                    epochDay == selectedEpochDay || selectedRange?.contains(epochDay) == true
+                },
+                onTap = ::handleTap,
+                onLongPress = ::handleLongPress
+            )
         }
     }
 }
 
-private fun calculateMonthBlocks(
+internal fun calculateMonthBlocks(
     width: Float,
     height: Float,
     columns: Int,
@@ -776,182 +942,34 @@ private fun calculateMonthBlocks(
     monthSelectionMargin: Float = 5.0f
 ): List<MonthRect> {
     val monthRects = mutableListOf<MonthRect>()
+    val bounds = FloatArray(4)
+
+    for (k in 0 until minOf(numMonths, columns * rows)) {
+        YearLayout.blockBounds(k, width, height, columns, rows, horizontalSpacing, verticalSpacing, bounds)
+        val (left, top, right, bottom) = bounds
+
+        val baseRect = Rect(left, top, right, bottom)
+        val selectionRect = Rect(
+            left - monthSelectionMargin,
+            top - monthSelectionMargin,
+            right + monthSelectionMargin,
+            bottom + monthSelectionMargin // This will be adjusted later based on lastRowY
+        )
 
-    val blockWidth = (width - horizontalSpacing * (columns - 1)) / columns
-    val blockHeight = (height - verticalSpacing * (rows - 1)) / rows
-    val leftPadding = (width - (blockWidth * columns + horizontalSpacing * (columns - 1))) / 2f
-    val topPadding = (height - (blockHeight * rows + verticalSpacing * (rows - 1))) / 2f
-
-    var k = 0
-    for (i in 0 until rows) {
-        for (j in 0 until columns) {
-            if (k >= numMonths) break
-
-            val left = leftPadding + j * (blockWidth + horizontalSpacing)
-            val top = topPadding + i * (blockHeight + verticalSpacing)
-            val right = left + blockWidth
-            val bottom = top + blockHeight
-
-            val baseRect = Rect(left, top, right, bottom)
-            val selectionRect = Rect(
-                left - monthSelectionMargin,
-                top - monthSelectionMargin,
-                right + monthSelectionMargin,
-                bottom + monthSelectionMargin // This will be adjusted later based on lastRowY
-            )
-
-            monthRects.add(
-                MonthRect(
-                    rect = baseRect,
-                    month = k,
-                    lastRowY = 0f, // This will be set later when drawing
-                    selectionRect = selectionRect,
-                    selectionMargin = monthSelectionMargin // Store as Dp for later use
-                )
+        monthRects.add(
+            MonthRect(
+                rect = baseRect,
+                month = k,
+                lastRowY = 0f, // This will be set later when drawing
+                selectionRect = selectionRect,
+                selectionMargin = monthSelectionMargin // Store as Dp for later use
             )
-            k++
-        }
-    }
-    return monthRects
-}
-
-private fun DrawScope.drawMonth(
-    monthRect: MonthRect,
-    month: Int,
-    firstDay: Int,
-    daysInMonth: Int,
-    simpleDayStyle: TextStyle,
-    weekendDayStyle: TextStyle,
-    todayStyle: TextStyle,
-    dayNameStyle: TextStyle,
-    monthNameStyle: TextStyle,
-    todayMonthNameStyle: TextStyle,
-    selectedDayStyle: TextStyle,
-    todayBackgroundItemStyle: BackgroundItemStyle.ComposeStyle,
-    selectedDayBackgroundItemStyle: BackgroundItemStyle.ComposeStyle,
-    monthTitleGravity: TitleGravity,
-    marginBelowMonthNamePx: Float,
-    firstDayOfWeek: Int,
-    dayNameTranscendsWeekend: Boolean,
-    year: Int,
-    isToday: (Int, Int) -> Boolean,
-    isWeekend: (Int, Int) -> Boolean,
-    isSelectedDay: (Int, Int) -> Boolean,
-    dayFormatter: org.joda.time.format.DateTimeFormatter,
-    monthFormatter: org.joda.time.format.DateTimeFormatter,
-    textMeasurer: TextMeasurer,
-    dayNames: List<Triple<String, TextStyle, TextLayoutResult>> = emptyList(),
-    dayPositions: Array<FloatArray> = emptyArray(),
-    dayTouchRects: Array<Rect> = emptyArray(),
-    rangeStart: String? = null,
-    rangeEnd: String? = null,
-    multiSelectionBackgroundItemStyle: BackgroundItemStyle.ComposeStyle? = null,
-    monthBackgroundItemStyle: BackgroundItemStyle.ComposeStyle? = null,
-    monthPainter: Painter? = null,
-    todayPainter: Painter? = null,
-    selectedDayPainter: Painter? = null,
-    multiSelectionPainter: Painter? = null
-): Pair<List<DayRect>, Float> {
-    println("Debug: Drawing month ${month + 1} with firstDay=$firstDay, daysInMonth=$daysInMonth")
-    // Draw month background if provided and not transparent
-    if (monthBackgroundItemStyle != null && (monthBackgroundItemStyle.color != Color.Transparent || monthBackgroundItemStyle.image != ImageSource.None)) {
-        val bounds = Rect(
-            left = monthRect.rect.left - monthBackgroundItemStyle.selectionMargin,
-            top = monthRect.rect.top - monthBackgroundItemStyle.selectionMargin,
-            right = monthRect.rect.right + monthBackgroundItemStyle.selectionMargin,
-            bottom = monthRect.rect.bottom + monthBackgroundItemStyle.selectionMargin
         )
-        drawStyledBackground(bounds, monthBackgroundItemStyle, monthPainter)
-    }
-
-    // Draw month name
-    val monthTime = DateTime().withYear(year).withMonthOfYear(month + 1)
-    val formattedMonthName = monthFormatter.print(monthTime)
-    val currentDate = DateTime()
-    val isCurrentMonth =
-        (monthTime.year().get() == currentDate.year().get() && monthTime.monthOfYear()
-            .get() == currentDate.monthOfYear().get())
-    val nameStyle = if (isCurrentMonth) todayMonthNameStyle else monthNameStyle
-    drawMonthName(formattedMonthName, nameStyle, monthRect, monthTitleGravity, textMeasurer)
-
-    // Adjust rect for day drawing (move below month name)
-    val monthNameTextLayout = textMeasurer.measure(text = formattedMonthName, style = nameStyle)
-    val nameHeight = monthNameTextLayout.size.height
-    val adjustedMonthRect = Rect(
-        left = monthRect.rect.left,
-        top = monthRect.rect.top + nameHeight + marginBelowMonthNamePx,
-        right = monthRect.rect.right,
-        bottom = monthRect.rect.bottom
-    )
-
-    // Calculate grid cell size
-    val numDays = 7 // Days in a week
-    val xUnit = adjustedMonthRect.width / numDays
-    val yUnit = adjustedMonthRect.height / numDays
-
-    val dayRects = mutableListOf<DayRect>()
-    var lastRowY = 0f
-
-    // Start from 1 - firstDay to account for first day offset
-    var dayOfMonth = 1 - firstDay
-    var dayIndex = 0
-
-    for (y in 0..numDays) {
-        for (x in 0 until numDays) {
-            val xValue = adjustedMonthRect.left + xUnit * x + xUnit / 2  // Center horizontally
-            val yValue = adjustedMonthRect.top + yUnit * y + yUnit / 2   // Center vertically
-
-            // Store positions for reuse
-            if (dayIndex < dayPositions.size) {
-                dayPositions[dayIndex][0] = xValue
-                dayPositions[dayIndex][1] = yValue
-            }
-
-            // Draw day titles (first row)
-            if (y == 0) {
-                drawDayName(
-                    x,
-                    xValue,
-                    yValue,
-                    dayNames,
-                    firstDayOfWeek,
-                    dayNameTranscendsWeekend,
-                    weekendDayStyle,
-                    dayNameStyle,
-                    textMeasurer
-                )
-            }
-            // Draw day numbers
-            else {
-                if (dayOfMonth in 1..daysInMonth) {
-                    val dayRect = drawDayNumber(
-                        month, dayOfMonth, xValue, yValue, year, isToday, isWeekend, isSelectedDay,
-                        simpleDayStyle, weekendDayStyle, todayStyle, selectedDayStyle,
-                        todayBackgroundItemStyle, selectedDayBackgroundItemStyle,
-                        dayFormatter, textMeasurer, dayTouchRects,
-                        rangeStart, rangeEnd, multiSelectionBackgroundItemStyle,
-                        todayPainter, selectedDayPainter,
-                        multiSelectionPainter
-                    )
-                    dayRects.add(dayRect)
-                    val textHeight = textMeasurer.measure(
-                        text = dayOfMonth.toString(),
-                        style = simpleDayStyle
-                    ).size.height
-                    lastRowY = yValue + textHeight / 2
-                    println("Debug: Added day $dayOfMonth to dayRects, position: x=$xValue, y=$yValue, rect: left=${dayRect.rect.left}, top=${dayRect.rect.top}, right=${dayRect.rect.right}, bottom=${dayRect.rect.bottom}")
-                }
-                dayOfMonth++
-            }
-            dayIndex++
-        }
     }
-
-    println("Debug: Total days added for month ${month + 1}: ${dayRects.size}")
-    return Pair(dayRects, lastRowY)
+    return monthRects
 }
 
-private fun DrawScope.drawStyledBackground(
+internal fun DrawScope.drawStyledBackground(
     bounds: Rect,
     style: BackgroundItemStyle.ComposeStyle,
     painter: Painter?
@@ -966,274 +984,6 @@ private fun DrawScope.drawStyledBackground(
     }
 }
 
-private fun DrawScope.drawMonthName(
-    monthName: String,
-    nameStyle: TextStyle,
-    monthRect: MonthRect,
-    monthTitleGravity: TitleGravity,
-    textMeasurer: TextMeasurer
-) {
-    val monthNameTextLayout = textMeasurer.measure(text = monthName, style = nameStyle)
-    val nameWidth = monthNameTextLayout.size.width
-    val nameHeight = monthNameTextLayout.size.height
-
-    val xStart = when (monthTitleGravity) {
-        TitleGravity.START, TitleGravity.LEFT -> monthRect.rect.left + monthRect.selectionMargin // Align with the start of the first column
-        TitleGravity.CENTER -> (monthRect.rect.left + monthRect.rect.right) / 2 - nameWidth / 2 // Center as is
-        TitleGravity.END, TitleGravity.RIGHT -> monthRect.rect.right - nameWidth - monthRect.selectionMargin // Align with the end of the last column
-    }
-
-    /*// this is for test purposes:
-    // Draw background rectangle
-    drawRect(
-        color = Color.LightGray.copy(alpha = 0.3f),
-        topLeft = Offset(xStart, monthRect.rect.top),
-        size = Size(nameWidth.toFloat() , nameHeight.toFloat() ),
-        style = Fill
-    )*/
-
-    drawText(
-        textMeasurer = textMeasurer,
-        text = monthName,
-        style = nameStyle,
-        topLeft = Offset(xStart, monthRect.rect.top)
-    )
-    // add a background behind the month name area
-}
-
-private fun DrawScope.drawDayName(
-    x: Int,
-    xValue: Float,
-    yValue: Float,
-    dayNames: List<Triple<String, TextStyle, TextLayoutResult>>,
-    firstDayOfWeek: Int,
-    dayNameTranscendsWeekend: Boolean,
-    weekendDayStyle: TextStyle,
-    dayNameStyle: TextStyle,
-    textMeasurer: TextMeasurer
-) {
-    val dayNameData = dayNames.getOrNull(x)
-    if (dayNameData != null) {
-        val (dayName, style, dayNameLayout) = dayNameData
-        drawText(
-            textMeasurer = textMeasurer,
-            text = dayName,
-            style = style,
-            topLeft = Offset(
-                xValue - dayNameLayout.size.width / 2,
-                yValue - dayNameLayout.size.height / 2
-            )
-        )
-    } else {
-        val dayOfWeek = getDayIndex(x, firstDayOfWeek)
-        val dateTime = DateTime().withYear(2023).withDayOfWeek(dayOfWeek) // Year is arbitrary
-        val dayName = dateTime.dayOfWeek().asShortText.substring(0, 1)
-
-        val style = if ((dateTime.dayOfWeek().get() == DateTimeConstants.SATURDAY ||
-                    dateTime.dayOfWeek().get() == DateTimeConstants.SUNDAY) &&
-            !dayNameTranscendsWeekend
-        )
-            weekendDayStyle else dayNameStyle
-
-        val dayNameLayout = textMeasurer.measure(text = dayName, style = style)
-
-        drawText(
-            textMeasurer = textMeasurer,
-            text = dayName,
-            style = style,
-            topLeft = Offset(
-                xValue - dayNameLayout.size.width / 2,
-                yValue - dayNameLayout.size.height / 2
-            )
-        )
-    }
-}
-
-private fun DrawScope.drawDayNumber(
-    month: Int,
-    dayOfMonth: Int,
-    xValue: Float,
-    yValue: Float,
-    year: Int,
-    isToday: (Int, Int) -> Boolean,
-    isWeekend: (Int, Int) -> Boolean,
-    isSelectedDay: (Int, Int) -> Boolean,
-    simpleDayStyle: TextStyle,
-    weekendDayStyle: TextStyle,
-    todayStyle: TextStyle,
-    selectedDayStyle: TextStyle,
-    todayBackgroundItemStyle: BackgroundItemStyle.ComposeStyle,
-    selectedDayBackgroundItemStyle: BackgroundItemStyle.ComposeStyle,
-    dayFormatter: org.joda.time.format.DateTimeFormatter,
-    textMeasurer: TextMeasurer,
-    dayTouchRects: Array<Rect>, // TODO: remove this when caching logic works
-    rangeStart: String? = null,
-    rangeEnd: String? = null,
-    multiSelectionBackgroundItemStyle: BackgroundItemStyle.ComposeStyle? = null,
-    todayPainter: Painter? = null,
-    selectedDayPainter: Painter? = null,
-    multiSelectionPainter: Painter? = null
-): DayRect {
-    val isCurrentDayToday = isToday(month, dayOfMonth)
-    val isCurrentDaySelected = isSelectedDay(month, dayOfMonth)
-    val isCurrentDayWeekend = isWeekend(month, dayOfMonth)
-
-    // Create a date string for this day
-    val dateTime = DateTime()
-        .withYear(year)
-        .withMonthOfYear(month + 1)
-        .withDayOfMonth(dayOfMonth)
-
-    val dateString = dayFormatter.print(dateTime)
-
-    // Debug logging to check touch rectangle for each day
-    println("Debug: Month ${month + 1} Day $dayOfMonth position: x=$xValue, y=$yValue")
-
-    // Check if this day is within the selected range
-    val isInRange = if (rangeStart != null && rangeEnd != null) {
-        val startDateTime = dayFormatter.parseDateTime(rangeStart)
-        val endDateTime = dayFormatter.parseDateTime(rangeEnd)
-        !dateTime.isBefore(startDateTime) && !dateTime.isAfter(endDateTime)
-    } else {
-        false
-    }
-
-    // Store the clickable region for this day
-    val dayTextLayout = textMeasurer.measure(
-        text = dayOfMonth.toString(),
-        style = simpleDayStyle
-    )
-
-    val textWidth = dayTextLayout.size.width.toFloat()
-    val textHeight = dayTextLayout.size.height.toFloat()
-
-    // Determine the touch area based on the text dimensions with a small padding
-    val touchPadding = 4f // Smaller padding for more precise touch area
-    val touchWidth = textWidth + touchPadding * 2
-    val touchHeight = textHeight + touchPadding * 2
-    val touchRectLeft = xValue - touchWidth / 2
-    val touchRectTop = yValue - touchHeight / 2
-    val touchRectRight = xValue + touchWidth / 2
-    val touchRectBottom = yValue + touchHeight / 2
-
-    // Debug logging to check touch rectangle for each day
-    println("Debug: Month ${month + 1} Day $dayOfMonth touch rect: left=$touchRectLeft, top=$touchRectTop, right=$touchRectRight, bottom=$touchRectBottom")
-
-    val touchRect = if (dayOfMonth - 1 < dayTouchRects.size) {
-        dayTouchRects[dayOfMonth - 1] = Rect(
-            left = touchRectLeft,
-            top = touchRectTop,
-            right = touchRectRight,
-            bottom = touchRectBottom
-        )
-        dayTouchRects[dayOfMonth - 1]
-    } else {
-        Rect(
-            left = touchRectLeft,
-            top = touchRectTop,
-            right = touchRectRight,
-            bottom = touchRectBottom
-        )
-    }
-
-    // Determine text style and optional background
-    val drawConfig = when {
-        isCurrentDaySelected -> DayDrawConfig(
-            textStyle = selectedDayStyle,
-            backgroundShape = selectedDayBackgroundItemStyle.shape,
-            backgroundColor = selectedDayBackgroundItemStyle.color,
-            backgroundRadius = 1f
-        )
-
-        isCurrentDayToday -> DayDrawConfig(
-            textStyle = todayStyle,
-            backgroundShape = todayBackgroundItemStyle.shape,
-            backgroundColor = todayBackgroundItemStyle.color,
-            backgroundRadius = 1f
-        )
-
-        isCurrentDayWeekend -> DayDrawConfig(
-            textStyle = weekendDayStyle,
-            backgroundShape = null,
-            backgroundColor = Color.Transparent,
-            backgroundRadius = 0.0f
-        )
-
-        else -> DayDrawConfig(
-            textStyle = simpleDayStyle,
-            backgroundShape = null,
-            backgroundColor = Color.Transparent,
-            backgroundRadius = 0.0f
-        )
-    }
-
-    // Draw background if needed
-    if (drawConfig.backgroundShape != null && drawConfig.backgroundColor != Color.Transparent) {
-        val backgroundSize =
-            maxOf(textWidth, textHeight) * drawConfig.backgroundRadius + touchPadding
-        val backgroundRect = Rect(
-            left = xValue - backgroundSize / 2,
-            top = yValue - backgroundSize / 2,
-            right = xValue + backgroundSize / 2,
-            bottom = yValue + backgroundSize / 2
-        )
-        val backgroundStyle = when {
-            isCurrentDaySelected -> selectedDayBackgroundItemStyle
-            isCurrentDayToday -> todayBackgroundItemStyle
-            else -> BackgroundItemStyle.ComposeStyle(
-                color = Color.Transparent,
-                shape = BackgroundShape.Square
-            )
-        }
-        val backgroundPainter = when {
-            isCurrentDaySelected -> selectedDayPainter
-            isCurrentDayToday -> todayPainter
-            else -> null
-        }
-        drawStyledBackground(backgroundRect, backgroundStyle, backgroundPainter)
-    }
-    // Draw multi-selection background if the day is in range and multi-selection style is provided
-    if (isInRange && multiSelectionBackgroundItemStyle != null) {
-        val backgroundSize =
-            maxOf(textWidth, textHeight) + touchPadding * 2
-        val backgroundRect = Rect(
-            left = xValue - backgroundSize / 2,
-            top = yValue - backgroundSize / 2,
-            right = xValue + backgroundSize / 2,
-            bottom = yValue + backgroundSize / 2
-        )
-        drawStyledBackground(
-            backgroundRect,
-            multiSelectionBackgroundItemStyle,
-            multiSelectionPainter
-        )
-    }
-
-    // Draw the day text, centered properly
-    drawText(
-        textLayoutResult = dayTextLayout,
-        topLeft = Offset(
-            x = xValue - textWidth / 2,
-            y = yValue - textHeight / 2
-        ),
-        color = drawConfig.textStyle.color
-    )
-
-    // TODO: this is for test purposes
-    /*drawRect(
-        color = Color.Red.copy(alpha = 0.6f),
-        topLeft = touchRect.topLeft,
-        size = touchRect.size,
-        style = Fill
-    )*/
-
-    return DayRect(touchRect, dateString)
-}
-
-private fun getDayIndex(position: Int, firstDayOfWeek: Int): Int {
-    return ((firstDayOfWeek - 1 + position) % 7) + 1
-}
-
 @Composable
 private fun getPainterFromImageSource(imageSource: ImageSource): Painter? {
     return when (imageSource) {
@@ -1301,7 +1051,7 @@ private fun DrawScope.drawStyledBackgroundInnerClip(
  * @param shape The [BackgroundShape] defining the shape to be drawn.
  * @return The created [Path] representing the shape.
  */
-private fun Path.createShapePath(
+internal fun Path.createShapePath(
     bounds: Rect,
     shape: BackgroundShape
 ): Path = apply {
@@ -0,0 +1,215 @@
+package com.mamboa.yearview.compose.widget
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.BitmapFactory
+import com.mamboa.yearview.compose.YearBitmapRenderer
+import com.mamboa.yearview.compose.YearRenderConfig
+import com.mamboa.yearview.compose.stableHash
+import com.mamboa.yearview.core.CalendarClock
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.TodayTracker
+import com.mamboa.yearview.core.utils.Utils
+import org.joda.time.LocalDate
+import org.joda.time.format.DateTimeFormat
+import java.io.File
+import java.io.IOException
+
+/**
+ * Renders the bitmap of a home-screen year widget, to be shown through
+ * [android.widget.RemoteViews.setImageViewBitmap].
+ *
+ * The year is rendered once and persisted in [storageDir] so that it survives the process. When
+ * the day rolls over or when the selected day changes, only the tiles of the affected months are
+ * rendered again into the existing bitmap. Any other change (year, size, locale or styling)
+ * renders the whole year again.
+ *
+ * Rendering is synchronous: [update] is meant to be called off the main thread, e.g. from a
+ * `BroadcastReceiver.goAsync()` block or from a worker.
+ *
+ * @param context The context used to resolve the fonts, the drawables and the locale.
+ * @param widgetId The id of the app widget, used to name the persisted files.
+ * @param config The styling of the year.
+ * @param storageDir The directory the rendered bitmap is persisted in.
+ * @param clock The clock deciding which day is today, to detect the day rollovers.
+ */
+class YearWidgetRenderer(
+    context: Context,
+    private val widgetId: Int,
+    private val config: YearRenderConfig = YearRenderConfig(),
+    private val storageDir: File = context.filesDir,
+    clock: CalendarClock = CalendarClock.System,
+    private val bitmapRenderer: YearBitmapRenderer = YearBitmapRenderer(context, clock = clock)
+) {
+    private val appContext = context.applicationContext
+    private val today = TodayTracker(clock)
+    private val configHash = config.stableHash()
+    private val dayFormatter = DateTimeFormat.forPattern(config.dayFormat)
+    private val bitmapFile get() = File(storageDir, "yearview_widget_$widgetId.png")
+    private val stateFile get() = File(storageDir, "yearview_widget_$widgetId.state")
+
+    private var bitmap: Bitmap? = null
+    private var state: WidgetState? = null
+
+    /**
+     * Brings the bitmap of the widget up to date, rendering only what changed since the last
+     * update.
+     *
+     * @param year The year to display.
+     * @param width The width of the widget, in pixels.
+     * @param height The height of the widget, in pixels.
+     * @param selectedDay The selected day, in the format defined by [YearRenderConfig.dayFormat].
+     * @return The bitmap of the widget. It is reused by the following updates.
+     */
+    @Synchronized
+    fun update(year: Int, width: Int, height: Int, selectedDay: String = ""): Bitmap {
+        val todayEpochDay = today.epochDay
+        val newState = WidgetState(
+            year = year,
+            width = width,
+            height = height,
+            configHash = configHash,
+            locale = Utils.getCurrentLocale(appContext).toLanguageTag(),
+            todayEpochDay = todayEpochDay,
+            selectedDay = selectedDay
+        )
+        if (bitmap == null) {
+            restore(newState)
+        }
+
+        val currentBitmap = bitmap
+        val previousState = state
+        if (currentBitmap == null || previousState == null || !previousState.hasSameLayout(newState)) {
+            val newBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888)
+            bitmapRenderer.renderInto(newBitmap, year, config, selectedDay, todayEpochDay = todayEpochDay)
+            bitmap = newBitmap
+        } else {
+            val dirtyMonths = sortedSetOf<Int>()
+            if (previousState.todayEpochDay != newState.todayEpochDay) {
+                dirtyMonths += monthOf(previousState.todayEpochDay, year)
+                dirtyMonths += monthOf(newState.todayEpochDay, year)
+            }
+            if (previousState.selectedDay != newState.selectedDay) {
+                dirtyMonths += monthOf(previousState.selectedDay, year)
+                dirtyMonths += monthOf(newState.selectedDay, year)
+            }
+            dirtyMonths.remove(-1)
+            if (dirtyMonths.isEmpty()) return currentBitmap
+
+            for (month in dirtyMonths) {
+                bitmapRenderer.renderInto(currentBitmap, year, config, selectedDay, month, todayEpochDay)
+            }
+        }
+
+        state = newState
+        persist()
+        return bitmap!!
+    }
+
+    /**
+     * Deletes the persisted bitmap, to be called when the widget is removed.
+     */
+    @Synchronized
+    fun delete() {
+        bitmap = null
+        state = null
+        bitmapFile.delete()
+        stateFile.delete()
+    }
+
+    private fun monthOf(epochDay: Int, year: Int): Int {
+        val date = CalendarMath.toDate(epochDay)
+        return if (CalendarMath.unpackYear(date) == year) CalendarMath.unpackMonth(date) - 1 else -1
+    }
+
+    private fun monthOf(date: LocalDate, year: Int): Int {
+        return if (date.year == year) date.monthOfYear - 1 else -1
+    }
+
+    private fun monthOf(day: String, year: Int): Int {
+        if (day.isEmpty()) return -1
+        return try {
+            monthOf(dayFormatter.parseLocalDate(day), year)
+        } catch (e: IllegalArgumentException) {
+            -1
+        }
+    }
+
+    /**
+     * Restores the persisted bitmap if it was rendered with the same layout as [newState].
+     */
+    private fun restore(newState: WidgetState) {
+        val storedState = try {
+            if (stateFile.exists()) WidgetState.parse(stateFile.readText()) else null
+        } catch (e: IOException) {
+            null
+        }
+        if (storedState == null || !storedState.hasSameLayout(newState)) return
+
+        val options = BitmapFactory.Options().apply { inMutable = true }
+        val storedBitmap = BitmapFactory.decodeFile(bitmapFile.path, options) ?: return
+        bitmap = storedBitmap
+        state = storedState
+    }
+
+    private fun persist() {
+        val currentBitmap = bitmap ?: return
+        val currentState = state ?: return
+        try {
+            // Written aside first, so that a killed process never leaves a truncated bitmap
+            val tempFile = File(storageDir, "${bitmapFile.name}.tmp")
+            tempFile.outputStream().use {
+                currentBitmap.compress(Bitmap.CompressFormat.PNG, 100, it)
+            }
+            if (tempFile.renameTo(bitmapFile)) {
+                stateFile.writeText(currentState.serialize())
+            }
+        } catch (e: IOException) {
+            // The bitmap is rendered again from scratch after the process dies
+            stateFile.delete()
+        }
+    }
+
+    /**
+     * What the bitmap of the widget was rendered from.
+     *
+     * The styling is compared through [stableHash], which is the same from a process to another
+     * unless the styling holds a drawable or a font loaded at runtime, in which case the year is
+     * simply rendered again.
+     *
+     * @param locale The language tag of the locale of the month and day names.
+     */
+    private data class WidgetState(
+        val year: Int,
+        val width: Int,
+        val height: Int,
+        val configHash: Int,
+        val locale: String,
+        val todayEpochDay: Int,
+        val selectedDay: String
+    ) {
+        fun hasSameLayout(other: WidgetState): Boolean {
+            return year == other.year && width == other.width && height == other.height &&
+                    configHash == other.configHash && locale == other.locale
+        }
+
+        fun serialize(): String =
+            listOf(year, width, height, configHash, locale, todayEpochDay, selectedDay).joinToString("\n")
+
+        companion object {
+            fun parse(text: String): WidgetState? {
+                val lines = text.split("\n")
+                if (lines.size != 7) return null
+                return WidgetState(
+                    year = lines[0].toIntOrNull() ?: return null,
+                    width = lines[1].toIntOrNull() ?: return null,
+                    height = lines[2].toIntOrNull() ?: return null,
+                    configHash = lines[3].toIntOrNull() ?: return null,
+                    locale = lines[4],
+                    todayEpochDay = lines[5].toIntOrNull() ?: return null,
+                    selectedDay = lines[6]
+                )
+            }
+        }
+    }
+}
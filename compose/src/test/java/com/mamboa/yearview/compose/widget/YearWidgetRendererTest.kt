@@ -0,0 +1,123 @@
+package com.mamboa.yearview.compose.widget
+
+import android.content.Context
+import android.graphics.Bitmap
+import androidx.test.core.app.ApplicationProvider
+import com.mamboa.yearview.core.CalendarClock
+import com.mamboa.yearview.core.CalendarMath
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.GraphicsMode
+import java.io.File
+import java.util.TimeZone
+
+@RunWith(RobolectricTestRunner::class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+@Config(sdk = [34])
+class YearWidgetRendererTest {
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private lateinit var context: Context
+    private lateinit var storageDir: File
+    private val clock = FixedClock(CalendarMath.epochDay(YEAR, 3, 10))
+
+    @Before
+    fun setUp() {
+        context = ApplicationProvider.getApplicationContext()
+        storageDir = folder.newFolder()
+    }
+
+    private fun newRenderer() = YearWidgetRenderer(context, WIDGET_ID, storageDir = storageDir, clock = clock)
+
+    private val bitmapFile get() = File(storageDir, "yearview_widget_$WIDGET_ID.png")
+
+    @Test
+    fun update_rendersAndPersistsTheWholeYear() {
+        val bitmap = newRenderer().update(YEAR, WIDTH, HEIGHT)
+
+        assertEquals(WIDTH, bitmap.width)
+        assertEquals(HEIGHT, bitmap.height)
+        assertTrue("Nothing was drawn", bitmap.hasDrawnPixels())
+        assertTrue(bitmapFile.exists())
+        assertTrue(File(storageDir, "yearview_widget_$WIDGET_ID.state").exists())
+    }
+
+    @Test
+    fun update_afterTodayChange_rendersOnlyTheDirtyTilesInPlace() {
+        val renderer = newRenderer()
+        val bitmap = renderer.update(YEAR, WIDTH, HEIGHT)
+        val before = bitmap.copy(Bitmap.Config.ARGB_8888, false)
+
+        clock.epochDay = CalendarMath.epochDay(YEAR, 4, 12)
+        val updated = renderer.update(YEAR, WIDTH, HEIGHT)
+
+        // The tiles are rendered again into the same bitmap, not a new one
+        assertSame(bitmap, updated)
+        assertFalse("Today moved but the bitmap did not change", updated.sameAs(before))
+
+        // Rendering the tiles of March and April again gives the same year as rendering it whole
+        val fullRender = YearWidgetRenderer(context, WIDGET_ID + 1, storageDir = folder.newFolder(), clock = clock)
+            .update(YEAR, WIDTH, HEIGHT)
+        assertTrue("The dirty tiles differ from a full render", updated.sameAs(fullRender))
+    }
+
+    @Test
+    fun update_inANewProcess_restoresThePersistedBitmap() {
+        newRenderer().update(YEAR, WIDTH, HEIGHT)
+        bitmapFile.setLastModified(OLD_TIMESTAMP)
+
+        // A new renderer stands for the process being started again
+        val restored = newRenderer().update(YEAR, WIDTH, HEIGHT)
+
+        assertEquals(WIDTH, restored.width)
+        assertEquals(HEIGHT, restored.height)
+        assertTrue(restored.hasDrawnPixels())
+        // Nothing changed, so nothing was rendered or written again
+        assertEquals(OLD_TIMESTAMP, bitmapFile.lastModified())
+    }
+
+    @Test
+    fun update_afterLocaleChange_rendersTheWholeYearAgain() {
+        newRenderer().update(YEAR, WIDTH, HEIGHT)
+        bitmapFile.setLastModified(OLD_TIMESTAMP)
+
+        RuntimeEnvironment.setQualifiers("fr")
+        newRenderer().update(YEAR, WIDTH, HEIGHT)
+
+        assertNotEquals(OLD_TIMESTAMP, bitmapFile.lastModified())
+    }
+
+    private fun Bitmap.hasDrawnPixels(): Boolean {
+        val pixels = IntArray(width * height)
+        getPixels(pixels, 0, width, 0, 0, width, height)
+        return pixels.any { it != 0 }
+    }
+
+    private class FixedClock(var epochDay: Int) : CalendarClock {
+        // Noon, away from the day boundaries
+        override fun currentTimeMillis(): Long = epochDay * MILLIS_PER_DAY + MILLIS_PER_DAY / 2
+
+        override fun timeZone(): TimeZone = TimeZone.getTimeZone("UTC")
+    }
+
+    private companion object {
+        const val YEAR = 2024
+        const val WIDGET_ID = 7
+        const val WIDTH = 600
+        const val HEIGHT = 800
+        const val MILLIS_PER_DAY = 24 * 60 * 60 * 1000L
+        const val OLD_TIMESTAMP = 1_000_000_000L
+    }
+}
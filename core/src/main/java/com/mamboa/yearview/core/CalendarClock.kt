@@ -0,0 +1,92 @@
+package com.mamboa.yearview.core
+
+import java.util.TimeZone
+
+/**
+ * Source of the current time and time zone, which decide what today is. It can be replaced, e.g.
+ * to show a fixed day in previews and tests.
+ */
+fun interface CalendarClock {
+    /**
+     * The current time, in milliseconds since the epoch.
+     */
+    fun currentTimeMillis(): Long
+
+    /**
+     * The time zone today is computed in.
+     */
+    fun timeZone(): TimeZone = TimeZone.getDefault()
+
+    companion object {
+        /**
+         * The clock of the device, in its default time zone.
+         */
+        val System = CalendarClock { java.lang.System.currentTimeMillis() }
+    }
+}
+
+/**
+ * Keeps the epoch day of today, computed from a [CalendarClock] only when the day rolls over or
+ * after [invalidate], instead of on every read.
+ */
+class TodayTracker(private val clock: CalendarClock = CalendarClock.System) {
+    @Volatile
+    private var cachedEpochDay = 0
+
+    // Bounds of the cached day, in the time of the clock
+    @Volatile
+    private var dayStartMillis = Long.MAX_VALUE
+
+    @Volatile
+    private var nextDayStartMillis = Long.MIN_VALUE
+
+    /**
+     * The epoch day of today.
+     */
+    val epochDay: Int
+        get() {
+            val now = clock.currentTimeMillis()
+            if (now < dayStartMillis || now >= nextDayStartMillis) {
+                update(now)
+            }
+            return cachedEpochDay
+        }
+
+    /**
+     * The time left until the next day starts, in milliseconds.
+     */
+    fun millisUntilNextDay(): Long {
+        epochDay
+        return (nextDayStartMillis - clock.currentTimeMillis()).coerceAtLeast(0L)
+    }
+
+    /**
+     * Forgets the cached day, to be called when the time or the time zone is changed.
+     */
+    fun invalidate() {
+        dayStartMillis = Long.MAX_VALUE
+        nextDayStartMillis = Long.MIN_VALUE
+    }
+
+    private fun update(now: Long) {
+        val timeZone = clock.timeZone()
+        val epochDay = Math.floorDiv(now + timeZone.getOffset(now), MILLIS_PER_DAY).toInt()
+        cachedEpochDay = epochDay
+        dayStartMillis = startOfDay(epochDay, timeZone)
+        nextDayStartMillis = startOfDay(epochDay + 1, timeZone)
+    }
+
+    /**
+     * The time a day starts at in the time zone. The offset is taken a second time at the found
+     * time, in case it changed in between, e.g. on a daylight saving transition.
+     */
+    private fun startOfDay(epochDay: Int, timeZone: TimeZone): Long {
+        val localMidnight = epochDay * MILLIS_PER_DAY
+        val estimate = localMidnight - timeZone.getOffset(localMidnight)
+        return localMidnight - timeZone.getOffset(estimate)
+    }
+
+    private companion object {
+        const val MILLIS_PER_DAY = 24 * 60 * 60 * 1000L
+    }
+}
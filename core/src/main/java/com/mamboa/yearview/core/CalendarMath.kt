@@ -0,0 +1,115 @@
+package com.mamboa.yearview.core
+
+/**
+ * Arithmetic on the proleptic Gregorian calendar, for the code paths run for every day of a year.
+ *
+ * Days are counted as epoch days, the number of days since 1970-01-01, and days of the week go
+ * from 1 = Monday to 7 = Sunday, as in `org.joda.time.DateTimeConstants` and `java.time.DayOfWeek`.
+ * Nothing here depends on a time zone or on a locale, so no timezone database is ever loaded:
+ * the date libraries are only needed to format and parse days, and to know which day is today.
+ */
+object CalendarMath {
+    private const val DAYS_PER_400_YEARS = 146097
+
+    // Days between 0000-03-01 and 1970-01-01, the computations below start the years in March
+    private const val DAYS_0000_TO_1970 = 719468
+
+    /**
+     * Whether the year has a February 29th.
+     */
+    fun isLeapYear(year: Int): Boolean {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)
+    }
+
+    /**
+     * The number of days of a month.
+     *
+     * @param month The month, from 1 = January to 12 = December.
+     */
+    fun daysInMonth(year: Int, month: Int): Int = when (month) {
+        2 -> if (isLeapYear(year)) 29 else 28
+        4, 6, 9, 11 -> 30
+        else -> 31
+    }
+
+    /**
+     * The number of days of a year.
+     */
+    fun daysInYear(year: Int): Int = if (isLeapYear(year)) 366 else 365
+
+    /**
+     * The epoch day of a date.
+     *
+     * @param month The month, from 1 = January to 12 = December.
+     * @param day The day of the month, from 1.
+     */
+    fun epochDay(year: Int, month: Int, day: Int): Int {
+        val marchYear = if (month <= 2) year - 1 else year
+        val era = Math.floorDiv(marchYear, 400)
+        val yearOfEra = marchYear - era * 400
+        val dayOfYear = (153 * ((month + 9) % 12) + 2) / 5 + day - 1
+        val dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear
+        return era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970
+    }
+
+    /**
+     * The day of the week of an epoch day, from 1 = Monday to 7 = Sunday.
+     */
+    fun dayOfWeek(epochDay: Int): Int {
+        // 1970-01-01 was a Thursday
+        return Math.floorMod(epochDay + 3, 7) + 1
+    }
+
+    /**
+     * The day of the week of a date, from 1 = Monday to 7 = Sunday.
+     */
+    fun dayOfWeek(year: Int, month: Int, day: Int): Int = dayOfWeek(epochDay(year, month, day))
+
+    /**
+     * The number of cells preceding the first day of a month in its first week row.
+     *
+     * @param firstDayOfWeek The day the weeks start with, from 1 = Monday to 7 = Sunday.
+     */
+    fun firstDayOffset(year: Int, month: Int, firstDayOfWeek: Int): Int {
+        return Math.floorMod(dayOfWeek(year, month, 1) - firstDayOfWeek, 7)
+    }
+
+    /**
+     * The year of an epoch day.
+     */
+    fun yearOf(epochDay: Int): Int = unpackYear(toDate(epochDay))
+
+    /**
+     * The month of an epoch day, from 1 = January to 12 = December.
+     */
+    fun monthOf(epochDay: Int): Int = unpackMonth(toDate(epochDay))
+
+    /**
+     * The day of the month of an epoch day, from 1.
+     */
+    fun dayOfMonthOf(epochDay: Int): Int = unpackDay(toDate(epochDay))
+
+    /**
+     * Converts an epoch day to a date packed in a [Long], to be read with [unpackYear],
+     * [unpackMonth] and [unpackDay] without allocating anything.
+     */
+    fun toDate(epochDay: Int): Long {
+        val daysSinceMarch0000 = epochDay + DAYS_0000_TO_1970
+        val era = Math.floorDiv(daysSinceMarch0000, DAYS_PER_400_YEARS)
+        val dayOfEra = daysSinceMarch0000 - era * DAYS_PER_400_YEARS
+        val yearOfEra =
+            (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365
+        val dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100)
+        val marchMonth = (5 * dayOfYear + 2) / 153
+        val day = dayOfYear - (153 * marchMonth + 2) / 5 + 1
+        val month = if (marchMonth < 10) marchMonth + 3 else marchMonth - 9
+        val year = yearOfEra + era * 400 + if (month <= 2) 1 else 0
+        return (year.toLong() shl 16) or (month.toLong() shl 8) or day.toLong()
+    }
+
+    fun unpackYear(date: Long): Int = (date shr 16).toInt()
+
+    fun unpackMonth(date: Long): Int = ((date shr 8) and 0xFF).toInt()
+
+    fun unpackDay(date: Long): Int = (date and 0xFF).toInt()
+}
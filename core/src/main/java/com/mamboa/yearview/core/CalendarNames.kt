@@ -0,0 +1,87 @@
+package com.mamboa.yearview.core
+
+import android.content.ComponentCallbacks
+import android.content.Context
+import android.content.res.Configuration
+import org.joda.time.LocalDate
+import org.joda.time.format.DateTimeFormat
+import java.util.Locale
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * The month and weekday names of a locale, formatted once.
+ *
+ * @param monthNames The names of the months in the month name pattern, from January.
+ * @param weekdayNames The full names of the days of the week, from Monday.
+ * @param weekdayInitials The initials of the days of the week, from Monday.
+ */
+class CalendarNames private constructor(
+    private val monthNames: Array<String>,
+    private val weekdayNames: Array<String>,
+    private val weekdayInitials: Array<String>
+) {
+    /**
+     * The name of a month, from 1 = January to 12 = December.
+     */
+    fun monthName(month: Int): String = monthNames[month - 1]
+
+    /**
+     * The full name of a day of the week, from 1 = Monday to 7 = Sunday.
+     */
+    fun weekdayName(dayOfWeek: Int): String = weekdayNames[dayOfWeek - 1]
+
+    /**
+     * The initial of a day of the week, from 1 = Monday to 7 = Sunday.
+     */
+    fun weekdayInitial(dayOfWeek: Int): String = weekdayInitials[dayOfWeek - 1]
+
+    companion object {
+        private val tables = ConcurrentHashMap<Pair<Locale, String>, CalendarNames>()
+        private val isRegistered = AtomicBoolean(false)
+
+        /**
+         * The names of a locale, built on first use and shared by the whole process.
+         *
+         * @param monthPattern The Joda-Time pattern of the month names, e.g. "MMMM".
+         */
+        fun of(locale: Locale, monthPattern: String): CalendarNames {
+            return tables.getOrPut(locale to monthPattern) { build(locale, monthPattern) }
+        }
+
+        /**
+         * Drops the names when the configuration of the application changes, so that the
+         * tables of the locales no longer in use are released. Only the first call registers.
+         */
+        fun registerConfigurationCallbacks(context: Context) {
+            if (!isRegistered.compareAndSet(false, true)) return
+            context.applicationContext.registerComponentCallbacks(object : ComponentCallbacks {
+                override fun onConfigurationChanged(newConfig: Configuration) = clear()
+
+                @Deprecated("Deprecated in Java")
+                override fun onLowMemory() = clear()
+            })
+        }
+
+        /**
+         * Drops every cached name.
+         */
+        fun clear() {
+            tables.clear()
+        }
+
+        private fun build(locale: Locale, monthPattern: String): CalendarNames {
+            val monthFormatter = DateTimeFormat.forPattern(monthPattern).withLocale(locale)
+            // Dates in UTC, no time zone is needed to format names
+            val monthNames = Array(12) { monthFormatter.print(LocalDate(2000, it + 1, 1)) }
+
+            // 2024-01-01 was a Monday
+            val weekdays = Array(7) { LocalDate(2024, 1, it + 1).dayOfWeek() }
+            return CalendarNames(
+                monthNames = monthNames,
+                weekdayNames = Array(7) { weekdays[it].getAsText(locale) },
+                weekdayInitials = Array(7) { weekdays[it].getAsShortText(locale).substring(0, 1) }
+            )
+        }
+    }
+}
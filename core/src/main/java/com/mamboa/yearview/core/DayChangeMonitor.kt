@@ -0,0 +1,81 @@
+package com.mamboa.yearview.core
+
+import android.content.BroadcastReceiver
+import android.content.Context
+import android.content.Intent
+import android.content.IntentFilter
+import android.os.Handler
+import android.os.Looper
+import androidx.core.content.ContextCompat
+
+/**
+ * Notifies when today changes: at the next local midnight, and whenever the time, the date or the
+ * time zone of the device is changed. The listener is called on the main thread, only when the
+ * day actually changed.
+ *
+ * @param context The context the broadcast receiver is registered with.
+ * @param today The tracker of today, invalidated on every change.
+ * @param onDayChanged Called with the epoch days of the previous and of the new today.
+ */
+class DayChangeMonitor(
+    context: Context,
+    private val today: TodayTracker,
+    private val onDayChanged: (previousEpochDay: Int, epochDay: Int) -> Unit
+) {
+    private val appContext = context.applicationContext
+    private val handler = Handler(Looper.getMainLooper())
+    private var epochDay = today.epochDay
+    private var isStarted = false
+
+    private val midnightCheck = Runnable { check() }
+
+    private val receiver = object : BroadcastReceiver() {
+        override fun onReceive(context: Context, intent: Intent) {
+            today.invalidate()
+            check()
+        }
+    }
+
+    /**
+     * Starts monitoring. Must be called on the main thread.
+     */
+    fun start() {
+        if (isStarted) return
+        isStarted = true
+        val filter = IntentFilter().apply {
+            addAction(Intent.ACTION_TIMEZONE_CHANGED)
+            addAction(Intent.ACTION_TIME_CHANGED)
+            addAction(Intent.ACTION_DATE_CHANGED)
+        }
+        ContextCompat.registerReceiver(appContext, receiver, filter, ContextCompat.RECEIVER_NOT_EXPORTED)
+        // The day may have changed while the monitor was stopped
+        check()
+    }
+
+    /**
+     * Stops monitoring. Must be called on the main thread.
+     */
+    fun stop() {
+        if (!isStarted) return
+        isStarted = false
+        appContext.unregisterReceiver(receiver)
+        handler.removeCallbacks(midnightCheck)
+    }
+
+    private fun check() {
+        if (!isStarted) return
+        val previousEpochDay = epochDay
+        epochDay = today.epochDay
+        if (epochDay != previousEpochDay) {
+            onDayChanged(previousEpochDay, epochDay)
+        }
+
+        handler.removeCallbacks(midnightCheck)
+        // A little late rather than early, the check would otherwise still see the previous day
+        handler.postDelayed(midnightCheck, today.millisUntilNextDay() + MIDNIGHT_SLACK_MILLIS)
+    }
+
+    private companion object {
+        const val MIDNIGHT_SLACK_MILLIS = 50L
+    }
+}
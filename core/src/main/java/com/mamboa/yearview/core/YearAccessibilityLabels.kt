@@ -0,0 +1,72 @@
+package com.mamboa.yearview.core
+
+import org.joda.time.LocalDate
+import org.joda.time.format.DateTimeFormat
+import java.util.Locale
+
+/**
+ * Accessibility labels of the months and days of a year, formatted a month at a time on first use
+ * and shared by every view, compose or legacy, showing the same year in the same locale. Day
+ * labels are kept in a single array indexed by the day of the year, from 0.
+ */
+class YearAccessibilityLabels private constructor(
+    private val year: Int,
+    locale: Locale
+) {
+    private val monthFormatter = DateTimeFormat.forPattern("MMMM yyyy").withLocale(locale)
+    private val dayFormatter = DateTimeFormat.fullDate().withLocale(locale)
+    private val monthLabels = arrayOfNulls<String>(MONTH_COUNT)
+    private val dayLabels = arrayOfNulls<String>(CalendarMath.daysInYear(year))
+
+    /**
+     * The label of a month, from 0 = January.
+     */
+    @Synchronized
+    fun monthLabel(month: Int): String {
+        return monthLabels[month] ?: monthFormatter.print(LocalDate(year, month + 1, 1))
+            .also { monthLabels[month] = it }
+    }
+
+    /**
+     * The label of a day, the month going from 0 = January and the day from 1.
+     */
+    @Synchronized
+    fun dayLabel(month: Int, day: Int): String {
+        val monthStart = CalendarMath.epochDay(year, month + 1, 1) - CalendarMath.epochDay(year, 1, 1)
+        dayLabels[monthStart + day - 1]?.let { return it }
+
+        // The labels of a month are read together, as a screen reader moves from day to day
+        for (dayOfMonth in 1..CalendarMath.daysInMonth(year, month + 1)) {
+            dayLabels[monthStart + dayOfMonth - 1] = dayFormatter.print(LocalDate(year, month + 1, dayOfMonth))
+        }
+        return dayLabels[monthStart + day - 1]!!
+    }
+
+    companion object {
+        private const val MONTH_COUNT = 12
+        private const val MAX_YEARS = 4
+
+        // Least recently used years first
+        private val cache = object : LinkedHashMap<Pair<Int, Locale>, YearAccessibilityLabels>(
+            MAX_YEARS, 0.75f, true
+        ) {
+            override fun removeEldestEntry(
+                eldest: MutableMap.MutableEntry<Pair<Int, Locale>, YearAccessibilityLabels>
+            ): Boolean = size > MAX_YEARS
+        }
+
+        /**
+         * The labels of a year, kept for the few most recently shown years.
+         */
+        fun of(year: Int, locale: Locale): YearAccessibilityLabels = synchronized(cache) {
+            cache.getOrPut(year to locale) { YearAccessibilityLabels(year, locale) }
+        }
+
+        /**
+         * Drops the labels of every year, e.g. once accessibility is turned off.
+         */
+        fun clear() {
+            synchronized(cache) { cache.clear() }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.mamboa.yearview.core.draw
+
+/**
+ * A year drawn as a list of commands, recorded from a [com.mamboa.yearview.core.layout.YearLayout]
+ * by [YearDrawRecorder] and replayed on any canvas by a [Target]: an Android `Canvas`, a PDF page
+ * or an exporter without a screen.
+ *
+ * The legacy renderer replays them on an Android `Canvas`. The Compose renderer does not: it keeps
+ * drawing its months into graphics layers of its own, with the month background images, custom
+ * shapes and text styles a [Target] has no room for.
+ *
+ * A command is an operation, the id of what it draws, the color role it is drawn with, and a box
+ * of four floats. Texts are given by a string id, shapes by the id of a shape the target keeps,
+ * images by the id of an image the target keeps. Colors are roles, resolved by the target from
+ * a palette at replay time: changing only the colors of a year replays the same commands with
+ * another palette, without any layout or text work.
+ *
+ * Commands are stored in primitive arrays reused from one recording to the next.
+ */
+class YearDrawCommands {
+    /**
+     * The number of commands recorded.
+     */
+    var size = 0
+        private set
+
+    private var ops = IntArray(INITIAL_CAPACITY)
+    private var ids = IntArray(INITIAL_CAPACITY)
+    private var colors = IntArray(INITIAL_CAPACITY)
+
+    // Left, top, right and bottom of the box of each command
+    private var boxes = FloatArray(INITIAL_CAPACITY * 4)
+
+    /**
+     * Draws the commands recorded.
+     */
+    interface Target {
+        /**
+         * Draws the text of a string id centered in a box, e.g. a day number in its cell.
+         */
+        fun text(id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float)
+
+        /**
+         * Fills the shape of a shape id in a box.
+         */
+        fun shape(id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float)
+
+        /**
+         * Draws the image of an image id over a box, tinted or not with its color role.
+         */
+        fun image(id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float)
+    }
+
+    /**
+     * Drops the commands recorded, keeping the buffers for the next recording.
+     */
+    fun clear() {
+        size = 0
+    }
+
+    fun add(op: Int, id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float) {
+        if (size == ops.size) grow()
+        ops[size] = op
+        ids[size] = id
+        colors[size] = colorRole
+        boxes[size * 4] = left
+        boxes[size * 4 + 1] = top
+        boxes[size * 4 + 2] = right
+        boxes[size * 4 + 3] = bottom
+        size++
+    }
+
+    fun op(index: Int): Int = ops[index]
+
+    fun id(index: Int): Int = ids[index]
+
+    fun colorRole(index: Int): Int = colors[index]
+
+    fun left(index: Int): Float = boxes[index * 4]
+
+    fun top(index: Int): Float = boxes[index * 4 + 1]
+
+    fun right(index: Int): Float = boxes[index * 4 + 2]
+
+    fun bottom(index: Int): Float = boxes[index * 4 + 3]
+
+    /**
+     * Replays the commands, in the order they were recorded, on a target.
+     */
+    fun replay(target: Target) {
+        for (index in 0 until size) {
+            val left = boxes[index * 4]
+            val top = boxes[index * 4 + 1]
+            val right = boxes[index * 4 + 2]
+            val bottom = boxes[index * 4 + 3]
+            when (ops[index]) {
+                OP_TEXT -> target.text(ids[index], colors[index], left, top, right, bottom)
+                OP_SHAPE -> target.shape(ids[index], colors[index], left, top, right, bottom)
+                OP_IMAGE -> target.image(ids[index], colors[index], left, top, right, bottom)
+            }
+        }
+    }
+
+    private fun grow() {
+        val capacity = ops.size * 2
+        ops = ops.copyOf(capacity)
+        ids = ids.copyOf(capacity)
+        colors = colors.copyOf(capacity)
+        boxes = boxes.copyOf(capacity * 4)
+    }
+
+    companion object {
+        // A year with its backgrounds is about 12 month names, 84 day names and 365 days
+        private const val INITIAL_CAPACITY = 512
+
+        const val OP_TEXT = 0
+        const val OP_SHAPE = 1
+        const val OP_IMAGE = 2
+
+        // String ids: the day numbers, the day names, the month names, then the text shown on
+        // the selected day instead of its number
+        private const val FIRST_DAY_NAME_ID = 31
+        private const val FIRST_MONTH_NAME_ID = FIRST_DAY_NAME_ID + 7
+        const val SELECTED_DAY_TEXT_ID = FIRST_MONTH_NAME_ID + 12
+        const val STRING_ID_COUNT = SELECTED_DAY_TEXT_ID + 1
+
+        /**
+         * The string id of the number of a day of the month, from 1.
+         */
+        fun dayNumberId(day: Int): Int = day - 1
+
+        /**
+         * The string id of the name of a day of the week, from 1 = Monday.
+         */
+        fun dayNameId(dayOfWeek: Int): Int = FIRST_DAY_NAME_ID + dayOfWeek - 1
+
+        /**
+         * The string id of the name of a month, from 1 = January.
+         */
+        fun monthNameId(month: Int): Int = FIRST_MONTH_NAME_ID + month - 1
+
+        // Color roles, the indexes of a palette. The role of a text also tells its text style.
+        const val COLOR_MONTH_NAME = 0
+        const val COLOR_CURRENT_MONTH_NAME = 1
+        const val COLOR_DAY_NAME = 2
+        const val COLOR_WEEKEND_DAY_NAME = 3
+        const val COLOR_DAY = 4
+        const val COLOR_WEEKEND_DAY = 5
+        const val COLOR_TODAY = 6
+        const val COLOR_SELECTED_DAY = 7
+        const val COLOR_MONTH_BACKGROUND = 8
+        const val COLOR_TODAY_BACKGROUND = 9
+        const val COLOR_SELECTED_DAY_BACKGROUND = 10
+        const val COLOR_RANGE_BACKGROUND = 11
+        const val PALETTE_SIZE = 12
+    }
+}
@@ -0,0 +1,164 @@
+package com.mamboa.yearview.core.draw
+
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_CURRENT_MONTH_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_DAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_DAY_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_MONTH_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_MONTH_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_RANGE_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_SELECTED_DAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_SELECTED_DAY_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_TODAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_TODAY_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_WEEKEND_DAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_WEEKEND_DAY_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.OP_IMAGE
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.OP_SHAPE
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.OP_TEXT
+import com.mamboa.yearview.core.draw.YearDrawSpec.Companion.NONE
+import com.mamboa.yearview.core.layout.TextMetrics
+import com.mamboa.yearview.core.layout.YearLayout
+
+/**
+ * Records the drawing of a year laid out by a [YearLayout] into [YearDrawCommands]: per month,
+ * its backgrounds, its name, its day names, then the backgrounds and the numbers of its days.
+ *
+ * Texts are recorded in the box they are centered in, the cell of a day or of a day name and the
+ * measured box of a month name, so that replaying them measures nothing new. The selected day
+ * takes precedence over today when they are the same day.
+ */
+object YearDrawRecorder {
+    /**
+     * Records every month laid out, after clearing [out].
+     *
+     * @param todayEpochDay The epoch day of today.
+     * @param selectedEpochDay The epoch day of the selected day, or [YearLayout.NO_DAY].
+     * @param rangeStart The first epoch day of the selected range, or [YearLayout.NO_DAY].
+     * @param rangeEnd The last epoch day of the selected range, or [YearLayout.NO_DAY].
+     */
+    fun record(
+        layout: YearLayout,
+        metrics: TextMetrics,
+        spec: YearDrawSpec,
+        todayEpochDay: Int,
+        selectedEpochDay: Int,
+        rangeStart: Int,
+        rangeEnd: Int,
+        out: YearDrawCommands
+    ) {
+        out.clear()
+        for (month in 0 until layout.monthCount) {
+            recordMonth(layout, month, metrics, spec, todayEpochDay, selectedEpochDay, rangeStart, rangeEnd, out)
+        }
+    }
+
+    /**
+     * Records a month, appending to [out].
+     */
+    fun recordMonth(
+        layout: YearLayout,
+        month: Int,
+        metrics: TextMetrics,
+        spec: YearDrawSpec,
+        todayEpochDay: Int,
+        selectedEpochDay: Int,
+        rangeStart: Int,
+        rangeEnd: Int,
+        out: YearDrawCommands
+    ) {
+        val left = layout.monthLeft(month)
+        val top = layout.monthTop(month)
+        val right = layout.monthRight(month)
+        val bottom = layout.monthBottom(month)
+        if (spec.monthBackgroundShape != NONE) {
+            out.add(OP_SHAPE, spec.monthBackgroundShape, COLOR_MONTH_BACKGROUND, left, top, right, bottom)
+        }
+        if (spec.monthBackgroundImage != NONE) {
+            out.add(OP_IMAGE, spec.monthBackgroundImage, COLOR_MONTH_BACKGROUND, left, top, right, bottom)
+        }
+
+        val monthStart = layout.monthStartEpochDay(month)
+        val monthLength = layout.monthLength(month)
+        val isCurrentMonth = todayEpochDay - monthStart in 0 until monthLength
+        val titleLeft = layout.titleLeft(month)
+        out.add(
+            OP_TEXT,
+            YearDrawCommands.monthNameId(month + 1),
+            if (isCurrentMonth) COLOR_CURRENT_MONTH_NAME else COLOR_MONTH_NAME,
+            titleLeft,
+            top,
+            titleLeft + metrics.monthNameWidth(month + 1, isCurrentMonth),
+            top + metrics.monthNameHeight(month + 1, isCurrentMonth)
+        )
+
+        val halfWidth = layout.cellWidth(month) / 2f
+        val halfHeight = layout.cellHeight(month) / 2f
+        val namesY = layout.rowCenterY(month, 0)
+        for (column in 0 until YearLayout.DAYS_IN_WEEK) {
+            val dayOfWeek = (layout.firstDayOfWeek - 1 + column) % YearLayout.DAYS_IN_WEEK + 1
+            val isWeekend = spec.weekendDayNames && isWeekend(spec, dayOfWeek)
+            val x = layout.columnCenterX(month, column)
+            out.add(
+                OP_TEXT,
+                YearDrawCommands.dayNameId(dayOfWeek),
+                if (isWeekend) COLOR_WEEKEND_DAY_NAME else COLOR_DAY_NAME,
+                x - halfWidth,
+                namesY - halfHeight,
+                x + halfWidth,
+                namesY + halfHeight
+            )
+        }
+
+        val hasRange = rangeStart != YearLayout.NO_DAY && rangeEnd != YearLayout.NO_DAY
+        for (day in 1..monthLength) {
+            val epochDay = monthStart + day - 1
+            val x = layout.dayCenterX(month, day)
+            val y = layout.dayCenterY(month, day)
+            val isSelected = epochDay == selectedEpochDay
+            val isToday = !isSelected && epochDay == todayEpochDay
+
+            if (hasRange && spec.rangeShape != NONE && epochDay in rangeStart..rangeEnd) {
+                addBackground(out, spec.rangeShape, COLOR_RANGE_BACKGROUND, x, y, spec.rangeRadius, halfWidth, halfHeight)
+            }
+            if (isSelected && spec.selectedDayShape != NONE) {
+                addBackground(
+                    out, spec.selectedDayShape, COLOR_SELECTED_DAY_BACKGROUND, x, y,
+                    spec.selectedDayRadius, halfWidth, halfHeight
+                )
+            } else if (isToday && spec.todayShape != NONE) {
+                addBackground(out, spec.todayShape, COLOR_TODAY_BACKGROUND, x, y, spec.todayRadius, halfWidth, halfHeight)
+            }
+
+            val textId = if (isSelected && spec.hasSelectedDayText) {
+                YearDrawCommands.SELECTED_DAY_TEXT_ID
+            } else {
+                YearDrawCommands.dayNumberId(day)
+            }
+            val colorRole = when {
+                isSelected -> COLOR_SELECTED_DAY
+                isToday -> COLOR_TODAY
+                isWeekend(spec, CalendarMath.dayOfWeek(epochDay)) -> COLOR_WEEKEND_DAY
+                else -> COLOR_DAY
+            }
+            out.add(OP_TEXT, textId, colorRole, x - halfWidth, y - halfHeight, x + halfWidth, y + halfHeight)
+        }
+    }
+
+    private fun isWeekend(spec: YearDrawSpec, dayOfWeek: Int): Boolean =
+        spec.weekendDays and (1 shl (dayOfWeek - 1)) != 0
+
+    private fun addBackground(
+        out: YearDrawCommands,
+        shape: Int,
+        colorRole: Int,
+        x: Float,
+        y: Float,
+        radius: Float,
+        halfWidth: Float,
+        halfHeight: Float
+    ) {
+        val size = minOf(radius, halfWidth, halfHeight)
+        out.add(OP_SHAPE, shape, colorRole, x - size, y - size, x + size, y + size)
+    }
+}
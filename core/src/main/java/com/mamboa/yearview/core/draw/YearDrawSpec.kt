@@ -0,0 +1,44 @@
+package com.mamboa.yearview.core.draw
+
+/**
+ * What [YearDrawRecorder] records for a year besides its texts. Shapes and images are ids the
+ * target replaying the commands resolves, [NONE] leaving the background out. Lengths are in the
+ * pixels of the renderer.
+ *
+ * @param monthBackgroundShape The shape filled behind each month block.
+ * @param monthBackgroundImage The image drawn over each month block.
+ * @param todayShape The shape filled behind the number of today.
+ * @param selectedDayShape The shape filled behind the number of the selected day.
+ * @param rangeShape The shape filled behind the numbers of the days of the selected range.
+ * @param todayRadius The radius of the background of today, shrunk to fit its cell.
+ * @param selectedDayRadius The radius of the background of the selected day, shrunk to fit its
+ * cell.
+ * @param rangeRadius The radius of the backgrounds of the selected range, shrunk to fit a cell.
+ * @param weekendDays The days of the weekend, as a mask of bits `1 shl (dayOfWeek - 1)` with the
+ * days of the week from 1 = Monday.
+ * @param weekendDayNames Whether the names of the days of the weekend are drawn as weekend days.
+ * @param hasSelectedDayText Whether the selected day shows a text instead of its number.
+ */
+data class YearDrawSpec(
+    val monthBackgroundShape: Int = NONE,
+    val monthBackgroundImage: Int = NONE,
+    val todayShape: Int = NONE,
+    val selectedDayShape: Int = NONE,
+    val rangeShape: Int = NONE,
+    val todayRadius: Float = Float.MAX_VALUE,
+    val selectedDayRadius: Float = Float.MAX_VALUE,
+    val rangeRadius: Float = Float.MAX_VALUE,
+    val weekendDays: Int = 0,
+    val weekendDayNames: Boolean = false,
+    val hasSelectedDayText: Boolean = false
+) {
+    companion object {
+        const val NONE = -1
+
+        /**
+         * The mask of [weekendDays] for the given days of the week, from 1 = Monday.
+         */
+        fun weekendMask(daysOfWeek: Iterable<Int>): Int =
+            daysOfWeek.fold(0) { mask, dayOfWeek -> mask or (1 shl (dayOfWeek - 1)) }
+    }
+}
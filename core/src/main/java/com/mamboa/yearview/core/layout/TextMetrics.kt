@@ -0,0 +1,32 @@
+package com.mamboa.yearview.core.layout
+
+/**
+ * The sizes of the texts of a year, as measured by a renderer with its own text engine, e.g. a
+ * Compose `TextMeasurer` or an Android `Paint`. [YearLayout] places the texts from these sizes
+ * without knowing how they are drawn.
+ */
+interface TextMetrics {
+    /**
+     * The width of the name of a month, from 1 = January.
+     *
+     * @param isCurrentMonth Whether the month is the current one, whose name can be styled apart.
+     */
+    fun monthNameWidth(month: Int, isCurrentMonth: Boolean): Float
+
+    /**
+     * The height of the name of a month, from 1 = January.
+     *
+     * @param isCurrentMonth Whether the month is the current one, whose name can be styled apart.
+     */
+    fun monthNameHeight(month: Int, isCurrentMonth: Boolean): Float
+
+    /**
+     * The width of the number of a day of the month, from 1.
+     */
+    fun dayNumberWidth(day: Int): Float
+
+    /**
+     * The height of the numbers of the days.
+     */
+    val dayNumberHeight: Float
+}
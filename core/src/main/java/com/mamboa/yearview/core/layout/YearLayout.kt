@@ -0,0 +1,376 @@
+package com.mamboa.yearview.core.layout
+
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.TitleGravity
+
+/**
+ * The geometry of a year, shared by the Compose and the legacy renderers: the blocks of the
+ * months, the placement of their names, and the cells of their day names and days. A month block
+ * is made of its name, then of a grid of seven rows, the day names and up to six weeks.
+ *
+ * Everything is kept in flat arrays of primitives, filled again in place by [layout], and is
+ * found from a point with arithmetic only. Days are indexed by their day of the year, from 0 for
+ * January 1st, rather than held as objects. The engine knows nothing of the platform: texts are
+ * sized through [TextMetrics], lengths are in the pixels of the renderer, and months go from
+ * 0 = January.
+ *
+ * A layout is not thread safe. Renderers that share it with other threads lay out a new instance
+ * and publish it once done.
+ */
+class YearLayout {
+    var year = Int.MIN_VALUE
+        private set
+
+    var firstDayOfWeek = 1
+        private set
+
+    var width = 0f
+        private set
+
+    var height = 0f
+        private set
+
+    /**
+     * The number of months laid out by [layout], the first ones of the year.
+     */
+    var monthCount = 0
+        private set
+
+    private val monthStartEpochDays = IntArray(MONTH_COUNT)
+    private val firstDayOffsets = IntArray(MONTH_COUNT)
+    private val monthLengths = IntArray(MONTH_COUNT)
+
+    // Left, top, right and bottom of each month block
+    private val blocks = FloatArray(MONTH_COUNT * 4)
+    private val titleLefts = FloatArray(MONTH_COUNT)
+    private val gridTops = FloatArray(MONTH_COUNT)
+    private val cellWidths = FloatArray(MONTH_COUNT)
+    private val cellHeights = FloatArray(MONTH_COUNT)
+
+    // Center, then left, top, right and bottom of the touch area of the number of each day of the
+    // year, indexed by the day of the year. Only allocated by layoutDays, renderers laying out
+    // the months one at a time do not need them.
+    private var dayCenters = EMPTY
+    private var dayTouchBounds = EMPTY
+
+    /**
+     * The number of days laid out by [layoutDays], those of the months laid out.
+     */
+    var dayCount = 0
+        private set
+
+    /**
+     * The number of times the year was laid out by [layout], telling the holders of a layout laid
+     * out again in place that it changed.
+     */
+    var generation = 0
+        private set
+
+    /**
+     * Lays out a year in an area of the given size.
+     *
+     * @param currentMonth The month whose name is measured as the current one, -1 if none is.
+     */
+    fun layout(
+        year: Int,
+        width: Float,
+        height: Float,
+        spec: YearLayoutSpec,
+        metrics: TextMetrics,
+        currentMonth: Int = -1
+    ) {
+        setYear(year, spec.firstDayOfWeek)
+        this.width = width
+        this.height = height
+        monthCount = minOf(MONTH_COUNT, spec.columns.coerceAtLeast(1) * spec.rows.coerceAtLeast(1))
+        for (month in 0 until monthCount) {
+            blockBounds(
+                month, width, height, spec.columns, spec.rows,
+                spec.horizontalSpacing, spec.verticalSpacing, blocks, month * 4
+            )
+            layoutMonth(month, spec, metrics, month == currentMonth)
+        }
+        layoutDays(metrics, spec.dayTouchPadding)
+        generation++
+    }
+
+    /**
+     * Computes the centers and the touch areas of the days of the laid out months, reusing the
+     * buffers of the previous layout.
+     *
+     * @param touchPadding The padding added around the number of a day to build its touch area.
+     */
+    fun layoutDays(metrics: TextMetrics, touchPadding: Float) {
+        if (dayCenters.isEmpty()) {
+            dayCenters = FloatArray(MAX_DAYS_IN_YEAR * 2)
+            dayTouchBounds = FloatArray(MAX_DAYS_IN_YEAR * 4)
+        }
+        val halfHeight = metrics.dayNumberHeight / 2f + touchPadding
+        var dayOfYear = 0
+        for (month in 0 until monthCount) {
+            for (day in 1..monthLengths[month]) {
+                val centerX = dayCenterX(month, day)
+                val centerY = dayCenterY(month, day)
+                val halfWidth = metrics.dayNumberWidth(day) / 2f + touchPadding
+                dayCenters[dayOfYear * 2] = centerX
+                dayCenters[dayOfYear * 2 + 1] = centerY
+                dayTouchBounds[dayOfYear * 4] = centerX - halfWidth
+                dayTouchBounds[dayOfYear * 4 + 1] = centerY - halfHeight
+                dayTouchBounds[dayOfYear * 4 + 2] = centerX + halfWidth
+                dayTouchBounds[dayOfYear * 4 + 3] = centerY + halfHeight
+                dayOfYear++
+            }
+        }
+        dayCount = dayOfYear
+    }
+
+    /**
+     * Sets the year the days are laid out for, without moving the month blocks.
+     */
+    fun setYear(year: Int, firstDayOfWeek: Int) {
+        if (year == this.year && firstDayOfWeek == this.firstDayOfWeek) return
+        this.year = year
+        this.firstDayOfWeek = firstDayOfWeek
+        for (month in 0 until MONTH_COUNT) {
+            monthStartEpochDays[month] = CalendarMath.epochDay(year, month + 1, 1)
+            firstDayOffsets[month] = CalendarMath.firstDayOffset(year, month + 1, firstDayOfWeek)
+            monthLengths[month] = CalendarMath.daysInMonth(year, month + 1)
+        }
+    }
+
+    /**
+     * Moves the block of a month, e.g. to zoom it over the whole area. The month must be laid out
+     * again with [layoutMonth] afterwards.
+     */
+    fun setMonthBlock(month: Int, left: Float, top: Float, right: Float, bottom: Float) {
+        blocks[month * 4] = left
+        blocks[month * 4 + 1] = top
+        blocks[month * 4 + 2] = right
+        blocks[month * 4 + 3] = bottom
+    }
+
+    /**
+     * Lays out the name and the grid of a month in its block.
+     */
+    fun layoutMonth(month: Int, spec: YearLayoutSpec, metrics: TextMetrics, isCurrentMonth: Boolean) {
+        layoutMonth(
+            month,
+            spec,
+            metrics.monthNameWidth(month + 1, isCurrentMonth),
+            metrics.monthNameHeight(month + 1, isCurrentMonth)
+        )
+    }
+
+    /**
+     * Lays out the name and the grid of a month in its block, given the size of its name.
+     */
+    fun layoutMonth(month: Int, spec: YearLayoutSpec, titleWidth: Float, titleHeight: Float) {
+        val left = monthLeft(month)
+        val right = monthRight(month)
+        val alignsLeft = when (spec.titleGravity) {
+            TitleGravity.LEFT -> true
+            TitleGravity.RIGHT -> false
+            TitleGravity.START -> !spec.isRtl
+            TitleGravity.END -> spec.isRtl
+            TitleGravity.CENTER -> null
+        }
+        titleLefts[month] = when (alignsLeft) {
+            true -> left + spec.monthSelectionMargin
+            false -> right - titleWidth - spec.monthSelectionMargin
+            null -> (left + right) / 2f - titleWidth / 2f
+        }
+
+        val gridTop = monthTop(month) + titleHeight + spec.marginBelowMonthName
+        gridTops[month] = gridTop
+        cellWidths[month] = ((right - left) / DAYS_IN_WEEK).coerceAtLeast(0f)
+        cellHeights[month] = ((monthBottom(month) - gridTop) / ROWS_PER_MONTH).coerceAtLeast(0f)
+    }
+
+    fun monthStartEpochDay(month: Int): Int = monthStartEpochDays[month]
+
+    /**
+     * The number of cells preceding the first day of a month in its first week.
+     */
+    fun firstDayOffset(month: Int): Int = firstDayOffsets[month]
+
+    fun monthLength(month: Int): Int = monthLengths[month]
+
+    fun monthLeft(month: Int): Float = blocks[month * 4]
+
+    fun monthTop(month: Int): Float = blocks[month * 4 + 1]
+
+    fun monthRight(month: Int): Float = blocks[month * 4 + 2]
+
+    fun monthBottom(month: Int): Float = blocks[month * 4 + 3]
+
+    /**
+     * The left of the name of a month, its top being the top of the month.
+     */
+    fun titleLeft(month: Int): Float = titleLefts[month]
+
+    /**
+     * The top of the grid of a month, made of the row of day names and of the weeks.
+     */
+    fun gridTop(month: Int): Float = gridTops[month]
+
+    fun cellWidth(month: Int): Float = cellWidths[month]
+
+    fun cellHeight(month: Int): Float = cellHeights[month]
+
+    /**
+     * The horizontal center of a column of a month, from 0.
+     */
+    fun columnCenterX(month: Int, column: Int): Float = monthLeft(month) + (column + 0.5f) * cellWidths[month]
+
+    /**
+     * The vertical center of a row of a month, 0 being the row of day names and 1 the first week.
+     */
+    fun rowCenterY(month: Int, row: Int): Float = gridTops[month] + (row + 0.5f) * cellHeights[month]
+
+    /**
+     * The column of a day of a month, from 1.
+     */
+    fun dayColumn(month: Int, day: Int): Int = (firstDayOffsets[month] + day - 1) % DAYS_IN_WEEK
+
+    /**
+     * The row of a day of a month, from 1, the first week being the row 1.
+     */
+    fun dayRow(month: Int, day: Int): Int = (firstDayOffsets[month] + day - 1) / DAYS_IN_WEEK + 1
+
+    fun dayCenterX(month: Int, day: Int): Float = columnCenterX(month, dayColumn(month, day))
+
+    fun dayCenterY(month: Int, day: Int): Float = rowCenterY(month, dayRow(month, day))
+
+    /**
+     * The bottom of the numbers of the last week of a month.
+     */
+    fun lastRowBottom(month: Int, metrics: TextMetrics): Float =
+        dayCenterY(month, monthLengths[month]) + metrics.dayNumberHeight / 2f
+
+    /**
+     * The index of an epoch day in the year, from 0 for January 1st.
+     */
+    fun dayOfYear(epochDay: Int): Int = epochDay - monthStartEpochDays[0]
+
+    /**
+     * Whether the days were laid out by [layoutDays] and an epoch day is one of them.
+     */
+    fun hasDay(epochDay: Int): Boolean = dayOfYear(epochDay) in 0 until dayCount
+
+    // Geometry of the days laid out by layoutDays, indexed by the day of the year
+
+    fun dayCenterX(dayOfYear: Int): Float = dayCenters[dayOfYear * 2]
+
+    fun dayCenterY(dayOfYear: Int): Float = dayCenters[dayOfYear * 2 + 1]
+
+    fun dayTouchLeft(dayOfYear: Int): Float = dayTouchBounds[dayOfYear * 4]
+
+    fun dayTouchTop(dayOfYear: Int): Float = dayTouchBounds[dayOfYear * 4 + 1]
+
+    fun dayTouchRight(dayOfYear: Int): Float = dayTouchBounds[dayOfYear * 4 + 2]
+
+    fun dayTouchBottom(dayOfYear: Int): Float = dayTouchBounds[dayOfYear * 4 + 3]
+
+    /**
+     * The epoch day whose touch area, as laid out by [layoutDays], holds a point, or [NO_DAY] if
+     * none does. Only the days of the month under the point are looked at.
+     */
+    fun dayTouchedAt(x: Float, y: Float): Int {
+        val month = monthAt(x, y)
+        if (month < 0) return NO_DAY
+        val first = dayOfYear(monthStartEpochDays[month])
+        for (dayOfYear in first until minOf(first + monthLengths[month], dayCount)) {
+            if (x >= dayTouchLeft(dayOfYear) && x < dayTouchRight(dayOfYear) &&
+                y >= dayTouchTop(dayOfYear) && y < dayTouchBottom(dayOfYear)
+            ) {
+                return monthStartEpochDays[0] + dayOfYear
+            }
+        }
+        return NO_DAY
+    }
+
+    /**
+     * The month of an epoch day of the year, or -1 if the day is out of the year.
+     */
+    fun monthOf(epochDay: Int): Int {
+        for (month in MONTH_COUNT - 1 downTo 0) {
+            if (epochDay >= monthStartEpochDays[month]) {
+                return if (epochDay - monthStartEpochDays[month] < monthLengths[month]) month else -1
+            }
+        }
+        return -1
+    }
+
+    /**
+     * The month whose block holds a point, or -1 if none does.
+     */
+    fun monthAt(x: Float, y: Float): Int {
+        for (month in 0 until monthCount) {
+            if (x >= monthLeft(month) && x < monthRight(month) && y >= monthTop(month) && y < monthBottom(month)) {
+                return month
+            }
+        }
+        return -1
+    }
+
+    /**
+     * The epoch day whose cell holds a point, or [NO_DAY] if none does.
+     */
+    fun dayAt(x: Float, y: Float): Int {
+        val month = monthAt(x, y)
+        if (month < 0 || cellWidths[month] <= 0f || cellHeights[month] <= 0f || y < gridTops[month]) return NO_DAY
+        val column = ((x - monthLeft(month)) / cellWidths[month]).toInt()
+        // The row of day names comes first
+        val week = ((y - gridTops[month]) / cellHeights[month]).toInt() - 1
+        if (week < 0 || column >= DAYS_IN_WEEK) return NO_DAY
+        val day = week * DAYS_IN_WEEK + column - firstDayOffsets[month]
+        return if (day in 0 until monthLengths[month]) monthStartEpochDays[month] + day else NO_DAY
+    }
+
+    companion object {
+        const val MONTH_COUNT = 12
+        const val DAYS_IN_WEEK = 7
+
+        /**
+         * The rows of the grid of a month: the day names and up to six weeks.
+         */
+        const val ROWS_PER_MONTH = 7
+
+        /**
+         * Epoch day standing for no day at all.
+         */
+        const val NO_DAY = Int.MIN_VALUE
+
+        private const val MAX_DAYS_IN_YEAR = 366
+        private val EMPTY = FloatArray(0)
+
+        /**
+         * Writes the left, top, right and bottom of the block of a month in a grid of
+         * [columns] by [rows] blocks filling an area of the given size.
+         *
+         * @param index The position of the block in the grid, row by row.
+         */
+        fun blockBounds(
+            index: Int,
+            width: Float,
+            height: Float,
+            columns: Int,
+            rows: Int,
+            horizontalSpacing: Float,
+            verticalSpacing: Float,
+            out: FloatArray,
+            offset: Int = 0
+        ) {
+            val columnCount = columns.coerceAtLeast(1)
+            val rowCount = rows.coerceAtLeast(1)
+            val blockWidth = ((width - horizontalSpacing * (columnCount - 1)) / columnCount).coerceAtLeast(0f)
+            val blockHeight = ((height - verticalSpacing * (rowCount - 1)) / rowCount).coerceAtLeast(0f)
+            val left = index % columnCount * (blockWidth + horizontalSpacing)
+            val top = index / columnCount * (blockHeight + verticalSpacing)
+            out[offset] = left
+            out[offset + 1] = top
+            out[offset + 2] = left + blockWidth
+            out[offset + 3] = top + blockHeight
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.mamboa.yearview.core.layout
+
+import com.mamboa.yearview.core.TitleGravity
+
+/**
+ * How a [YearLayout] arranges the months of a year. Lengths are in the pixels of the renderer.
+ *
+ * @param columns The number of months per row.
+ * @param rows The number of rows of months. The months past `columns * rows` are not laid out.
+ * @param horizontalSpacing The space between two months of a row.
+ * @param verticalSpacing The space between two rows of months.
+ * @param marginBelowMonthName The space between the name of a month and its day names.
+ * @param monthSelectionMargin How far the highlight of a month goes past its block. Names aligned
+ * to a side of the block are inset by it, so that they stay inside the highlight.
+ * @param titleGravity Where the names of the months are placed.
+ * @param firstDayOfWeek The day the weeks start with, from 1 = Monday to 7 = Sunday.
+ * @param isRtl Whether the layout direction is right to left, for [TitleGravity.START] and
+ * [TitleGravity.END].
+ * @param dayTouchPadding The padding added around the number of a day to build its touch area.
+ */
+data class YearLayoutSpec(
+    val columns: Int = 3,
+    val rows: Int = 4,
+    val horizontalSpacing: Float = 0f,
+    val verticalSpacing: Float = 0f,
+    val marginBelowMonthName: Float = 0f,
+    val monthSelectionMargin: Float = 0f,
+    val titleGravity: TitleGravity = TitleGravity.CENTER,
+    val firstDayOfWeek: Int = 1,
+    val isRtl: Boolean = false,
+    val dayTouchPadding: Float = 0f
+)
@@ -0,0 +1,113 @@
+package com.mamboa.yearview.core
+
+import org.joda.time.Days
+import org.joda.time.LocalDate
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Checks [CalendarMath] against Joda-Time, which the views used for every day before.
+ */
+class CalendarMathTest {
+
+    @Test
+    fun everyDayFrom1900To2100_matchesJodaTime() {
+        var date = LocalDate(1900, 1, 1)
+        var epochDay = Days.daysBetween(EPOCH, date).days
+        val end = LocalDate(2100, 12, 31)
+        while (!date.isAfter(end)) {
+            assertDayMatches(date, epochDay)
+            date = date.plusDays(1)
+            epochDay++
+        }
+    }
+
+    @Test
+    fun everyMonthFrom1900To2100_matchesJodaTime() {
+        for (year in 1900..2100) {
+            assertEquals("Year $year", LocalDate(year, 1, 1).year().isLeap, CalendarMath.isLeapYear(year))
+            assertEquals("Year $year", LocalDate(year, 1, 1).dayOfYear().maximumValue, CalendarMath.daysInYear(year))
+            for (month in 1..12) {
+                val first = LocalDate(year, month, 1)
+                assertEquals("$first", first.dayOfMonth().maximumValue, CalendarMath.daysInMonth(year, month))
+                for (firstDayOfWeek in 1..7) {
+                    assertEquals(
+                        "$first, weeks starting on $firstDayOfWeek",
+                        (first.dayOfWeek - firstDayOfWeek + 7) % 7,
+                        CalendarMath.firstDayOffset(year, month, firstDayOfWeek)
+                    )
+                }
+            }
+        }
+    }
+
+    @Test
+    fun leapYears_followTheCenturyRules() {
+        assertTrue(CalendarMath.isLeapYear(1600))
+        assertFalse(CalendarMath.isLeapYear(1700))
+        assertFalse(CalendarMath.isLeapYear(1900))
+        assertTrue(CalendarMath.isLeapYear(2000))
+        assertTrue(CalendarMath.isLeapYear(2024))
+        assertFalse(CalendarMath.isLeapYear(2100))
+        assertEquals(29, CalendarMath.daysInMonth(2000, 2))
+        assertEquals(28, CalendarMath.daysInMonth(1900, 2))
+        assertEquals(28, CalendarMath.daysInMonth(2100, 2))
+    }
+
+    @Test
+    fun leapDays_roundTrip() {
+        for (year in listOf(1600, 1904, 1996, 2000, 2024, 2096)) {
+            val epochDay = CalendarMath.epochDay(year, 2, 29)
+            assertEquals(Days.daysBetween(EPOCH, LocalDate(year, 2, 29)).days, epochDay)
+            assertEquals(29, CalendarMath.dayOfMonthOf(epochDay))
+            assertEquals(2, CalendarMath.monthOf(epochDay))
+            // The day after the leap day is March 1st
+            assertEquals(3, CalendarMath.monthOf(epochDay + 1))
+            assertEquals(1, CalendarMath.dayOfMonthOf(epochDay + 1))
+        }
+        // Without a leap day, February 28th is followed by March 1st
+        val february28 = CalendarMath.epochDay(1900, 2, 28)
+        assertEquals(CalendarMath.epochDay(1900, 3, 1), february28 + 1)
+    }
+
+    @Test
+    fun epochDays_aroundAndBeforeTheEpoch() {
+        assertEquals(0, CalendarMath.epochDay(1970, 1, 1))
+        assertEquals(-1, CalendarMath.epochDay(1969, 12, 31))
+        assertEquals(-365, CalendarMath.epochDay(1969, 1, 1))
+        // 1970-01-01 was a Thursday and 1969-12-31 a Wednesday
+        assertEquals(4, CalendarMath.dayOfWeek(0))
+        assertEquals(3, CalendarMath.dayOfWeek(-1))
+        assertEquals(4, CalendarMath.dayOfWeek(-7))
+
+        // Years before the first era of the computations, down to the proleptic year 0 and below
+        for (date in listOf(
+            LocalDate(1969, 12, 31),
+            LocalDate(1900, 3, 1),
+            LocalDate(1600, 2, 29),
+            LocalDate(1, 1, 1),
+            LocalDate(0, 2, 29),
+            LocalDate(0, 3, 1),
+            LocalDate(-1, 12, 31),
+            LocalDate(-400, 2, 29)
+        )) {
+            assertDayMatches(date, Days.daysBetween(EPOCH, date).days)
+        }
+    }
+
+    private fun assertDayMatches(date: LocalDate, epochDay: Int) {
+        assertEquals("$date", epochDay, CalendarMath.epochDay(date.year, date.monthOfYear, date.dayOfMonth))
+        assertEquals("$date", date.dayOfWeek, CalendarMath.dayOfWeek(epochDay))
+
+        val packed = CalendarMath.toDate(epochDay)
+        assertEquals("$date", date.year, CalendarMath.unpackYear(packed))
+        assertEquals("$date", date.monthOfYear, CalendarMath.unpackMonth(packed))
+        assertEquals("$date", date.dayOfMonth, CalendarMath.unpackDay(packed))
+    }
+
+    private companion object {
+        val EPOCH = LocalDate(1970, 1, 1)
+    }
+}
@@ -0,0 +1,247 @@
+package com.mamboa.yearview.core.draw
+
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_CURRENT_MONTH_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_DAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_DAY_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_MONTH_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_MONTH_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_RANGE_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_SELECTED_DAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_SELECTED_DAY_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_TODAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_TODAY_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_WEEKEND_DAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_WEEKEND_DAY_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.OP_IMAGE
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.OP_SHAPE
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.OP_TEXT
+import com.mamboa.yearview.core.layout.FixedTextMetrics
+import com.mamboa.yearview.core.layout.YearLayout
+import com.mamboa.yearview.core.layout.YearLayout.Companion.NO_DAY
+import com.mamboa.yearview.core.layout.YearLayoutSpec
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Records years laid out in 3 by 4 months of 210 by 140, whose days have cells of 30 by 18, and
+ * replays them against what the [YearDrawSpec] and the [YearLayout] ask for.
+ */
+class YearDrawRecorderTest {
+    private val spec = YearDrawSpec(
+        monthBackgroundShape = MONTH_SHAPE,
+        todayShape = TODAY_SHAPE,
+        selectedDayShape = SELECTED_SHAPE,
+        rangeShape = RANGE_SHAPE,
+        todayRadius = 6f,
+        weekendDays = YearDrawSpec.weekendMask(listOf(6, 7)),
+        weekendDayNames = true
+    )
+
+    private fun layoutOf(year: Int = 2024, spec: YearLayoutSpec = YearLayoutSpec(), currentMonth: Int = -1) =
+        YearLayout().apply { layout(year, 630f, 560f, spec, FixedTextMetrics, currentMonth) }
+
+    private fun replay(
+        layout: YearLayout,
+        spec: YearDrawSpec = this.spec,
+        today: Int = NO_DAY,
+        selected: Int = NO_DAY,
+        rangeStart: Int = NO_DAY,
+        rangeEnd: Int = NO_DAY,
+        commands: YearDrawCommands = YearDrawCommands()
+    ): List<Command> {
+        YearDrawRecorder.record(layout, FixedTextMetrics, spec, today, selected, rangeStart, rangeEnd, commands)
+        return CommandList().also { commands.replay(it) }.commands
+    }
+
+    @Test
+    fun record_drawsEveryMonthAndDayOnce() {
+        val commands = replay(layoutOf())
+
+        // Per month its background, its name and 7 day names, then the 366 days of 2024
+        assertEquals(12 * 9 + 366, commands.size)
+        assertEquals(12, commands.count { it.op == OP_SHAPE && it.colorRole == COLOR_MONTH_BACKGROUND })
+        assertEquals(12 * 7, commands.count { it.colorRole == COLOR_DAY_NAME || it.colorRole == COLOR_WEEKEND_DAY_NAME })
+        assertEquals(366, commands.count { it.colorRole == COLOR_DAY || it.colorRole == COLOR_WEEKEND_DAY })
+    }
+
+    @Test
+    fun record_centersTheDaysInTheirCells() {
+        val layout = layoutOf()
+        val days = replay(layout).filter { it.colorRole == COLOR_DAY || it.colorRole == COLOR_WEEKEND_DAY }
+
+        var index = 0
+        for (month in 0 until layout.monthCount) {
+            for (day in 1..layout.monthLength(month)) {
+                val command = days[index++]
+                assertEquals(YearDrawCommands.dayNumberId(day), command.id)
+                assertEquals(layout.dayCenterX(month, day), (command.left + command.right) / 2f, 0.001f)
+                assertEquals(layout.dayCenterY(month, day), (command.top + command.bottom) / 2f, 0.001f)
+                assertEquals(layout.cellWidth(month), command.right - command.left, 0.001f)
+                assertEquals(layout.cellHeight(month), command.bottom - command.top, 0.001f)
+                // The recorded box is the cell the layout finds the day in
+                val epochDay = layout.monthStartEpochDay(month) + day - 1
+                assertEquals(epochDay, layout.dayAt(command.left, command.top))
+            }
+        }
+    }
+
+    @Test
+    fun record_drawsTheMonthsInTheirBlocks() {
+        val layout = layoutOf()
+        val commands = replay(layout)
+
+        val backgrounds = commands.filter { it.colorRole == COLOR_MONTH_BACKGROUND }
+        val names = commands.filter { it.colorRole == COLOR_MONTH_NAME }
+        for (month in 0 until 12) {
+            assertEquals(Command(OP_SHAPE, MONTH_SHAPE, COLOR_MONTH_BACKGROUND,
+                layout.monthLeft(month), layout.monthTop(month), layout.monthRight(month), layout.monthBottom(month)),
+                backgrounds[month])
+            assertEquals(Command(OP_TEXT, YearDrawCommands.monthNameId(month + 1), COLOR_MONTH_NAME,
+                layout.titleLeft(month), layout.monthTop(month), layout.titleLeft(month) + 50f, layout.monthTop(month) + 14f),
+                names[month])
+        }
+    }
+
+    @Test
+    fun record_colorsTheWeekendDaysAndTheirNames() {
+        val commands = replay(layoutOf())
+
+        // January 2024 starts on a Monday: its first Saturday and Sunday are the 6th and the 7th
+        val january = commands.subList(0, 9 + 31)
+        val dayNames = january.filter { it.colorRole == COLOR_DAY_NAME || it.colorRole == COLOR_WEEKEND_DAY_NAME }
+        assertEquals((1..7).map { YearDrawCommands.dayNameId(it) }, dayNames.map { it.id })
+        assertEquals(
+            listOf(COLOR_DAY_NAME, COLOR_DAY_NAME, COLOR_DAY_NAME, COLOR_DAY_NAME, COLOR_DAY_NAME,
+                COLOR_WEEKEND_DAY_NAME, COLOR_WEEKEND_DAY_NAME),
+            dayNames.map { it.colorRole }
+        )
+        val days = january.drop(9)
+        assertEquals(COLOR_DAY, days[4].colorRole)
+        assertEquals(COLOR_WEEKEND_DAY, days[5].colorRole)
+        assertEquals(COLOR_WEEKEND_DAY, days[6].colorRole)
+        assertEquals(COLOR_DAY, days[7].colorRole)
+    }
+
+    @Test
+    fun record_drawsTodayOverABackgroundShrunkToItsRadius() {
+        val layout = layoutOf(currentMonth = 2)
+        val today = CalendarMath.epochDay(2024, 3, 10)
+        val commands = replay(layout, today = today)
+
+        val background = commands.single { it.colorRole == COLOR_TODAY_BACKGROUND }
+        val x = layout.dayCenterX(2, 10)
+        val y = layout.dayCenterY(2, 10)
+        assertEquals(Command(OP_SHAPE, TODAY_SHAPE, COLOR_TODAY_BACKGROUND, x - 6f, y - 6f, x + 6f, y + 6f), background)
+        // Drawn right before the number of today
+        val text = commands[commands.indexOf(background) + 1]
+        assertEquals(Command(OP_TEXT, YearDrawCommands.dayNumberId(10), COLOR_TODAY,
+            x - 15f, y - layout.cellHeight(2) / 2f, x + 15f, y + layout.cellHeight(2) / 2f), text)
+
+        // Only the name of March is drawn as the current month
+        val currentName = commands.single { it.colorRole == COLOR_CURRENT_MONTH_NAME }
+        assertEquals(YearDrawCommands.monthNameId(3), currentName.id)
+        assertEquals(60f, currentName.right - currentName.left, 0f)
+        assertEquals(16f, currentName.bottom - currentName.top, 0f)
+    }
+
+    @Test
+    fun record_prefersTheSelectedDayToToday() {
+        val day = CalendarMath.epochDay(2024, 3, 10)
+        val commands = replay(layoutOf(), spec = spec.copy(hasSelectedDayText = true), today = day, selected = day)
+
+        assertEquals(0, commands.count { it.colorRole == COLOR_TODAY_BACKGROUND || it.colorRole == COLOR_TODAY })
+        val background = commands.single { it.colorRole == COLOR_SELECTED_DAY_BACKGROUND }
+        // Not given a radius, the background fills the height of the cell
+        assertEquals(18f, background.bottom - background.top, 0.001f)
+        val text = commands.single { it.colorRole == COLOR_SELECTED_DAY }
+        assertEquals(YearDrawCommands.SELECTED_DAY_TEXT_ID, text.id)
+    }
+
+    @Test
+    fun record_drawsTheRangeBehindItsDays() {
+        val start = CalendarMath.epochDay(2024, 1, 30)
+        val end = CalendarMath.epochDay(2024, 2, 2)
+        val commands = replay(layoutOf(), rangeStart = start, rangeEnd = end)
+
+        val range = commands.filter { it.colorRole == COLOR_RANGE_BACKGROUND }
+        assertEquals(4, range.size)
+        assertTrue(range.all { it.op == OP_SHAPE && it.id == RANGE_SHAPE })
+
+        // A range missing an end draws nothing
+        assertEquals(0, replay(layoutOf(), rangeStart = start).count { it.colorRole == COLOR_RANGE_BACKGROUND })
+    }
+
+    @Test
+    fun record_leavesOutTheBackgroundsWithoutShape() {
+        val day = CalendarMath.epochDay(2024, 3, 10)
+        val commands = replay(layoutOf(), spec = YearDrawSpec(monthBackgroundImage = 0), today = day)
+
+        assertEquals(0, commands.count { it.op == OP_SHAPE })
+        assertEquals(12, commands.count { it.op == OP_IMAGE && it.colorRole == COLOR_MONTH_BACKGROUND })
+        assertEquals(1, commands.count { it.colorRole == COLOR_TODAY })
+    }
+
+    @Test
+    fun record_onlyDrawsTheMonthsLaidOut() {
+        val layout = YearLayout().apply {
+            layout(2024, 420f, 420f, YearLayoutSpec(columns = 2, rows = 3), FixedTextMetrics)
+        }
+        val commands = replay(layout)
+
+        assertEquals(6 * 9 + layout.dayCount, commands.size)
+        assertEquals(
+            (1..6).map { YearDrawCommands.monthNameId(it) },
+            commands.filter { it.colorRole == COLOR_MONTH_NAME }.map { it.id }
+        )
+    }
+
+    @Test
+    fun record_startsAgainFromAnEmptyBuffer() {
+        val layout = layoutOf()
+        val buffer = YearDrawCommands()
+        val first = replay(layout, today = CalendarMath.epochDay(2024, 3, 10), commands = buffer)
+        val second = replay(layout, today = CalendarMath.epochDay(2024, 3, 10), commands = buffer)
+
+        assertEquals(first, second)
+        assertEquals(first.size, buffer.size)
+
+        // The leap day is left out of a common year recorded into the same buffer
+        replay(layoutOf(year = 2023), commands = buffer)
+        assertEquals(12 * 9 + 365, buffer.size)
+    }
+
+    private data class Command(
+        val op: Int,
+        val id: Int,
+        val colorRole: Int,
+        val left: Float,
+        val top: Float,
+        val right: Float,
+        val bottom: Float
+    )
+
+    private class CommandList : YearDrawCommands.Target {
+        val commands = mutableListOf<Command>()
+
+        override fun text(id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float) {
+            commands += Command(OP_TEXT, id, colorRole, left, top, right, bottom)
+        }
+
+        override fun shape(id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float) {
+            commands += Command(OP_SHAPE, id, colorRole, left, top, right, bottom)
+        }
+
+        override fun image(id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float) {
+            commands += Command(OP_IMAGE, id, colorRole, left, top, right, bottom)
+        }
+    }
+
+    private companion object {
+        const val MONTH_SHAPE = 0
+        const val TODAY_SHAPE = 1
+        const val SELECTED_SHAPE = 2
+        const val RANGE_SHAPE = 3
+    }
+}
@@ -0,0 +1,16 @@
+package com.mamboa.yearview.core.layout
+
+/**
+ * Text sizes known in advance, in place of those of a text engine: month names are 50 by 14,
+ * or 60 by 16 for the current month, and day numbers are 10 high, 8 wide below 10 and 16 wide
+ * from 10 on.
+ */
+internal object FixedTextMetrics : TextMetrics {
+    override fun monthNameWidth(month: Int, isCurrentMonth: Boolean): Float = if (isCurrentMonth) 60f else 50f
+
+    override fun monthNameHeight(month: Int, isCurrentMonth: Boolean): Float = if (isCurrentMonth) 16f else 14f
+
+    override fun dayNumberWidth(day: Int): Float = if (day < 10) 8f else 16f
+
+    override val dayNumberHeight: Float = 10f
+}
@@ -0,0 +1,226 @@
+package com.mamboa.yearview.core.layout
+
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.TitleGravity
+import com.mamboa.yearview.core.layout.YearLayout.Companion.NO_DAY
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Lays out years of 3 by 4 months of 210 by 140, unless said otherwise: with the month names of
+ * [FixedTextMetrics], the cells of the days are 30 by 18 and the grid of a month starts 14 below
+ * its top. 2024 starts on a Monday, the first day of the week, so January has no leading cell.
+ */
+class YearLayoutTest {
+
+    private fun layoutOf(
+        year: Int = 2024,
+        spec: YearLayoutSpec = YearLayoutSpec(dayTouchPadding = 2f),
+        width: Float = 630f,
+        height: Float = 560f
+    ) = YearLayout().apply { layout(year, width, height, spec, FixedTextMetrics) }
+
+    @Test
+    fun blockBounds_splitsTheAreaBetweenTheSpacings() {
+        val out = FloatArray(8)
+        YearLayout.blockBounds(4, 630f, 560f, 3, 4, 0f, 0f, out)
+        assertArrayEquals(floatArrayOf(210f, 140f, 420f, 280f), out.copyOf(4), 0f)
+
+        // 640 wide with two spacings of 5 leaves 210 per block
+        YearLayout.blockBounds(1, 640f, 575f, 3, 4, 5f, 5f, out, offset = 4)
+        assertArrayEquals(floatArrayOf(215f, 0f, 425f, 140f), out.copyOfRange(4, 8), 0f)
+    }
+
+    @Test
+    fun monthAt_includesTheLeftAndTopEdgesOfABlockOnly() {
+        val layout = layoutOf()
+
+        assertEquals(0, layout.monthAt(0f, 0f))
+        assertEquals(0, layout.monthAt(209.99f, 139.99f))
+        assertEquals(1, layout.monthAt(210f, 0f))
+        assertEquals(3, layout.monthAt(0f, 140f))
+        assertEquals(11, layout.monthAt(629.99f, 559.99f))
+        assertEquals(-1, layout.monthAt(630f, 0f))
+        assertEquals(-1, layout.monthAt(0f, 560f))
+        assertEquals(-1, layout.monthAt(-0.01f, 0f))
+    }
+
+    @Test
+    fun monthAt_findsNoMonthBetweenTheBlocks() {
+        val layout = layoutOf(spec = YearLayoutSpec(horizontalSpacing = 5f, verticalSpacing = 5f), width = 640f, height = 575f)
+
+        assertEquals(0, layout.monthAt(209.99f, 10f))
+        assertEquals(-1, layout.monthAt(212f, 10f))
+        assertEquals(1, layout.monthAt(215f, 10f))
+        assertEquals(-1, layout.monthAt(10f, 142f))
+    }
+
+    @Test
+    fun dayAt_includesTheLeftAndTopEdgesOfACellOnly() {
+        val layout = layoutOf()
+        val january1 = CalendarMath.epochDay(2024, 1, 1)
+
+        assertEquals(14f, layout.gridTop(0), 0f)
+        assertEquals(30f, layout.cellWidth(0), 0f)
+        assertEquals(18f, layout.cellHeight(0), 0f)
+
+        // The first week is the row below the day names, from 32 to 50
+        assertEquals(january1, layout.dayAt(0f, 32f))
+        assertEquals(january1, layout.dayAt(29.99f, 49.99f))
+        assertEquals(january1 + 1, layout.dayAt(30f, 32f))
+        assertEquals(january1 + 7, layout.dayAt(0f, 50f))
+
+        // The month name and the day names are not days
+        assertEquals(NO_DAY, layout.dayAt(0f, 13.99f))
+        assertEquals(NO_DAY, layout.dayAt(0f, 31.99f))
+
+        // January 31st is a Wednesday, the cells after it are empty
+        assertEquals(CalendarMath.epochDay(2024, 1, 31), layout.dayAt(60f, 104f))
+        assertEquals(NO_DAY, layout.dayAt(90f, 104f))
+    }
+
+    @Test
+    fun dayAt_skipsTheLeadingCellsOfAMonth() {
+        val layout = layoutOf()
+
+        // February 1st 2024 is a Thursday, the fourth column of the block of February
+        assertEquals(3, layout.firstDayOffset(1))
+        assertEquals(NO_DAY, layout.dayAt(299.99f, 32f))
+        assertEquals(CalendarMath.epochDay(2024, 2, 1), layout.dayAt(300f, 32f))
+    }
+
+    @Test
+    fun dayTouchedAt_includesTheLeftAndTopEdgesOfATouchAreaOnly() {
+        val layout = layoutOf()
+        val january1 = CalendarMath.epochDay(2024, 1, 1)
+        val dayOfYear = layout.dayOfYear(january1)
+
+        // The number 1 is 8 by 10, centered in its cell, and padded by 2
+        assertEquals(15f, layout.dayCenterX(dayOfYear), 0f)
+        assertEquals(41f, layout.dayCenterY(dayOfYear), 0f)
+        assertEquals(9f, layout.dayTouchLeft(dayOfYear), 0f)
+        assertEquals(34f, layout.dayTouchTop(dayOfYear), 0f)
+        assertEquals(21f, layout.dayTouchRight(dayOfYear), 0f)
+        assertEquals(48f, layout.dayTouchBottom(dayOfYear), 0f)
+
+        assertEquals(january1, layout.dayTouchedAt(9f, 34f))
+        assertEquals(january1, layout.dayTouchedAt(20.99f, 47.99f))
+        assertEquals(NO_DAY, layout.dayTouchedAt(8.99f, 41f))
+        assertEquals(NO_DAY, layout.dayTouchedAt(21f, 41f))
+        assertEquals(NO_DAY, layout.dayTouchedAt(15f, 48f))
+
+        // Within the cell but outside of the touch area
+        assertEquals(january1, layout.dayAt(2f, 33f))
+        assertEquals(NO_DAY, layout.dayTouchedAt(2f, 33f))
+    }
+
+    @Test
+    fun layoutDays_followTheCellsOfTheDays() {
+        val layout = layoutOf()
+        for (month in 0 until layout.monthCount) {
+            for (day in 1..layout.monthLength(month)) {
+                val epochDay = layout.monthStartEpochDay(month) + day - 1
+                val dayOfYear = layout.dayOfYear(epochDay)
+                val x = layout.dayCenterX(dayOfYear)
+                val y = layout.dayCenterY(dayOfYear)
+                assertEquals(layout.dayCenterX(month, day), x, 0f)
+                assertEquals(layout.dayCenterY(month, day), y, 0f)
+                assertEquals(epochDay, layout.dayAt(x, y))
+                assertEquals(epochDay, layout.dayTouchedAt(x, y))
+                assertEquals(month, layout.monthOf(epochDay))
+            }
+        }
+    }
+
+    @Test
+    fun leapYears_layOutTheirFebruary29th() {
+        val layout = layoutOf(year = 2024)
+        val february29 = CalendarMath.epochDay(2024, 2, 29)
+
+        assertEquals(366, layout.dayCount)
+        assertEquals(29, layout.monthLength(1))
+        assertEquals(1, layout.monthOf(february29))
+        // February 29th 2024 is a Thursday, in the fifth week
+        assertEquals(february29, layout.dayAt(300f, 104f))
+        assertEquals(365, layout.dayOfYear(CalendarMath.epochDay(2024, 12, 31)))
+        assertEquals(11, layout.monthOf(CalendarMath.epochDay(2024, 12, 31)))
+        assertEquals(-1, layout.monthOf(CalendarMath.epochDay(2025, 1, 1)))
+    }
+
+    @Test
+    fun layout_reusesItsBuffersForACommonYear() {
+        val layout = YearLayout()
+        layout.layout(2024, 630f, 560f, YearLayoutSpec(), FixedTextMetrics)
+        val reused = layout.apply { layout(2023, 630f, 560f, YearLayoutSpec(), FixedTextMetrics) }
+
+        assertSame(layout, reused)
+        assertEquals(2, layout.generation)
+        assertEquals(2023, layout.year)
+        assertEquals(365, layout.dayCount)
+        assertEquals(28, layout.monthLength(1))
+        assertFalse(layout.hasDay(CalendarMath.epochDay(2024, 12, 31)))
+        assertTrue(layout.hasDay(CalendarMath.epochDay(2023, 12, 31)))
+        assertEquals(NO_DAY, layout.dayAt(300f, 104f))
+    }
+
+    @Test
+    fun fewerBlocksThanMonths_layOutTheFirstMonthsOnly() {
+        val layout = layoutOf(spec = YearLayoutSpec(columns = 2, rows = 3), width = 420f, height = 420f)
+
+        assertEquals(6, layout.monthCount)
+        assertEquals(31 + 29 + 31 + 30 + 31 + 30, layout.dayCount)
+        assertEquals(5, layout.monthAt(419.99f, 419.99f))
+        assertTrue(layout.hasDay(CalendarMath.epochDay(2024, 6, 30)))
+        assertFalse(layout.hasDay(CalendarMath.epochDay(2024, 7, 1)))
+        for (x in 0 until 420 step 7) {
+            for (y in 0 until 420 step 7) {
+                val epochDay = layout.dayAt(x.toFloat(), y.toFloat())
+                assertTrue(epochDay == NO_DAY || layout.monthOf(epochDay) < 6)
+            }
+        }
+    }
+
+    @Test
+    fun noBlocks_layOutJanuaryOverTheWholeArea() {
+        val layout = layoutOf(spec = YearLayoutSpec(columns = 0, rows = 0))
+
+        assertEquals(1, layout.monthCount)
+        assertEquals(31, layout.dayCount)
+        assertEquals(630f, layout.monthRight(0), 0f)
+        assertEquals(560f, layout.monthBottom(0), 0f)
+        assertEquals(-1, layout.monthAt(0f, 560f))
+    }
+
+    @Test
+    fun startAndEndGravities_followTheLayoutDirection() {
+        fun titleLeft(gravity: TitleGravity, isRtl: Boolean) = layoutOf(
+            spec = YearLayoutSpec(monthSelectionMargin = 4f, titleGravity = gravity, isRtl = isRtl)
+        ).titleLeft(1)
+
+        // The block of February goes from 210 to 420 and its name is 50 wide
+        assertEquals(214f, titleLeft(TitleGravity.START, isRtl = false), 0f)
+        assertEquals(366f, titleLeft(TitleGravity.START, isRtl = true), 0f)
+        assertEquals(366f, titleLeft(TitleGravity.END, isRtl = false), 0f)
+        assertEquals(214f, titleLeft(TitleGravity.END, isRtl = true), 0f)
+
+        // Absolute gravities ignore the direction
+        assertEquals(214f, titleLeft(TitleGravity.LEFT, isRtl = true), 0f)
+        assertEquals(366f, titleLeft(TitleGravity.RIGHT, isRtl = true), 0f)
+        assertEquals(290f, titleLeft(TitleGravity.CENTER, isRtl = true), 0f)
+    }
+
+    @Test
+    fun currentMonth_isLaidOutBelowItsTallerName() {
+        val layout = YearLayout().apply {
+            layout(2024, 630f, 560f, YearLayoutSpec(), FixedTextMetrics, currentMonth = 2)
+        }
+
+        assertEquals(14f, layout.gridTop(1) - layout.monthTop(1), 0f)
+        assertEquals(16f, layout.gridTop(2) - layout.monthTop(2), 0f)
+        assertEquals((140f - 16f) / 7f, layout.cellHeight(2), 0.0001f)
+    }
+}
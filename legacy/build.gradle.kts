@@ -49,6 +49,8 @@ dependencies {
     implementation(libs.joda.time)
     implementation(libs.androidx.annotation.jvm)
     implementation(libs.androidx.core)
+    api(libs.androidx.recyclerview)
+    implementation(libs.androidx.customview)
     testImplementation(libs.junit)
     androidTestImplementation(libs.androidx.junit)
 }
@@ -0,0 +1,101 @@
+package com.mamboa.yearview.legacy
+
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.RenderNode
+import android.os.Build
+import android.os.Bundle
+import android.os.SystemClock
+import android.util.Log
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.mamboa.yearview.core.CalendarMath
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Compares the time to draw a frame of a [YearSurfaceView] after the selected day moved to another
+ * month, when only the two months concerned are recorded again and when the whole year is, as
+ * before months had display lists of their own.
+ *
+ * Frames are drawn on the canvas of a [RenderNode] on API 29 and above, as the hardware canvas of
+ * the surface is, on the canvas of a bitmap below. The medians are reported in the status of the
+ * instrumentation and logged under [TAG]:
+ *
+ * ```
+ * ./gradlew :legacy:connectedAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.mamboa.yearview.legacy.MonthRecordingBenchmark
+ * adb logcat -s MonthRecordingBenchmark
+ * ```
+ */
+@RunWith(AndroidJUnit4::class)
+class MonthRecordingBenchmark {
+
+    @Test
+    fun selectionChangeToAnotherMonth() {
+        val instrumentation = InstrumentationRegistry.getInstrumentation()
+        val context = instrumentation.targetContext
+        val style = YearViewStyle.obtain(context)
+        val metrics = YearTextMetrics.obtain(style)
+        val density = context.resources.displayMetrics.density
+        val grid = YearGrid(YEAR, WIDTH, HEIGHT, style, density, metrics, currentMonth = 2, isRtl = false)
+        val renderer = YearCanvasRenderer(style, density, metrics)
+        val today = CalendarMath.epochDay(YEAR, 3, 10)
+        // The selection goes back and forth between March and April
+        val selectedDays = intArrayOf(CalendarMath.epochDay(YEAR, 3, 20), CalendarMath.epochDay(YEAR, 4, 20))
+
+        val perMonthNanos = medianFrameNanos { frame ->
+            drawFrame { renderer.draw(it, grid, today, selectedDays[frame % 2]) }
+        }
+        val wholeYearNanos = medianFrameNanos { frame ->
+            renderer.invalidateAll()
+            drawFrame { renderer.draw(it, grid, today, selectedDays[frame % 2]) }
+        }
+        renderer.release()
+
+        Log.i(TAG, "Frame after a selection change, two months recorded: ${perMonthNanos / 1000} us")
+        Log.i(TAG, "Frame after a selection change, whole year recorded: ${wholeYearNanos / 1000} us")
+        instrumentation.sendStatus(0, Bundle().apply {
+            putLong("perMonthFrameNanos", perMonthNanos)
+            putLong("wholeYearFrameNanos", wholeYearNanos)
+        })
+    }
+
+    private fun medianFrameNanos(frame: (Int) -> Unit): Long {
+        repeat(WARMUP_FRAMES) { frame(it) }
+        val durations = LongArray(MEASURED_FRAMES) { index ->
+            val start = SystemClock.elapsedRealtimeNanos()
+            frame(WARMUP_FRAMES + index)
+            SystemClock.elapsedRealtimeNanos() - start
+        }
+        durations.sort()
+        return durations[MEASURED_FRAMES / 2]
+    }
+
+    private fun drawFrame(draw: (Canvas) -> Unit) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            val node = frameNode
+            node.setPosition(0, 0, WIDTH, HEIGHT)
+            val canvas = node.beginRecording()
+            try {
+                draw(canvas)
+            } finally {
+                node.endRecording()
+            }
+        } else {
+            draw(Canvas(frameBitmap))
+        }
+    }
+
+    private val frameNode by lazy { RenderNode("MonthRecordingBenchmark") }
+    private val frameBitmap by lazy { Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888) }
+
+    private companion object {
+        const val TAG = "MonthRecordingBenchmark"
+        const val YEAR = 2025
+        const val WIDTH = 1920
+        const val HEIGHT = 1080
+        const val WARMUP_FRAMES = 20
+        const val MEASURED_FRAMES = 101
+    }
+}
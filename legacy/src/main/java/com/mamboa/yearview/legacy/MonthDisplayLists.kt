@@ -0,0 +1,119 @@
+package com.mamboa.yearview.legacy
+
+import android.graphics.Canvas
+import android.graphics.Picture
+import android.graphics.Rect
+import android.graphics.RenderNode
+import android.os.Build
+import androidx.annotation.RequiresApi
+
+private const val MONTH_COUNT = 12
+
+/**
+ * Keeps the drawing of each month of a legacy year view in its own display list, so that a frame only
+ * records again the months whose content changed, e.g. the months a selection or today leaves and
+ * enters. The other months, and every month while the view scrolls or fades, are replayed as
+ * recorded.
+ *
+ * Months are recorded into a [RenderNode] on API 29 and above when the canvas is hardware
+ * accelerated, into a [Picture] otherwise.
+ *
+ * A month is recorded again whenever its key or the size of its bounds changes. The key must hold
+ * everything the drawing of the month depends on.
+ */
+internal class MonthDisplayLists {
+    private val keys = arrayOfNulls<Any>(MONTH_COUNT)
+    private val recordedBounds = Array(MONTH_COUNT) { Rect() }
+    private val pictures = arrayOfNulls<Picture>(MONTH_COUNT)
+
+    // Render nodes, typed as Any so that the class is not resolved below API 29
+    private val renderNodes = arrayOfNulls<Any>(MONTH_COUNT)
+
+    /**
+     * Draws a month from its display list, recording the list first if the key of the month or
+     * the size of its bounds changed.
+     *
+     * @param bounds The bounds of the month in the view. Moving them without resizing them does
+     * not record the month again.
+     * @param key Everything the drawing of the month depends on.
+     * @param record Draws the month, in the coordinates of the view.
+     * @return Whether the month was recorded again.
+     */
+    fun draw(canvas: Canvas, month: Int, bounds: Rect, key: Any, record: (Canvas) -> Unit): Boolean {
+        val recorded = recordedBounds[month]
+        val isStale = keys[month] != key ||
+                recorded.width() != bounds.width() || recorded.height() != bounds.height()
+        if (isStale) {
+            keys[month] = key
+            recorded.set(bounds)
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && canvas.isHardwareAccelerated) {
+            val node = renderNodes[month] as RenderNode?
+                ?: RenderNodes.create(month).also { renderNodes[month] = it }
+            RenderNodes.draw(canvas, node, bounds, isStale || !node.hasDisplayList(), record)
+        } else {
+            var picture = pictures[month]
+            if (isStale || picture == null) {
+                picture = picture ?: Picture().also { pictures[month] = it }
+                val pictureCanvas = picture.beginRecording(bounds.width(), bounds.height())
+                pictureCanvas.translate(-bounds.left.toFloat(), -bounds.top.toFloat())
+                record(pictureCanvas)
+                picture.endRecording()
+            }
+            canvas.save()
+            canvas.translate(bounds.left.toFloat(), bounds.top.toFloat())
+            canvas.drawPicture(picture)
+            canvas.restore()
+        }
+        return isStale
+    }
+
+    /**
+     * Forces a month to be recorded again the next time it is drawn.
+     */
+    fun invalidate(month: Int) {
+        keys[month] = null
+    }
+
+    /**
+     * Forces every month to be recorded again the next time it is drawn.
+     */
+    fun invalidateAll() {
+        keys.fill(null)
+    }
+
+    /**
+     * Drops the recorded lists, e.g. when the view is detached from its window.
+     */
+    fun release() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            renderNodes.forEach { (it as RenderNode?)?.discardDisplayList() }
+        }
+        renderNodes.fill(null)
+        pictures.fill(null)
+        keys.fill(null)
+    }
+
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private object RenderNodes {
+        fun create(month: Int) = RenderNode("YearView month $month")
+
+        fun draw(canvas: Canvas, node: RenderNode, bounds: Rect, isStale: Boolean, record: (Canvas) -> Unit) {
+            if (isStale) {
+                node.setPosition(0, 0, bounds.width(), bounds.height())
+                val nodeCanvas = node.beginRecording()
+                try {
+                    nodeCanvas.translate(-bounds.left.toFloat(), -bounds.top.toFloat())
+                    record(nodeCanvas)
+                } finally {
+                    node.endRecording()
+                }
+            }
+            // Moving a node only changes its translation, its display list is replayed as is
+            node.translationX = bounds.left.toFloat()
+            node.translationY = bounds.top.toFloat()
+            canvas.drawRenderNode(node)
+        }
+    }
+}
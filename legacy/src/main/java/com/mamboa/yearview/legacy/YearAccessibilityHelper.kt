@@ -0,0 +1,138 @@
+package com.mamboa.yearview.legacy
+
+import android.graphics.Rect
+import android.graphics.RectF
+import android.os.Bundle
+import android.view.View
+import android.view.accessibility.AccessibilityEvent
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat.AccessibilityActionCompat
+import androidx.customview.widget.ExploreByTouchHelper
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.YearAccessibilityLabels
+import java.util.Locale
+
+private const val MONTH_COUNT = 12
+
+/**
+ * Virtual accessibility views of the months and days of a legacy year view, for screen readers
+ * such as TalkBack. A month is followed by its days in the traversal order.
+ *
+ * Nothing is built per node: the node under a finger is found with the arithmetic hit-test of the
+ * [YearGrid], the bounds of a node are computed from the grid into a reused rectangle, and labels
+ * come from the [YearAccessibilityLabels] shared by the views of the same year. The node infos
+ * themselves are obtained from, and given back to, the pool of the framework by
+ * [ExploreByTouchHelper].
+ *
+ * The ids of the months are their indexes, from 0 = January, those of the days follow, from 12 for
+ * January 1st.
+ */
+internal class YearAccessibilityHelper(
+    host: View,
+    private val callbacks: Callbacks
+) : ExploreByTouchHelper(host) {
+
+    /**
+     * What the helper reads from and forwards to its view.
+     */
+    interface Callbacks {
+        /**
+         * The grid on the screen, null until the year was drawn once.
+         */
+        val grid: YearGrid?
+
+        val todayEpochDay: Int
+
+        val selectedEpochDay: Int
+
+        /**
+         * Performs a click, or a long click, on a month, from 0 = January.
+         */
+        fun onMonthGesture(month: Int, isLongPress: Boolean)
+
+        /**
+         * Performs a click, or a long click, on a day.
+         */
+        fun onDayGesture(epochDay: Int, isLongPress: Boolean)
+    }
+
+    private val scratchBounds = RectF()
+    private val nodeBounds = Rect()
+    private val todayState = host.resources.getString(R.string.year_view_today)
+    private val selectedState = host.resources.getString(R.string.year_view_selected)
+
+    override fun getVirtualViewAt(x: Float, y: Float): Int {
+        val grid = callbacks.grid ?: return INVALID_ID
+        val epochDay = grid.dayAt(x, y)
+        if (epochDay != YearGrid.NO_DAY) return dayId(grid, epochDay)
+        val month = grid.monthAt(x, y)
+        return if (month >= 0) month else INVALID_ID
+    }
+
+    override fun getVisibleVirtualViews(virtualViewIds: MutableList<Int>) {
+        val grid = callbacks.grid ?: return
+        for (month in 0 until MONTH_COUNT) {
+            if (!grid.isMonthShown(month)) continue
+            virtualViewIds.add(month)
+            val firstId = dayId(grid, grid.monthStartEpochDay(month))
+            for (day in 0 until grid.monthLength(month)) {
+                virtualViewIds.add(firstId + day)
+            }
+        }
+    }
+
+    override fun onPopulateNodeForVirtualView(virtualViewId: Int, node: AccessibilityNodeInfoCompat) {
+        val grid = callbacks.grid
+        val epochDay = if (grid != null) grid.monthStartEpochDay(0) + virtualViewId - MONTH_COUNT else 0
+        if (grid == null || virtualViewId >= MONTH_COUNT && grid.monthOf(epochDay) < 0) {
+            // The framework requires bounds and a description, even for a node gone meanwhile,
+            // e.g. December 31st of a leap year once a common year is shown
+            node.contentDescription = ""
+            node.setBoundsInParent(nodeBounds.apply { setEmpty() })
+            return
+        }
+        val labels = YearAccessibilityLabels.of(grid.year, Locale.getDefault())
+
+        if (virtualViewId < MONTH_COUNT) {
+            val month = virtualViewId
+            node.contentDescription = labels.monthLabel(month)
+            node.isHeading = true
+            scratchBounds.set(grid.monthLeft(month), grid.monthTop(month), grid.monthRight(month), grid.monthBottom(month))
+        } else {
+            node.contentDescription = labels.dayLabel(grid.monthOf(epochDay), CalendarMath.dayOfMonthOf(epochDay))
+            node.stateDescription = when (epochDay) {
+                callbacks.selectedEpochDay -> selectedState
+                callbacks.todayEpochDay -> todayState
+                else -> null
+            }
+            node.isSelected = epochDay == callbacks.selectedEpochDay
+            grid.dayBounds(epochDay, scratchBounds)
+        }
+        scratchBounds.roundOut(nodeBounds)
+        node.setBoundsInParent(nodeBounds)
+        node.addAction(AccessibilityActionCompat.ACTION_CLICK)
+        node.addAction(AccessibilityActionCompat.ACTION_LONG_CLICK)
+    }
+
+    override fun onPerformActionForVirtualView(virtualViewId: Int, action: Int, arguments: Bundle?): Boolean {
+        val grid = callbacks.grid ?: return false
+        val isLongPress = when (action) {
+            AccessibilityNodeInfoCompat.ACTION_CLICK -> false
+            AccessibilityNodeInfoCompat.ACTION_LONG_CLICK -> true
+            else -> return false
+        }
+        if (virtualViewId < MONTH_COUNT) {
+            callbacks.onMonthGesture(virtualViewId, isLongPress)
+        } else {
+            callbacks.onDayGesture(grid.monthStartEpochDay(0) + virtualViewId - MONTH_COUNT, isLongPress)
+        }
+        invalidateVirtualView(virtualViewId)
+        sendEventForVirtualView(
+            virtualViewId,
+            if (isLongPress) AccessibilityEvent.TYPE_VIEW_LONG_CLICKED else AccessibilityEvent.TYPE_VIEW_CLICKED
+        )
+        return true
+    }
+
+    private fun dayId(grid: YearGrid, epochDay: Int): Int = MONTH_COUNT + epochDay - grid.monthStartEpochDay(0)
+}
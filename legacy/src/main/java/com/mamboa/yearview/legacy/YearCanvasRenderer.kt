@@ -0,0 +1,269 @@
+package com.mamboa.yearview.legacy
+
+import android.graphics.Canvas
+import android.graphics.Color
+import android.graphics.Paint
+import android.graphics.Rect
+import android.graphics.RectF
+import androidx.annotation.VisibleForTesting
+import com.mamboa.yearview.core.draw.YearDrawCommands
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_CURRENT_MONTH_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_DAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_DAY_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_MONTH_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_MONTH_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_SELECTED_DAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_SELECTED_DAY_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_TODAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_TODAY_BACKGROUND
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_WEEKEND_DAY
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.COLOR_WEEKEND_DAY_NAME
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.PALETTE_SIZE
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.SELECTED_DAY_TEXT_ID
+import com.mamboa.yearview.core.draw.YearDrawCommands.Companion.STRING_ID_COUNT
+import com.mamboa.yearview.core.draw.YearDrawRecorder
+import com.mamboa.yearview.core.draw.YearDrawSpec
+import kotlin.math.ceil
+import kotlin.math.floor
+
+// Values of the shape attributes, see attrs.xml
+private const val SHAPE_SQUARE = 1
+private const val SHAPE_ROUNDED_SQUARE = 2
+
+// Ids of the shapes recorded, indexes of the shapes and corner radii of the style
+private const val SHAPE_ID_MONTH = 0
+private const val SHAPE_ID_TODAY = 1
+private const val SHAPE_ID_SELECTED_DAY = 2
+
+private const val MONTH_COUNT = 12
+
+/**
+ * Draws a year laid out by a [YearGrid] on any canvas, with the texts, colors and backgrounds of
+ * a [YearViewStyle]. It holds its own copies of the paints of the style, so a renderer must only
+ * be used by one thread at a time, e.g. the render thread of a [YearSurfaceView].
+ *
+ * Each month is recorded into [YearDrawCommands] of its own by the core [YearDrawRecorder], then
+ * replayed into a display list of [MonthDisplayLists], which every frame draws. A month is
+ * recorded again only when the grid changed or when today or the selected day enter or leave it,
+ * so that a change of day records the two months concerned, not the whole year. Colors are looked
+ * up in a palette when the commands are replayed, so that a change of colors alone replays the
+ * commands into the display lists without recording them again. Texts are placed
+ * from the widths and offsets of [YearTextMetrics], measured beforehand: a frame neither measures
+ * a text nor reads font metrics.
+ *
+ * The star and custom shapes, and the month background images, are not drawn: days and months
+ * with such backgrounds get circles and plain colors.
+ */
+internal class YearCanvasRenderer(
+    private val style: YearViewStyle,
+    private val density: Float,
+    private val metrics: YearTextMetrics
+) : YearDrawCommands.Target {
+    private val monthCommands = Array(MONTH_COUNT) { YearDrawCommands() }
+    private val displayLists = MonthDisplayLists()
+    private val monthBounds = Rect()
+    private val spec = YearDrawSpec(
+        monthBackgroundShape = if (Color.alpha(style.monthBackgroundColor) != 0) SHAPE_ID_MONTH else YearDrawSpec.NONE,
+        todayShape = SHAPE_ID_TODAY,
+        selectedDayShape = SHAPE_ID_SELECTED_DAY,
+        todayRadius = style.todayBackgroundRadius * density,
+        selectedDayRadius = style.selectedDayBackgroundRadius * density,
+        weekendDays = YearDrawSpec.weekendMask(style.weekendDays),
+        weekendDayNames = style.nameWeekTranscendWeekend,
+        hasSelectedDayText = style.selectedDayText != null
+    )
+
+    // What the commands of each month were recorded for
+    private val recordedKeys = arrayOfNulls<MonthKey>(MONTH_COUNT)
+
+    // Changes whenever another palette is drawn with, to replay the months with its colors
+    private var paletteVersion = 0
+
+    /**
+     * The colors of the style, by color role of [YearDrawCommands].
+     */
+    val stylePalette = IntArray(PALETTE_SIZE).apply {
+        this[COLOR_MONTH_NAME] = style.monthNameTextColor
+        this[COLOR_CURRENT_MONTH_NAME] = style.todayMonthNameTextColor
+        this[COLOR_DAY_NAME] = style.dayNameTextColor
+        this[COLOR_WEEKEND_DAY_NAME] = style.weekendTextColor
+        this[COLOR_DAY] = style.simpleDayTextColor
+        this[COLOR_WEEKEND_DAY] = style.weekendTextColor
+        this[COLOR_TODAY] = style.todayTextColor
+        this[COLOR_SELECTED_DAY] = style.selectedDayTextColor
+        val monthBackgroundAlpha = Color.alpha(style.monthBackgroundColor) *
+                style.monthBackgroundColorDensity.coerceIn(0, 100) / 100
+        this[COLOR_MONTH_BACKGROUND] = style.monthBackgroundColor and 0xFFFFFF or (monthBackgroundAlpha shl 24)
+        this[COLOR_TODAY_BACKGROUND] = style.todayBackgroundColor
+        this[COLOR_SELECTED_DAY_BACKGROUND] = style.selectedDayBackgroundColor
+    }
+    private var palette = stylePalette
+
+    // Per color role of a text: its paint and its metrics
+    private val textPaints = arrayOfNulls<Paint>(PALETTE_SIZE)
+    private val texts = arrayOfNulls<YearTextMetrics.Texts>(PALETTE_SIZE)
+
+    // Per color role and string id: the width of the text
+    private val textWidths = FloatArray(PALETTE_SIZE * STRING_ID_COUNT)
+    private val strings = arrayOfNulls<String>(STRING_ID_COUNT)
+
+    private val shapes = intArrayOf(style.monthBackgroundShape, style.todayBackgroundShape, style.selectedDayBackgroundShape)
+    private val cornerRadii = floatArrayOf(
+        style.monthBackgroundRoundedRadius, style.todayRoundedRadius, style.selectedDayRoundedRadius
+    )
+    private val fillPaint = Paint(Paint.ANTI_ALIAS_FLAG).apply { this.style = Paint.Style.FILL }
+    private val shapeBounds = RectF()
+
+    // The canvas being replayed on
+    private var canvas: Canvas? = null
+
+    init {
+        addDayTexts(COLOR_DAY, metrics.simpleDay)
+        addDayTexts(COLOR_WEEKEND_DAY, metrics.weekend)
+        addDayTexts(COLOR_TODAY, metrics.today)
+        addDayTexts(COLOR_SELECTED_DAY, metrics.selectedDay)
+        for (role in intArrayOf(COLOR_DAY_NAME, COLOR_WEEKEND_DAY_NAME)) {
+            val weekdayTexts = if (role == COLOR_DAY_NAME) metrics.dayName else metrics.weekendDayName
+            addTexts(role, weekdayTexts)
+            for (dayOfWeek in 1..7) {
+                val id = YearDrawCommands.dayNameId(dayOfWeek)
+                strings[id] = metrics.names.weekdayInitial(dayOfWeek)
+                textWidths[role * STRING_ID_COUNT + id] = weekdayTexts.width(dayOfWeek)
+            }
+        }
+        for (role in intArrayOf(COLOR_MONTH_NAME, COLOR_CURRENT_MONTH_NAME)) {
+            val monthTexts = if (role == COLOR_MONTH_NAME) metrics.monthName else metrics.todayMonthName
+            addTexts(role, monthTexts)
+            for (month in 1..12) {
+                val id = YearDrawCommands.monthNameId(month)
+                strings[id] = metrics.names.monthName(month)
+                textWidths[role * STRING_ID_COUNT + id] = monthTexts.width(month)
+            }
+        }
+        style.selectedDayText?.let {
+            strings[SELECTED_DAY_TEXT_ID] = it
+            textWidths[COLOR_SELECTED_DAY * STRING_ID_COUNT + SELECTED_DAY_TEXT_ID] = metrics.selectedDayTextWidth
+        }
+    }
+
+    private fun addTexts(role: Int, roleTexts: YearTextMetrics.Texts) {
+        texts[role] = roleTexts
+        textPaints[role] = Paint(roleTexts.paint)
+    }
+
+    private fun addDayTexts(role: Int, dayTexts: YearTextMetrics.DayTexts) {
+        addTexts(role, dayTexts)
+        for (day in 1..31) {
+            val id = YearDrawCommands.dayNumberId(day)
+            strings[id] = day.toString()
+            textWidths[role * STRING_ID_COUNT + id] = dayTexts.width(day)
+        }
+    }
+
+    /**
+     * Draws the whole year, recording first the months whose grid, today or selected day changed.
+     *
+     * @param todayEpochDay The epoch day of today.
+     * @param selectedEpochDay The epoch day of the selected day, or [YearGrid.NO_DAY].
+     * @param palette The colors to draw with, by color role of [YearDrawCommands], null for the
+     * colors of the style.
+     */
+    fun draw(canvas: Canvas, grid: YearGrid, todayEpochDay: Int, selectedEpochDay: Int, palette: IntArray? = null) {
+        val newPalette = palette ?: stylePalette
+        if (newPalette !== this.palette) {
+            this.palette = newPalette
+            paletteVersion++
+        }
+        val layout = grid.layout
+        for (month in 0 until layout.monthCount) {
+            // Today and the selected day only change the month they are in
+            val key = MonthKey(
+                grid,
+                if (layout.monthOf(todayEpochDay) == month) todayEpochDay else YearGrid.NO_DAY,
+                if (layout.monthOf(selectedEpochDay) == month) selectedEpochDay else YearGrid.NO_DAY,
+                paletteVersion
+            )
+            monthBounds.set(
+                floor(layout.monthLeft(month)).toInt(),
+                floor(layout.monthTop(month)).toInt(),
+                ceil(layout.monthRight(month)).toInt(),
+                ceil(layout.monthBottom(month)).toInt()
+            )
+            displayLists.draw(canvas, month, monthBounds, key) { recordingCanvas ->
+                val commands = monthCommands[month]
+                if (recordedKeys[month]?.hasSameDays(key) != true) {
+                    commands.clear()
+                    YearDrawRecorder.recordMonth(
+                        layout, month, metrics, spec, todayEpochDay, selectedEpochDay,
+                        YearGrid.NO_DAY, YearGrid.NO_DAY, commands
+                    )
+                    recordedKeys[month] = key
+                }
+                this.canvas = recordingCanvas
+                try {
+                    commands.replay(this)
+                } finally {
+                    this.canvas = null
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces every month to be recorded again at the next frame.
+     */
+    @VisibleForTesting
+    internal fun invalidateAll() {
+        recordedKeys.fill(null)
+        displayLists.invalidateAll()
+    }
+
+    /**
+     * Drops the display lists of the months, e.g. once the surface is destroyed.
+     */
+    fun release() {
+        recordedKeys.fill(null)
+        displayLists.release()
+    }
+
+    override fun text(id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float) {
+        val canvas = canvas ?: return
+        val paint = textPaints[colorRole] ?: return
+        val roleTexts = texts[colorRole] ?: return
+        val text = strings[id] ?: return
+        paint.color = palette[colorRole]
+        val width = textWidths[colorRole * STRING_ID_COUNT + id]
+        canvas.drawText(text, (left + right - width) / 2f, (top + bottom) / 2f + roleTexts.baselineOffset, paint)
+    }
+
+    override fun shape(id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float) {
+        val canvas = canvas ?: return
+        fillPaint.color = palette[colorRole]
+        if (Color.alpha(fillPaint.color) == 0) return
+        shapeBounds.set(left, top, right, bottom)
+        val cornerRadius = cornerRadii[id]
+        when (shapes[id]) {
+            SHAPE_SQUARE -> canvas.drawRect(shapeBounds, fillPaint)
+            SHAPE_ROUNDED_SQUARE -> canvas.drawRoundRect(shapeBounds, cornerRadius, cornerRadius, fillPaint)
+            // Stars and custom shapes are drawn as circles
+            else -> canvas.drawOval(shapeBounds, fillPaint)
+        }
+    }
+
+    // Month background images are not drawn
+    override fun image(id: Int, colorRole: Int, left: Float, top: Float, right: Float, bottom: Float) = Unit
+
+    /**
+     * What a month is drawn from: the grid, today and the selected day when they are in the month,
+     * and the palette.
+     */
+    private data class MonthKey(
+        val grid: YearGrid,
+        val todayEpochDay: Int,
+        val selectedEpochDay: Int,
+        val paletteVersion: Int
+    ) {
+        fun hasSameDays(other: MonthKey): Boolean = grid === other.grid &&
+                todayEpochDay == other.todayEpochDay && selectedEpochDay == other.selectedEpochDay
+    }
+}
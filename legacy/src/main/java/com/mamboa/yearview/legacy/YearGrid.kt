@@ -0,0 +1,118 @@
+package com.mamboa.yearview.legacy
+
+import android.graphics.RectF
+import com.mamboa.yearview.core.TitleGravity
+import com.mamboa.yearview.core.layout.TextMetrics
+import com.mamboa.yearview.core.layout.YearLayout
+import com.mamboa.yearview.core.layout.YearLayoutSpec
+
+// Values of month_title_gravity, see attrs.xml
+private val TITLE_GRAVITIES = arrayOf(
+    TitleGravity.CENTER, TitleGravity.LEFT, TitleGravity.START, TitleGravity.RIGHT, TitleGravity.END
+)
+
+/**
+ * The geometry of a year laid out by a legacy year view, computed by the [YearLayout] engine
+ * shared with the Compose renderer: the blocks of the months, the placement of their names and
+ * the cells of their days. Days and months are found from a point with arithmetic only.
+ *
+ * A grid is immutable, so that it can be computed on a render thread and queried from the UI
+ * thread, e.g. to hit-test touches, without any lock.
+ *
+ * @param year The year laid out.
+ * @param width The width of the view, in pixels.
+ * @param height The height of the view, in pixels.
+ * @param style The style of the view, giving the rows, the columns, the spacings and the first
+ * day of the week.
+ * @param density The density of the screen, the spacings of the style being in dp.
+ * @param metrics The sizes of the texts of the style.
+ * @param currentMonth The month of today if it is in [year], from 0, -1 otherwise.
+ * @param isRtl Whether the layout is right to left, for the start and end title gravities.
+ */
+class YearGrid(
+    val year: Int,
+    val width: Int,
+    val height: Int,
+    style: YearViewStyle,
+    density: Float,
+    metrics: TextMetrics,
+    val currentMonth: Int,
+    val isRtl: Boolean
+) {
+    /**
+     * The layout of the year by the shared engine, not to be changed.
+     */
+    internal val layout = YearLayout().apply {
+        layout(
+            year = year,
+            width = width.toFloat(),
+            height = height.toFloat(),
+            spec = YearLayoutSpec(
+                columns = style.columns,
+                rows = style.rows,
+                horizontalSpacing = style.horizontalSpacing * density,
+                verticalSpacing = style.verticalSpacing * density,
+                marginBelowMonthName = style.marginBelowMonthName * density,
+                monthSelectionMargin = style.monthSelectionMargin * density,
+                titleGravity = TITLE_GRAVITIES.getOrElse(style.monthTitleGravity) { TitleGravity.CENTER },
+                firstDayOfWeek = style.firstDayOfWeek,
+                isRtl = isRtl
+            ),
+            metrics = metrics,
+            currentMonth = currentMonth
+        )
+    }
+
+    fun monthStartEpochDay(month: Int): Int = layout.monthStartEpochDay(month)
+
+    fun monthLength(month: Int): Int = layout.monthLength(month)
+
+    fun monthLeft(month: Int): Float = layout.monthLeft(month)
+
+    fun monthTop(month: Int): Float = layout.monthTop(month)
+
+    fun monthRight(month: Int): Float = layout.monthRight(month)
+
+    fun monthBottom(month: Int): Float = layout.monthBottom(month)
+
+    /**
+     * Whether a month is shown, a grid of fewer than 12 blocks leaving the last months out.
+     */
+    fun isMonthShown(month: Int): Boolean = month < layout.monthCount
+
+    /**
+     * The index of the month whose block holds the point, or -1 if none does.
+     */
+    fun monthAt(x: Float, y: Float): Int = layout.monthAt(x, y)
+
+    /**
+     * The epoch day whose cell holds the point, or [NO_DAY] if none does.
+     */
+    fun dayAt(x: Float, y: Float): Int = layout.dayAt(x, y)
+
+    /**
+     * The month of an epoch day of the year, from 0, or -1 if the day is out of the year.
+     */
+    fun monthOf(epochDay: Int): Int = layout.monthOf(epochDay)
+
+    /**
+     * Sets [out] to the cell of an epoch day of the year.
+     *
+     * @return False if the day is out of the year, [out] being left unchanged.
+     */
+    fun dayBounds(epochDay: Int, out: RectF): Boolean {
+        val month = monthOf(epochDay)
+        if (month < 0) return false
+        val day = epochDay - layout.monthStartEpochDay(month) + 1
+        val centerX = layout.dayCenterX(month, day)
+        val centerY = layout.dayCenterY(month, day)
+        val halfWidth = layout.cellWidth(month) / 2f
+        val halfHeight = layout.cellHeight(month) / 2f
+        out.set(centerX - halfWidth, centerY - halfHeight, centerX + halfWidth, centerY + halfHeight)
+        return true
+    }
+
+    companion object {
+        const val NO_DAY = YearLayout.NO_DAY
+    }
+}
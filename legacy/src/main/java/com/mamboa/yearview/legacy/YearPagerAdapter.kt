@@ -0,0 +1,84 @@
+package com.mamboa.yearview.legacy
+
+import android.view.LayoutInflater
+import android.view.View
+import android.view.ViewGroup
+import androidx.annotation.IdRes
+import androidx.annotation.LayoutRes
+import androidx.recyclerview.widget.RecyclerView
+
+/**
+ * Number of detached [YearView]s kept for reuse, the pages on each side of the visible one.
+ */
+private const val MAX_RECYCLED_YEAR_VIEWS = 2
+
+/**
+ * Pages through years with recycled [YearView]s, to be set on a `ViewPager2` or on a horizontal
+ * [RecyclerView].
+ *
+ * A page leaving the screen gives its YearView back to the recycled view pool, and the next year
+ * entering it is bound to that same view with [YearView.setYear]. Only a few YearViews, with their
+ * paints, paths and text buffers, ever exist, however many years are visited: unlike a Fragment
+ * per year, nothing is kept for the years already paged through.
+ *
+ * @param years The years to page through, one per position.
+ * @param itemLayout The layout of a page, holding the YearView with the id [yearViewId], or 0 for
+ * pages made of a bare YearView.
+ * @param onBindYearListener Called after a YearView is bound to a year, e.g. to set its listeners.
+ */
+class YearPagerAdapter @JvmOverloads constructor(
+    private val years: IntRange,
+    @LayoutRes private val itemLayout: Int = 0,
+    @IdRes private val yearViewId: Int = View.NO_ID,
+    private val onBindYearListener: OnBindYearListener? = null
+) : RecyclerView.Adapter<YearPagerAdapter.YearViewHolder>() {
+
+    fun interface OnBindYearListener {
+        fun onBindYear(yearView: YearView, year: Int)
+    }
+
+    class YearViewHolder(itemView: View, val yearView: YearView) : RecyclerView.ViewHolder(itemView)
+
+    init {
+        setHasStableIds(true)
+    }
+
+    fun getYear(position: Int): Int = years.first + position
+
+    /**
+     * The position of a year, or -1 if it is out of [years].
+     */
+    fun getYearPosition(year: Int): Int = if (year in years) year - years.first else -1
+
+    override fun getItemCount(): Int = years.last - years.first + 1
+
+    override fun getItemId(position: Int): Long = getYear(position).toLong()
+
+    override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): YearViewHolder {
+        val itemView = if (itemLayout != 0) {
+            LayoutInflater.from(parent.context).inflate(itemLayout, parent, false)
+        } else {
+            YearView(parent.context)
+        }
+        // ViewPager2 requires its pages to fill it
+        itemView.layoutParams = ViewGroup.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.MATCH_PARENT
+        )
+        val yearView = requireNotNull(itemView as? YearView ?: itemView.findViewById<YearView>(yearViewId)) {
+            "itemLayout has no YearView with id yearViewId"
+        }
+        return YearViewHolder(itemView, yearView)
+    }
+
+    override fun onBindViewHolder(holder: YearViewHolder, position: Int) {
+        val year = getYear(position)
+        holder.yearView.setYear(year)
+        onBindYearListener?.onBindYear(holder.yearView, year)
+    }
+
+    override fun onAttachedToRecyclerView(recyclerView: RecyclerView) {
+        super.onAttachedToRecyclerView(recyclerView)
+        recyclerView.recycledViewPool.setMaxRecycledViews(0, MAX_RECYCLED_YEAR_VIEWS)
+    }
+}
@@ -0,0 +1,383 @@
+package com.mamboa.yearview.legacy
+
+import android.content.Context
+import android.graphics.Color
+import android.os.Handler
+import android.os.HandlerThread
+import android.graphics.Rect
+import android.util.AttributeSet
+import android.view.GestureDetector
+import android.view.KeyEvent
+import android.view.MotionEvent
+import android.view.SurfaceHolder
+import android.view.SurfaceView
+import android.view.accessibility.AccessibilityManager
+import androidx.annotation.ColorInt
+import androidx.core.view.ViewCompat
+import com.mamboa.yearview.core.CalendarClock
+import com.mamboa.yearview.core.CalendarMath
+import com.mamboa.yearview.core.DayChangeMonitor
+import com.mamboa.yearview.core.TodayTracker
+import com.mamboa.yearview.core.YearAccessibilityLabels
+import com.mamboa.yearview.core.draw.YearDrawCommands
+import org.joda.time.DateTime
+import org.joda.time.LocalDate
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * A year view drawn on a render thread of its own, into the surface of a [SurfaceView], for
+ * screens showing several large years at once, e.g. kiosks and TVs. It is styled with the
+ * attributes of [YearView] and notifies the same [YearView.MonthGestureListener].
+ *
+ * The UI thread never draws the year, and only waits for it to be drawn while the surface is
+ * destroyed: the render thread publishes an immutable [YearGrid] with every frame, and touches are
+ * hit-tested against the last published one.
+ *
+ * Each month is kept in a display list of its own, a [android.graphics.RenderNode] on API 29 and
+ * above and a [android.graphics.Picture] below, so a frame after a tap or a day change only records
+ * the months the selection or today left and entered.
+ *
+ * Being a SurfaceView, the view does not fade, scale or scroll with its parent as smoothly as a
+ * [YearView] does; it is meant for years laid out once on a large screen.
+ */
+open class YearSurfaceView @JvmOverloads constructor(
+    context: Context,
+    attrs: AttributeSet? = null,
+    defStyleAttr: Int = 0,
+    clock: CalendarClock = CalendarClock.System
+) : SurfaceView(context, attrs, defStyleAttr), SurfaceHolder.Callback, BatchedUpdates {
+
+    @Volatile
+    private var style = YearViewStyle.obtain(context, attrs, defStyleAttr)
+
+    // The last style set, applied once its texts are measured, null once applied. UI thread only
+    private var pendingStyle: YearViewStyle? = null
+
+    private val today = TodayTracker(clock)
+    private val dayChangeMonitor = DayChangeMonitor(context, today) { _, _ -> requestRender() }
+    private var monthGestureListener: YearView.MonthGestureListener? = null
+
+    // Groups the changes made on the UI thread into a single frame
+    private val updates = UpdateTransaction { requestRender() }
+
+    // Read by the render thread, written by the UI thread
+    @Volatile
+    private var year = if (style.currentYear != YearViewStyle.NO_YEAR) style.currentYear else DateTime().year
+
+    @Volatile
+    private var selectedEpochDay = YearGrid.NO_DAY
+
+    @Volatile
+    private var isRtl = false
+
+    @Volatile
+    @ColorInt
+    private var surfaceColor = Color.WHITE
+
+    // Colors replacing those of the style, by color role of YearDrawCommands
+    @Volatile
+    private var palette: IntArray? = null
+
+    // The last grid drawn, published by the render thread for the hit-test of the UI thread
+    @Volatile
+    private var grid: YearGrid? = null
+
+    // Guards the surface, which is destroyed on the UI thread while the render thread may draw
+    private val surfaceLock = Any()
+    private var hasSurface = false
+    private var surfaceWidth = 0
+    private var surfaceHeight = 0
+
+    private var renderThread: HandlerThread? = null
+    private var renderHandler: Handler? = null
+    private val isRenderPending = AtomicBoolean(false)
+    private val renderFrame = Runnable { render() }
+
+    // Only touched by the render thread
+    private var renderer: YearCanvasRenderer? = null
+    private var rendererStyle: YearViewStyle? = null
+
+    private val gestureDetector = GestureDetector(context, object : GestureDetector.SimpleOnGestureListener() {
+        override fun onDown(e: MotionEvent): Boolean = true
+
+        override fun onSingleTapUp(e: MotionEvent): Boolean = onTap(e, isLongPress = false)
+
+        override fun onLongPress(e: MotionEvent) {
+            onTap(e, isLongPress = true)
+        }
+    })
+
+    // Only exists while accessibility is enabled, read by the render thread to refresh the nodes
+    @Volatile
+    private var accessibilityHelper: YearAccessibilityHelper? = null
+    private val accessibilityManager =
+        context.getSystemService(Context.ACCESSIBILITY_SERVICE) as AccessibilityManager
+    private val accessibilityStateListener =
+        AccessibilityManager.AccessibilityStateChangeListener { updateAccessibilityHelper(it) }
+
+    private val accessibilityCallbacks = object : YearAccessibilityHelper.Callbacks {
+        override val grid: YearGrid? get() = this@YearSurfaceView.grid
+        override val todayEpochDay: Int get() = today.epochDay
+        override val selectedEpochDay: Int get() = this@YearSurfaceView.selectedEpochDay
+
+        override fun onMonthGesture(month: Int, isLongPress: Boolean) {
+            val grid = grid ?: return
+            performMonthGesture(grid, month, isLongPress)
+        }
+
+        override fun onDayGesture(epochDay: Int, isLongPress: Boolean) = performDayGesture(epochDay, isLongPress)
+    }
+
+    init {
+        holder.addCallback(this)
+        // Measures the texts before the surface exists, rather than in the first frame
+        YearTextMetrics.prepare(style)
+    }
+
+    fun getYear(): Int = year
+
+    fun setYear(year: Int) {
+        if (this.year == year) return
+        this.year = year
+        updates.changed(YearViewProperty.YEAR)
+    }
+
+    /**
+     * Changes the texts, colors and backgrounds of the year. The texts of the new style are
+     * measured on a background thread, the year being drawn with the previous style until then.
+     * Of styles set before their texts are measured, only the last one is applied.
+     *
+     * A style differing from the current one in colors, shapes and backgrounds alone, e.g. a
+     * [YearViewStyle.copy] with other colors, is applied right away: its texts are not measured
+     * again and the months are drawn where they are, without laying out the year again.
+     */
+    fun setYearStyle(style: YearViewStyle) {
+        val current = pendingStyle ?: this.style
+        if (style === current) return
+        pendingStyle = style
+        YearTextMetrics.share(current, style)
+        YearTextMetrics.prepare(style) {
+            // A style set since then replaces this one
+            if (pendingStyle !== style) return@prepare
+            pendingStyle = null
+            val change = style.changeFrom(this.style) ?: return@prepare
+            this.style = style
+            palette = null
+            updates.changed(change)
+        }
+    }
+
+    /**
+     * Draws the year with other colors, given by color role of [YearDrawCommands], e.g. for a
+     * theme change. The year is only replayed with them, neither laid out nor recorded again.
+     * The colors apply until the next style is set, null going back to those of the style.
+     */
+    fun setPalette(@ColorInt palette: IntArray?) {
+        require(palette == null || palette.size == YearDrawCommands.PALETTE_SIZE) {
+            "A palette has ${YearDrawCommands.PALETTE_SIZE} colors"
+        }
+        this.palette = palette?.copyOf()
+        updates.changed(YearViewChange.PAINT)
+    }
+
+    fun setMonthGestureListener(listener: YearView.MonthGestureListener?) {
+        monthGestureListener = listener
+    }
+
+    /**
+     * The color the surface is cleared with before the year is drawn, the surface not showing the
+     * views behind it.
+     */
+    fun setSurfaceColor(@ColorInt color: Int) {
+        if (surfaceColor == color) return
+        surfaceColor = color
+        updates.changed(YearViewChange.PAINT)
+    }
+
+    /**
+     * Starts a group of changes drawn together in a single frame, see [edit]. UI thread only.
+     */
+    override fun beginUpdate() = updates.beginUpdate()
+
+    /**
+     * Ends a group of changes started by [beginUpdate], drawing them when it is the outermost.
+     */
+    override fun commit() = updates.commit()
+
+    /**
+     * Draws the year again on the render thread. Requests made before the next frame is drawn are
+     * merged into it.
+     */
+    fun requestRender() {
+        val handler = renderHandler ?: return
+        if (isRenderPending.compareAndSet(false, true)) {
+            handler.post(renderFrame)
+        }
+    }
+
+    override fun onAttachedToWindow() {
+        super.onAttachedToWindow()
+        dayChangeMonitor.start()
+        accessibilityManager.addAccessibilityStateChangeListener(accessibilityStateListener)
+        updateAccessibilityHelper(accessibilityManager.isEnabled)
+    }
+
+    override fun onDetachedFromWindow() {
+        dayChangeMonitor.stop()
+        accessibilityManager.removeAccessibilityStateChangeListener(accessibilityStateListener)
+        updateAccessibilityHelper(false)
+        super.onDetachedFromWindow()
+    }
+
+    /**
+     * Installs the virtual views of the months and days while accessibility is enabled, and drops
+     * them, with their labels, once it is disabled.
+     */
+    private fun updateAccessibilityHelper(isEnabled: Boolean) {
+        if (isEnabled == (accessibilityHelper != null)) return
+        val helper = if (isEnabled) YearAccessibilityHelper(this, accessibilityCallbacks) else null
+        accessibilityHelper = helper
+        ViewCompat.setAccessibilityDelegate(this, helper)
+        if (!isEnabled && !accessibilityManager.isEnabled) {
+            YearAccessibilityLabels.clear()
+        }
+    }
+
+    override fun dispatchHoverEvent(event: MotionEvent): Boolean {
+        return accessibilityHelper?.dispatchHoverEvent(event) == true || super.dispatchHoverEvent(event)
+    }
+
+    override fun dispatchKeyEvent(event: KeyEvent): Boolean {
+        return accessibilityHelper?.dispatchKeyEvent(event) == true || super.dispatchKeyEvent(event)
+    }
+
+    override fun onFocusChanged(gainFocus: Boolean, direction: Int, previouslyFocusedRect: Rect?) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect)
+        accessibilityHelper?.onFocusChanged(gainFocus, direction, previouslyFocusedRect)
+    }
+
+    override fun onRtlPropertiesChanged(layoutDirection: Int) {
+        super.onRtlPropertiesChanged(layoutDirection)
+        isRtl = layoutDirection == LAYOUT_DIRECTION_RTL
+        requestRender()
+    }
+
+    override fun surfaceCreated(holder: SurfaceHolder) {
+        synchronized(surfaceLock) { hasSurface = true }
+        val thread = HandlerThread("YearSurfaceView").also { it.start() }
+        renderThread = thread
+        renderHandler = Handler(thread.looper)
+    }
+
+    override fun surfaceChanged(holder: SurfaceHolder, format: Int, width: Int, height: Int) {
+        synchronized(surfaceLock) {
+            surfaceWidth = width
+            surfaceHeight = height
+        }
+        requestRender()
+    }
+
+    override fun surfaceDestroyed(holder: SurfaceHolder) {
+        // Once this returns, the render thread no longer touches the surface. This waits for a
+        // frame being drawn, the only time the UI thread waits for the render thread.
+        synchronized(surfaceLock) { hasSurface = false }
+        renderHandler?.removeCallbacks(renderFrame)
+        // The display lists of the months go with the surface, dropped on the thread using them
+        renderHandler?.post { renderer?.release() }
+        renderThread?.quitSafely()
+        renderThread = null
+        renderHandler = null
+        isRenderPending.set(false)
+    }
+
+    private fun render() {
+        isRenderPending.set(false)
+        synchronized(surfaceLock) {
+            if (!hasSurface || surfaceWidth == 0 || surfaceHeight == 0) return
+            val style = style
+            val density = resources.displayMetrics.density
+            val metrics = YearTextMetrics.obtain(style)
+            // A style changing colors, shapes or backgrounds alone gets a renderer of its own but
+            // keeps the grid of the previous one
+            val previousStyle = rendererStyle
+            val styleChange = if (previousStyle == null) YearViewChange.LAYOUT else style.changeFrom(previousStyle)
+            val renderer = renderer.takeUnless { styleChange != null }
+                ?: YearCanvasRenderer(style, density, metrics).also {
+                    renderer?.release()
+                    renderer = it
+                    rendererStyle = style
+                }
+
+            val year = year
+            val isRtl = isRtl
+            val todayEpochDay = today.epochDay
+            // The name of the current month may be styled apart, which moves the grid of its days
+            val todayDate = CalendarMath.toDate(todayEpochDay)
+            val currentMonth =
+                if (CalendarMath.unpackYear(todayDate) == year) CalendarMath.unpackMonth(todayDate) - 1 else -1
+            val previousGrid = grid
+            var grid = previousGrid
+            if (grid == null || styleChange == YearViewChange.LAYOUT || grid.year != year || grid.isRtl != isRtl ||
+                grid.currentMonth != currentMonth || grid.width != surfaceWidth || grid.height != surfaceHeight
+            ) {
+                grid = YearGrid(year, surfaceWidth, surfaceHeight, style, density, metrics, currentMonth, isRtl)
+            }
+
+            val canvas = holder.lockHardwareCanvas() ?: return
+            try {
+                canvas.drawColor(surfaceColor)
+                renderer.draw(canvas, grid, todayEpochDay, selectedEpochDay, palette)
+            } finally {
+                holder.unlockCanvasAndPost(canvas)
+            }
+            this.grid = grid
+            if (grid !== previousGrid) {
+                accessibilityHelper?.let { helper -> post { helper.invalidateRoot() } }
+            }
+        }
+    }
+
+    override fun onTouchEvent(event: MotionEvent): Boolean {
+        return gestureDetector.onTouchEvent(event) || super.onTouchEvent(event)
+    }
+
+    private fun onTap(event: MotionEvent, isLongPress: Boolean): Boolean {
+        // The grid of the last frame, which is what is on the screen
+        val grid = grid ?: return false
+        val epochDay = grid.dayAt(event.x, event.y)
+        if (epochDay != YearGrid.NO_DAY) {
+            performDayGesture(epochDay, isLongPress)
+            return true
+        }
+
+        val month = grid.monthAt(event.x, event.y)
+        if (month < 0) return false
+        performMonthGesture(grid, month, isLongPress)
+        return true
+    }
+
+    private fun performDayGesture(epochDay: Int, isLongPress: Boolean) {
+        if (style.isDaySelectionVisuallySticky && !isLongPress) {
+            selectedEpochDay = epochDay
+            requestRender()
+        }
+        val listener = monthGestureListener ?: return
+        val millis = startOfDayMillis(epochDay)
+        if (isLongPress) listener.onDayLongClick(millis) else listener.onDayClick(millis)
+    }
+
+    private fun performMonthGesture(grid: YearGrid, month: Int, isLongPress: Boolean) {
+        val listener = monthGestureListener ?: return
+        val millis = startOfDayMillis(grid.monthStartEpochDay(month))
+        if (isLongPress) listener.onMonthLongClick(millis) else listener.onMonthClick(millis)
+    }
+
+    private fun startOfDayMillis(epochDay: Int): Long {
+        val date = CalendarMath.toDate(epochDay)
+        return LocalDate(
+            CalendarMath.unpackYear(date),
+            CalendarMath.unpackMonth(date),
+            CalendarMath.unpackDay(date)
+        ).toDateTimeAtStartOfDay().millis
+    }
+}
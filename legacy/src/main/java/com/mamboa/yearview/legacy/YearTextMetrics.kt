@@ -0,0 +1,181 @@
+package com.mamboa.yearview.legacy
+
+import android.graphics.Paint
+import android.os.Handler
+import android.os.Looper
+import com.mamboa.yearview.core.CalendarNames
+import com.mamboa.yearview.core.layout.TextMetrics
+import java.util.Locale
+import java.util.WeakHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * The widths and vertical offsets of every text a legacy year view draws, measured once per style
+ * and locale: the day numbers with each of the day paints, the weekday initials and the month
+ * names. Drawing then places texts from these, with [Paint.Align.LEFT], without measuring them or
+ * reading font metrics again.
+ *
+ * Day numbers are measured from the advances of the ten digits, taken with one
+ * [Paint.getTextWidths] call per paint.
+ */
+internal class YearTextMetrics private constructor(style: YearViewStyle, locale: Locale) : TextMetrics {
+    val names: CalendarNames = CalendarNames.of(locale, "MMMM")
+
+    val simpleDay = DayTexts(style.simpleDayPaint)
+    val weekend = DayTexts(style.weekendPaint)
+    val today = DayTexts(style.todayPaint)
+    val selectedDay = DayTexts(style.selectedDayPaint)
+
+    val dayName = WeekdayTexts(style.dayNamePaint, names)
+    val weekendDayName = WeekdayTexts(Paint(style.dayNamePaint).apply { color = style.weekendTextColor }, names)
+
+    val monthName = MonthTexts(style.monthNamePaint, names)
+    val todayMonthName = MonthTexts(style.todayMonthNamePaint, names)
+
+    /**
+     * The width of the text a style shows on the selected day instead of its number, if any.
+     */
+    val selectedDayTextWidth = style.selectedDayText?.let { style.selectedDayPaint.measureText(it) } ?: 0f
+
+    override val dayNumberHeight: Float = simpleDay.fontSpacing
+
+    override fun monthNameWidth(month: Int, isCurrentMonth: Boolean): Float =
+        (if (isCurrentMonth) todayMonthName else monthName).width(month)
+
+    override fun monthNameHeight(month: Int, isCurrentMonth: Boolean): Float =
+        (if (isCurrentMonth) todayMonthName else monthName).fontSpacing
+
+    override fun dayNumberWidth(day: Int): Float = simpleDay.width(day)
+
+    /**
+     * A paint with the texts measured with it.
+     */
+    abstract class Texts(template: Paint) {
+        /**
+         * A copy of the template, aligned to the left so that drawing a text does not measure it.
+         * Metrics are shared between threads, so a renderer draws with its own copy of it.
+         */
+        val paint = Paint(template).apply { textAlign = Paint.Align.LEFT }
+
+        /**
+         * What to add to the vertical center of a row to get the baseline of a text centered in it.
+         */
+        val baselineOffset: Float
+
+        val fontSpacing: Float = paint.fontSpacing
+
+        init {
+            val metrics = paint.fontMetrics
+            baselineOffset = -(metrics.ascent + metrics.descent) / 2f
+        }
+    }
+
+    class DayTexts(template: Paint) : Texts(template) {
+        private val dayWidths = FloatArray(31)
+
+        init {
+            val digitWidths = FloatArray(DIGITS.length)
+            paint.getTextWidths(DIGITS, digitWidths)
+            for (day in 1..31) {
+                dayWidths[day - 1] = if (day < 10) {
+                    digitWidths[day]
+                } else {
+                    digitWidths[day / 10] + digitWidths[day % 10]
+                }
+            }
+        }
+
+        /**
+         * The width of a day number, from 1.
+         */
+        fun width(day: Int): Float = dayWidths[day - 1]
+    }
+
+    class WeekdayTexts(template: Paint, names: CalendarNames) : Texts(template) {
+        private val widths = FloatArray(7) { paint.measureText(names.weekdayInitial(it + 1)) }
+
+        /**
+         * The width of the initial of a day of the week, from 1 = Monday.
+         */
+        fun width(dayOfWeek: Int): Float = widths[dayOfWeek - 1]
+    }
+
+    class MonthTexts(template: Paint, names: CalendarNames) : Texts(template) {
+        private val widths = FloatArray(12) { paint.measureText(names.monthName(it + 1)) }
+
+        /**
+         * The width of the name of a month, from 1 = January.
+         */
+        fun width(month: Int): Float = widths[month - 1]
+    }
+
+    companion object {
+        private const val DIGITS = "0123456789"
+
+        // Metrics of the styles still in use, dropped with their style
+        private val cache = WeakHashMap<YearViewStyle, MutableMap<Locale, YearTextMetrics>>()
+        private val mainHandler = Handler(Looper.getMainLooper())
+
+        // A single thread is enough: a style is measured in a few milliseconds, and rarely
+        private val executor: ExecutorService by lazy {
+            Executors.newSingleThreadExecutor { runnable ->
+                Thread(runnable, "YearTextMetrics").apply {
+                    isDaemon = true
+                    priority = Thread.NORM_PRIORITY - 1
+                }
+            }
+        }
+
+        /**
+         * The metrics of a style if they were measured already, null otherwise.
+         */
+        fun peek(style: YearViewStyle, locale: Locale = Locale.getDefault()): YearTextMetrics? =
+            synchronized(cache) { cache[style]?.get(locale) }
+
+        /**
+         * The metrics of a style, measured on the calling thread if need be. Meant for threads
+         * other than the UI thread.
+         */
+        fun obtain(style: YearViewStyle, locale: Locale = Locale.getDefault()): YearTextMetrics {
+            peek(style, locale)?.let { return it }
+            return store(style, locale, YearTextMetrics(style, locale))
+        }
+
+        /**
+         * Measures the texts of a style on a background thread, then calls [onReady] on the main
+         * thread. [onReady] is called right away if the metrics were measured already.
+         */
+        fun prepare(
+            style: YearViewStyle,
+            locale: Locale = Locale.getDefault(),
+            onReady: ((YearTextMetrics) -> Unit)? = null
+        ) {
+            peek(style, locale)?.let { metrics ->
+                onReady?.invoke(metrics)
+                return
+            }
+            // The executor runs one task at a time, so requests queued after the first one
+            // find the metrics it measured
+            executor.execute {
+                val metrics = obtain(style, locale)
+                if (onReady != null) mainHandler.post { onReady(metrics) }
+            }
+        }
+
+        /**
+         * Gives a style the metrics of another one it only differs from in colors, shapes and
+         * backgrounds, measured already, so that it is shown without measuring its texts again.
+         * The paints of the metrics keep the colors of [previous], a text being drawn in a copy
+         * of its paint set to the color of the style.
+         */
+        fun share(previous: YearViewStyle, style: YearViewStyle, locale: Locale = Locale.getDefault()) {
+            if (style.changeFrom(previous) != YearViewChange.PAINT) return
+            val metrics = peek(previous, locale) ?: return
+            store(style, locale, metrics)
+        }
+
+        private fun store(style: YearViewStyle, locale: Locale, metrics: YearTextMetrics): YearTextMetrics =
+            synchronized(cache) { cache.getOrPut(style) { HashMap() }.getOrPut(locale) { metrics } }
+    }
+}
@@ -0,0 +1,463 @@
+package com.mamboa.yearview.legacy
+
+import android.content.ComponentCallbacks
+import android.content.Context
+import android.content.res.Configuration
+import android.content.res.Resources
+import android.content.res.TypedArray
+import android.graphics.Color
+import android.graphics.Paint
+import android.graphics.Typeface
+import android.util.AttributeSet
+import android.util.TypedValue
+import androidx.annotation.ColorInt
+import androidx.annotation.DrawableRes
+import androidx.annotation.FontRes
+import androidx.core.content.res.ResourcesCompat
+import java.util.WeakHashMap
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * The attributes of a [YearView], resolved once per theme and style and shared by every view
+ * styled the same way, e.g. the pages of a ViewPager. The typefaces are loaded once per process.
+ *
+ * A style is immutable, and so are its paint templates: a view copies a template with
+ * `Paint(template)` before changing it. A style changed at runtime is a [copy] of another one.
+ */
+class YearViewStyle private constructor(
+    @ColorInt val simpleDayTextColor: Int,
+    @ColorInt val weekendTextColor: Int,
+    @ColorInt val todayTextColor: Int,
+    @ColorInt val todayBackgroundColor: Int,
+    @ColorInt val monthSelectionColor: Int,
+    @ColorInt val dayNameTextColor: Int,
+    @ColorInt val monthNameTextColor: Int,
+    @DrawableRes val monthBackgroundImage: Int,
+    @ColorInt val monthBackgroundColor: Int,
+    @ColorInt val todayMonthNameTextColor: Int,
+    @ColorInt val selectedDayTextColor: Int,
+    @ColorInt val selectedDayBackgroundColor: Int,
+    val monthBackgroundColorDensity: Int,
+    val monthBackgroundRoundedRadius: Float,
+    val monthBackgroundSelectedRoundedRadius: Float,
+    val selectedDayRoundedRadius: Float,
+    val todayRoundedRadius: Float,
+    val simpleDayTextSize: Float,
+    val weekendTextSize: Float,
+    val todayTextSize: Float,
+    val dayNameTextSize: Float,
+    val monthNameTextSize: Float,
+    val todayMonthNameTextSize: Float,
+    val selectedDayTextSize: Float,
+    val selectedDayText: String?,
+    val nameWeekTranscendWeekend: Boolean,
+    val isDaySelectionVisuallySticky: Boolean,
+    val monthSelectionMargin: Int,
+    val verticalSpacing: Int,
+    val horizontalSpacing: Int,
+    val todayBackgroundRadius: Int,
+    val selectedDayBackgroundRadius: Int,
+    /**
+     * The year set in the layout, [NO_YEAR] to show the current one.
+     */
+    val currentYear: Int,
+    val rows: Int,
+    val columns: Int,
+    val marginBelowMonthName: Int,
+    /**
+     * The weekend days, where 1 = Monday and 7 = Sunday.
+     */
+    val weekendDays: Set<Int>,
+    val firstDayOfWeek: Int,
+    val monthTitleGravity: Int,
+    val todayBackgroundShape: Int,
+    val selectedDayBackgroundShape: Int,
+    val monthBackgroundShape: Int,
+    val monthBackgroundMergeType: Int,
+    val monthNameTypeface: Typeface,
+    val weekendTypeface: Typeface,
+    val dayNameTypeface: Typeface,
+    val todayTypeface: Typeface,
+    val simpleDayTypeface: Typeface,
+    val todayMonthNameTypeface: Typeface,
+    val selectedDayTypeface: Typeface
+) {
+    internal val simpleDayPaint = textPaint(simpleDayTextColor, simpleDayTextSize, simpleDayTypeface)
+    internal val weekendPaint = textPaint(weekendTextColor, weekendTextSize, weekendTypeface)
+    internal val todayPaint = textPaint(todayTextColor, todayTextSize, todayTypeface)
+    internal val dayNamePaint = textPaint(dayNameTextColor, dayNameTextSize, dayNameTypeface)
+    internal val monthNamePaint = textPaint(monthNameTextColor, monthNameTextSize, monthNameTypeface)
+    internal val todayMonthNamePaint =
+        textPaint(todayMonthNameTextColor, todayMonthNameTextSize, todayMonthNameTypeface)
+    internal val selectedDayPaint =
+        textPaint(selectedDayTextColor, selectedDayTextSize, selectedDayTypeface)
+
+    private fun textPaint(@ColorInt color: Int, textSize: Float, typeface: Typeface) =
+        Paint(Paint.ANTI_ALIAS_FLAG).apply {
+            this.color = color
+            this.textSize = textSize
+            this.typeface = typeface
+            textAlign = Paint.Align.CENTER
+        }
+
+    /**
+     * What a view showing [previous] has to do to show this style instead: only repaint when the
+     * two differ in colors, shapes and backgrounds alone, the texts being measured and the months
+     * laid out as before, lay out again otherwise. Null when they are the same style.
+     */
+    fun changeFrom(previous: YearViewStyle): YearViewChange? = when {
+        previous === this -> null
+        hasSameLayout(previous) -> YearViewChange.PAINT
+        else -> YearViewChange.LAYOUT
+    }
+
+    /**
+     * Whether the texts of both styles are measured the same and their months laid out the same.
+     */
+    private fun hasSameLayout(other: YearViewStyle): Boolean {
+        return simpleDayTextSize == other.simpleDayTextSize &&
+                weekendTextSize == other.weekendTextSize &&
+                todayTextSize == other.todayTextSize &&
+                dayNameTextSize == other.dayNameTextSize &&
+                monthNameTextSize == other.monthNameTextSize &&
+                todayMonthNameTextSize == other.todayMonthNameTextSize &&
+                selectedDayTextSize == other.selectedDayTextSize &&
+                selectedDayText == other.selectedDayText &&
+                simpleDayTypeface === other.simpleDayTypeface &&
+                weekendTypeface === other.weekendTypeface &&
+                todayTypeface === other.todayTypeface &&
+                dayNameTypeface === other.dayNameTypeface &&
+                monthNameTypeface === other.monthNameTypeface &&
+                todayMonthNameTypeface === other.todayMonthNameTypeface &&
+                selectedDayTypeface === other.selectedDayTypeface &&
+                rows == other.rows &&
+                columns == other.columns &&
+                verticalSpacing == other.verticalSpacing &&
+                horizontalSpacing == other.horizontalSpacing &&
+                monthSelectionMargin == other.monthSelectionMargin &&
+                marginBelowMonthName == other.marginBelowMonthName &&
+                monthTitleGravity == other.monthTitleGravity &&
+                firstDayOfWeek == other.firstDayOfWeek
+    }
+
+    /**
+     * A style made from this one with some of its attributes changed, e.g.
+     * `style.copy { todayBackgroundColor = Color.RED }`. A copy is not shared through [obtain].
+     */
+    inline fun copy(block: Builder.() -> Unit): YearViewStyle = Builder(this).apply(block).build()
+
+    /**
+     * Makes a style from the attributes of another one, e.g. to change its colors at runtime.
+     */
+    class Builder(style: YearViewStyle) {
+        @ColorInt var simpleDayTextColor: Int = style.simpleDayTextColor
+        @ColorInt var weekendTextColor: Int = style.weekendTextColor
+        @ColorInt var todayTextColor: Int = style.todayTextColor
+        @ColorInt var todayBackgroundColor: Int = style.todayBackgroundColor
+        @ColorInt var monthSelectionColor: Int = style.monthSelectionColor
+        @ColorInt var dayNameTextColor: Int = style.dayNameTextColor
+        @ColorInt var monthNameTextColor: Int = style.monthNameTextColor
+        @DrawableRes var monthBackgroundImage: Int = style.monthBackgroundImage
+        @ColorInt var monthBackgroundColor: Int = style.monthBackgroundColor
+        @ColorInt var todayMonthNameTextColor: Int = style.todayMonthNameTextColor
+        @ColorInt var selectedDayTextColor: Int = style.selectedDayTextColor
+        @ColorInt var selectedDayBackgroundColor: Int = style.selectedDayBackgroundColor
+        var monthBackgroundColorDensity: Int = style.monthBackgroundColorDensity
+        var monthBackgroundRoundedRadius: Float = style.monthBackgroundRoundedRadius
+        var monthBackgroundSelectedRoundedRadius: Float = style.monthBackgroundSelectedRoundedRadius
+        var selectedDayRoundedRadius: Float = style.selectedDayRoundedRadius
+        var todayRoundedRadius: Float = style.todayRoundedRadius
+        var simpleDayTextSize: Float = style.simpleDayTextSize
+        var weekendTextSize: Float = style.weekendTextSize
+        var todayTextSize: Float = style.todayTextSize
+        var dayNameTextSize: Float = style.dayNameTextSize
+        var monthNameTextSize: Float = style.monthNameTextSize
+        var todayMonthNameTextSize: Float = style.todayMonthNameTextSize
+        var selectedDayTextSize: Float = style.selectedDayTextSize
+        var selectedDayText: String? = style.selectedDayText
+        var nameWeekTranscendWeekend: Boolean = style.nameWeekTranscendWeekend
+        var isDaySelectionVisuallySticky: Boolean = style.isDaySelectionVisuallySticky
+        var monthSelectionMargin: Int = style.monthSelectionMargin
+        var verticalSpacing: Int = style.verticalSpacing
+        var horizontalSpacing: Int = style.horizontalSpacing
+        var todayBackgroundRadius: Int = style.todayBackgroundRadius
+        var selectedDayBackgroundRadius: Int = style.selectedDayBackgroundRadius
+        var currentYear: Int = style.currentYear
+        var rows: Int = style.rows
+        var columns: Int = style.columns
+        var marginBelowMonthName: Int = style.marginBelowMonthName
+        var weekendDays: Set<Int> = style.weekendDays
+        var firstDayOfWeek: Int = style.firstDayOfWeek
+        var monthTitleGravity: Int = style.monthTitleGravity
+        var todayBackgroundShape: Int = style.todayBackgroundShape
+        var selectedDayBackgroundShape: Int = style.selectedDayBackgroundShape
+        var monthBackgroundShape: Int = style.monthBackgroundShape
+        var monthBackgroundMergeType: Int = style.monthBackgroundMergeType
+        var monthNameTypeface: Typeface = style.monthNameTypeface
+        var weekendTypeface: Typeface = style.weekendTypeface
+        var dayNameTypeface: Typeface = style.dayNameTypeface
+        var todayTypeface: Typeface = style.todayTypeface
+        var simpleDayTypeface: Typeface = style.simpleDayTypeface
+        var todayMonthNameTypeface: Typeface = style.todayMonthNameTypeface
+        var selectedDayTypeface: Typeface = style.selectedDayTypeface
+
+        fun build(): YearViewStyle = YearViewStyle(
+            simpleDayTextColor = simpleDayTextColor,
+            weekendTextColor = weekendTextColor,
+            todayTextColor = todayTextColor,
+            todayBackgroundColor = todayBackgroundColor,
+            monthSelectionColor = monthSelectionColor,
+            dayNameTextColor = dayNameTextColor,
+            monthNameTextColor = monthNameTextColor,
+            monthBackgroundImage = monthBackgroundImage,
+            monthBackgroundColor = monthBackgroundColor,
+            todayMonthNameTextColor = todayMonthNameTextColor,
+            selectedDayTextColor = selectedDayTextColor,
+            selectedDayBackgroundColor = selectedDayBackgroundColor,
+            monthBackgroundColorDensity = monthBackgroundColorDensity,
+            monthBackgroundRoundedRadius = monthBackgroundRoundedRadius,
+            monthBackgroundSelectedRoundedRadius = monthBackgroundSelectedRoundedRadius,
+            selectedDayRoundedRadius = selectedDayRoundedRadius,
+            todayRoundedRadius = todayRoundedRadius,
+            simpleDayTextSize = simpleDayTextSize,
+            weekendTextSize = weekendTextSize,
+            todayTextSize = todayTextSize,
+            dayNameTextSize = dayNameTextSize,
+            monthNameTextSize = monthNameTextSize,
+            todayMonthNameTextSize = todayMonthNameTextSize,
+            selectedDayTextSize = selectedDayTextSize,
+            selectedDayText = selectedDayText,
+            nameWeekTranscendWeekend = nameWeekTranscendWeekend,
+            isDaySelectionVisuallySticky = isDaySelectionVisuallySticky,
+            monthSelectionMargin = monthSelectionMargin,
+            verticalSpacing = verticalSpacing,
+            horizontalSpacing = horizontalSpacing,
+            todayBackgroundRadius = todayBackgroundRadius,
+            selectedDayBackgroundRadius = selectedDayBackgroundRadius,
+            currentYear = currentYear,
+            rows = rows,
+            columns = columns,
+            marginBelowMonthName = marginBelowMonthName,
+            weekendDays = weekendDays,
+            firstDayOfWeek = firstDayOfWeek,
+            monthTitleGravity = monthTitleGravity,
+            todayBackgroundShape = todayBackgroundShape,
+            selectedDayBackgroundShape = selectedDayBackgroundShape,
+            monthBackgroundShape = monthBackgroundShape,
+            monthBackgroundMergeType = monthBackgroundMergeType,
+            monthNameTypeface = monthNameTypeface,
+            weekendTypeface = weekendTypeface,
+            dayNameTypeface = dayNameTypeface,
+            todayTypeface = todayTypeface,
+            simpleDayTypeface = simpleDayTypeface,
+            todayMonthNameTypeface = todayMonthNameTypeface,
+            selectedDayTypeface = selectedDayTypeface
+        )
+    }
+
+    /**
+     * What a style is resolved from besides the theme. The style set with `style="..."` in the
+     * layout is part of it, the other attributes set in the layout are not cached at all.
+     */
+    private data class StyleKey(val styleAttribute: Int, val defStyleAttr: Int, val defStyleRes: Int)
+
+    companion object {
+        const val NO_YEAR = -1
+
+        private const val DEFAULT_ROWS = 4
+        private const val DEFAULT_COLUMNS = 3
+        private const val DEFAULT_SPACING = 8
+        private const val DEFAULT_MONTH_SELECTION_MARGIN = 5
+        private const val DEFAULT_BACKGROUND_RADIUS = 8
+        private const val DEFAULT_BACKGROUND_DENSITY = 30
+        private const val DEFAULT_DAY_TEXT_SIZE_SP = 8f
+        private const val DEFAULT_MONTH_NAME_TEXT_SIZE_SP = 14f
+
+        // Styles of the themes still in use, dropped with their theme
+        private val styles = WeakHashMap<Resources.Theme, MutableMap<StyleKey, YearViewStyle>>()
+        private val typefaces = ConcurrentHashMap<Long, Typeface>()
+        private val areCallbacksRegistered = AtomicBoolean(false)
+        private val styleableAttributes by lazy { R.styleable.YearView.toHashSet() }
+
+        /**
+         * The style of a view, shared with the views of the same theme and style unless the
+         * layout sets some of the attributes of the view directly.
+         */
+        fun obtain(
+            context: Context,
+            attrs: AttributeSet? = null,
+            defStyleAttr: Int = 0,
+            defStyleRes: Int = 0
+        ): YearViewStyle {
+            registerConfigurationCallbacks(context)
+            if (hasInlineAttributes(attrs)) {
+                return resolve(context, attrs, defStyleAttr, defStyleRes)
+            }
+
+            val key = StyleKey(attrs?.styleAttribute ?: 0, defStyleAttr, defStyleRes)
+            synchronized(styles) {
+                styles[context.theme]?.get(key)?.let { return it }
+            }
+            val style = resolve(context, attrs, defStyleAttr, defStyleRes)
+            synchronized(styles) {
+                return styles.getOrPut(context.theme) { HashMap() }.getOrPut(key) { style }
+            }
+        }
+
+        /**
+         * Forgets the resolved styles and the loaded typefaces.
+         */
+        fun clear() {
+            synchronized(styles) { styles.clear() }
+            typefaces.clear()
+        }
+
+        /**
+         * Clears the styles whenever the configuration of the application changes, since their
+         * dimensions and resources depend on it. Registered once per process.
+         */
+        private fun registerConfigurationCallbacks(context: Context) {
+            if (!areCallbacksRegistered.compareAndSet(false, true)) return
+            context.applicationContext.registerComponentCallbacks(object : ComponentCallbacks {
+                override fun onConfigurationChanged(newConfig: Configuration) = clear()
+
+                override fun onLowMemory() = clear()
+            })
+        }
+
+        private fun hasInlineAttributes(attrs: AttributeSet?): Boolean {
+            if (attrs == null) return false
+            for (i in 0 until attrs.attributeCount) {
+                if (attrs.getAttributeNameResource(i) in styleableAttributes) return true
+            }
+            return false
+        }
+
+        private fun resolve(
+            context: Context,
+            attrs: AttributeSet?,
+            defStyleAttr: Int,
+            defStyleRes: Int
+        ): YearViewStyle {
+            val displayMetrics = context.resources.displayMetrics
+            val dayTextSize = TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_SP, DEFAULT_DAY_TEXT_SIZE_SP, displayMetrics
+            )
+            val monthNameTextSize = TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_SP, DEFAULT_MONTH_NAME_TEXT_SIZE_SP, displayMetrics
+            )
+
+            val a = context.obtainStyledAttributes(attrs, R.styleable.YearView, defStyleAttr, defStyleRes)
+            try {
+                val weekendDaysRes = a.getResourceId(R.styleable.YearView_weekend_days, R.array.weekendDays)
+                return YearViewStyle(
+                    simpleDayTextColor = a.getColor(R.styleable.YearView_simple_day_text_color, Color.BLACK),
+                    weekendTextColor = a.getColor(R.styleable.YearView_weekend_text_color, Color.GRAY),
+                    todayTextColor = a.getColor(R.styleable.YearView_today_text_color, Color.WHITE),
+                    todayBackgroundColor = a.getColor(R.styleable.YearView_today_background_color, Color.RED),
+                    monthSelectionColor = a.getColor(R.styleable.YearView_month_selection_color, Color.LTGRAY),
+                    dayNameTextColor = a.getColor(R.styleable.YearView_day_name_text_color, Color.BLACK),
+                    monthNameTextColor = a.getColor(R.styleable.YearView_month_name_text_color, Color.BLACK),
+                    monthBackgroundImage = a.getResourceId(R.styleable.YearView_month_background_image, 0),
+                    monthBackgroundColor = a.getColor(R.styleable.YearView_month_background_color, Color.TRANSPARENT),
+                    todayMonthNameTextColor = a.getColor(R.styleable.YearView_today_month_name_text_color, Color.RED),
+                    selectedDayTextColor = a.getColor(R.styleable.YearView_selected_day_text_color, Color.WHITE),
+                    selectedDayBackgroundColor = a.getColor(R.styleable.YearView_selected_day_background_color, Color.BLUE),
+                    monthBackgroundColorDensity = a.getInt(
+                        R.styleable.YearView_month_background_color_density, DEFAULT_BACKGROUND_DENSITY
+                    ),
+                    monthBackgroundRoundedRadius = a.getFloat(R.styleable.YearView_month_background_rounded_radius, 0f),
+                    monthBackgroundSelectedRoundedRadius =
+                        a.getFloat(R.styleable.YearView_month_background_selected_rounded_radius, 0f),
+                    selectedDayRoundedRadius = a.getFloat(R.styleable.YearView_selected_day_rounded_radius, 0f),
+                    todayRoundedRadius = a.getFloat(R.styleable.YearView_today_rounded_radius, 0f),
+                    simpleDayTextSize = a.getDimension(R.styleable.YearView_simple_day_text_size, dayTextSize),
+                    weekendTextSize = a.getDimension(R.styleable.YearView_weekend_text_size, dayTextSize),
+                    todayTextSize = a.getDimension(R.styleable.YearView_today_text_size, dayTextSize),
+                    dayNameTextSize = a.getDimension(R.styleable.YearView_day_name_text_size, dayTextSize),
+                    monthNameTextSize = a.getDimension(R.styleable.YearView_month_name_text_size, monthNameTextSize),
+                    todayMonthNameTextSize =
+                        a.getDimension(R.styleable.YearView_today_month_name_text_size, monthNameTextSize),
+                    selectedDayTextSize = a.getDimension(R.styleable.YearView_selected_day_text_size, dayTextSize),
+                    selectedDayText = a.getString(R.styleable.YearView_selected_day_text),
+                    nameWeekTranscendWeekend = a.getBoolean(R.styleable.YearView_name_week_transcend_weekend, false),
+                    isDaySelectionVisuallySticky =
+                        a.getBoolean(R.styleable.YearView_is_day_selection_visually_sticky, false),
+                    monthSelectionMargin = a.getInt(
+                        R.styleable.YearView_month_selection_margin, DEFAULT_MONTH_SELECTION_MARGIN
+                    ),
+                    verticalSpacing = a.getInt(R.styleable.YearView_vertical_spacing, DEFAULT_SPACING),
+                    horizontalSpacing = a.getInt(R.styleable.YearView_horizontal_spacing, DEFAULT_SPACING),
+                    todayBackgroundRadius = a.getInt(
+                        R.styleable.YearView_today_background_radius, DEFAULT_BACKGROUND_RADIUS
+                    ),
+                    selectedDayBackgroundRadius = a.getInt(
+                        R.styleable.YearView_selected_day_background_radius, DEFAULT_BACKGROUND_RADIUS
+                    ),
+                    currentYear = a.getInt(R.styleable.YearView_current_year, NO_YEAR),
+                    rows = a.getInt(R.styleable.YearView_rows, DEFAULT_ROWS),
+                    columns = a.getInt(R.styleable.YearView_columns, DEFAULT_COLUMNS),
+                    marginBelowMonthName = a.getInt(R.styleable.YearView_margin_below_month_name, 0),
+                    weekendDays = context.resources.getIntArray(weekendDaysRes).toSet(),
+                    firstDayOfWeek = a.getInt(R.styleable.YearView_firstDayOfWeek, 1),
+                    monthTitleGravity = a.getInt(R.styleable.YearView_month_title_gravity, 0),
+                    todayBackgroundShape = a.getInt(R.styleable.YearView_today_background_shape, 0),
+                    selectedDayBackgroundShape = a.getInt(R.styleable.YearView_selected_day_background_shape, 0),
+                    monthBackgroundShape = a.getInt(R.styleable.YearView_month_background_shape, 1),
+                    monthBackgroundMergeType = a.getInt(R.styleable.YearView_month_background_merge_type, 0),
+                    monthNameTypeface = typeface(
+                        context, a, R.styleable.YearView_month_name_font, R.styleable.YearView_month_name_font_type
+                    ),
+                    weekendTypeface = typeface(
+                        context, a, R.styleable.YearView_weekend_font, R.styleable.YearView_weekend_font_type
+                    ),
+                    dayNameTypeface = typeface(
+                        context, a, R.styleable.YearView_day_name_font, R.styleable.YearView_day_name_font_type
+                    ),
+                    todayTypeface = typeface(
+                        context, a, R.styleable.YearView_today_font, R.styleable.YearView_today_font_type
+                    ),
+                    simpleDayTypeface = typeface(
+                        context, a, R.styleable.YearView_simple_day_font, R.styleable.YearView_simple_day_font_type
+                    ),
+                    todayMonthNameTypeface = typeface(
+                        context,
+                        a,
+                        R.styleable.YearView_today_month_name_font,
+                        R.styleable.YearView_today_month_name_font_type
+                    ),
+                    selectedDayTypeface = typeface(
+                        context, a, R.styleable.YearView_selected_day_font, R.styleable.YearView_selected_day_font_type
+                    )
+                )
+            } finally {
+                a.recycle()
+            }
+        }
+
+        private fun typeface(context: Context, a: TypedArray, fontIndex: Int, typeIndex: Int): Typeface =
+            typeface(context, a.getResourceId(fontIndex, 0), a.getInt(typeIndex, Typeface.NORMAL))
+
+        /**
+         * A font in a style, among [Typeface.NORMAL], [Typeface.BOLD], [Typeface.ITALIC] and
+         * [Typeface.BOLD_ITALIC], loaded once per process. The default font is used when
+         * [fontRes] is 0 or can not be loaded.
+         */
+        fun typeface(context: Context, @FontRes fontRes: Int, style: Int): Typeface {
+            val key = fontRes.toLong() shl 2 or style.toLong()
+            typefaces[key]?.let { return it }
+            val font = if (fontRes != 0) {
+                try {
+                    ResourcesCompat.getFont(context, fontRes)
+                } catch (e: Resources.NotFoundException) {
+                    null
+                }
+            } else {
+                null
+            }
+            val typeface = if (font != null) Typeface.create(font, style) else Typeface.defaultFromStyle(style)
+            return typefaces.putIfAbsent(key, typeface) ?: typeface
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.mamboa.yearview.legacy
+
+import android.view.View
+
+/**
+ * What a [YearView] has to do after one of its properties changed.
+ */
+enum class YearViewChange {
+    /**
+     * Only the paints change: the view is redrawn with the months where they are.
+     */
+    PAINT,
+
+    /**
+     * The size or the position of the texts and of the month blocks change: the view is laid out
+     * again, then redrawn.
+     */
+    LAYOUT
+}
+
+/**
+ * The properties of a [YearView], each with the change it makes. Colors, shapes and background
+ * images only repaint; what sizes the grid of the months, including the sizes and fonts of the
+ * texts, lays the view out again.
+ */
+enum class YearViewProperty(val change: YearViewChange) {
+    YEAR(YearViewChange.LAYOUT),
+    ROWS(YearViewChange.LAYOUT),
+    COLUMNS(YearViewChange.LAYOUT),
+    VERTICAL_SPACING(YearViewChange.LAYOUT),
+    HORIZONTAL_SPACING(YearViewChange.LAYOUT),
+    MONTH_SELECTION_MARGIN(YearViewChange.LAYOUT),
+    MARGIN_BELOW_MONTH_NAME(YearViewChange.LAYOUT),
+    MONTH_TITLE_GRAVITY(YearViewChange.LAYOUT),
+    FIRST_DAY_OF_WEEK(YearViewChange.LAYOUT),
+    WEEKEND_DAYS(YearViewChange.PAINT),
+    NAME_WEEK_TRANSCEND_WEEKEND(YearViewChange.PAINT),
+
+    SIMPLE_DAY_TEXT_SIZE(YearViewChange.LAYOUT),
+    WEEKEND_TEXT_SIZE(YearViewChange.LAYOUT),
+    TODAY_TEXT_SIZE(YearViewChange.LAYOUT),
+    DAY_NAME_TEXT_SIZE(YearViewChange.LAYOUT),
+    MONTH_NAME_TEXT_SIZE(YearViewChange.LAYOUT),
+    TODAY_MONTH_NAME_TEXT_SIZE(YearViewChange.LAYOUT),
+    SELECTED_DAY_TEXT_SIZE(YearViewChange.LAYOUT),
+    SELECTED_DAY_TEXT(YearViewChange.LAYOUT),
+    FONTS(YearViewChange.LAYOUT),
+    FONT_TYPES(YearViewChange.LAYOUT),
+
+    SIMPLE_DAY_TEXT_COLOR(YearViewChange.PAINT),
+    WEEKEND_TEXT_COLOR(YearViewChange.PAINT),
+    TODAY_TEXT_COLOR(YearViewChange.PAINT),
+    DAY_NAME_TEXT_COLOR(YearViewChange.PAINT),
+    MONTH_NAME_TEXT_COLOR(YearViewChange.PAINT),
+    TODAY_MONTH_NAME_TEXT_COLOR(YearViewChange.PAINT),
+    SELECTED_DAY_TEXT_COLOR(YearViewChange.PAINT),
+    TODAY_BACKGROUND(YearViewChange.PAINT),
+    SELECTED_DAY_BACKGROUND(YearViewChange.PAINT),
+    SELECTED_DAY(YearViewChange.PAINT),
+    MONTH_BACKGROUND(YearViewChange.PAINT),
+    MONTH_SELECTION_COLOR(YearViewChange.PAINT),
+    IS_DAY_SELECTION_VISUALLY_STICKY(YearViewChange.PAINT)
+}
+
+/**
+ * A view whose property changes can be grouped, so that they are applied with a single layout
+ * and redraw.
+ */
+interface BatchedUpdates {
+    /**
+     * Starts a group of changes, which are only applied by the matching [commit]. Groups can be
+     * nested, the outermost one applying the changes.
+     */
+    fun beginUpdate()
+
+    /**
+     * Ends a group of changes started by [beginUpdate], applying them when it is the outermost.
+     */
+    fun commit()
+}
+
+/**
+ * Changes several properties with a single layout and redraw, e.g.
+ * `yearView.edit { setYear(2025); setDayNameTextColor(color) }`.
+ */
+inline fun <T : BatchedUpdates> T.edit(block: T.() -> Unit) {
+    beginUpdate()
+    try {
+        block()
+    } finally {
+        commit()
+    }
+}
+
+/**
+ * Gathers the changes of the properties of a view and applies the largest of them once: a
+ * layout when any changed property is a [YearViewChange.LAYOUT] one, only a redraw otherwise.
+ * Outside of a group, a change is applied right away.
+ *
+ * @param onApply Applies the largest change of a group.
+ */
+internal class UpdateTransaction(private val onApply: (YearViewChange) -> Unit) : BatchedUpdates {
+    private var depth = 0
+    private var pendingChange: YearViewChange? = null
+
+    /**
+     * Lays out and redraws, or only redraws, a view.
+     */
+    constructor(view: View) : this({ change ->
+        if (change == YearViewChange.LAYOUT) view.requestLayout()
+        view.invalidate()
+    })
+
+    /**
+     * Records the change of a property, to be called by its setter once the value is stored.
+     */
+    fun changed(property: YearViewProperty) = changed(property.change)
+
+    /**
+     * Records a change made by something else than a property, e.g. a style replaced at once.
+     */
+    fun changed(change: YearViewChange) {
+        if (pendingChange == null || change > pendingChange!!) {
+            pendingChange = change
+        }
+        if (depth == 0) apply()
+    }
+
+    override fun beginUpdate() {
+        depth++
+    }
+
+    override fun commit() {
+        check(depth > 0) { "commit() called without a matching beginUpdate()" }
+        depth--
+        if (depth == 0) apply()
+    }
+
+    private fun apply() {
+        val change = pendingChange ?: return
+        pendingChange = null
+        onApply(change)
+    }
+}
@@ -21,7 +21,9 @@ include(":app")
 include(":legacy")
 include(":core")
 include(":compose")
+include(":benchmark")
 
 project(":legacy").projectDir = File("./legacy")
 project(":core").projectDir = File("./core")
 project(":compose").projectDir = File("./compose")
+project(":benchmark").projectDir = File("./benchmark")